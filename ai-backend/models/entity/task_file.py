@@ -13,6 +13,7 @@ class TaskFile(BaseEntity):
     uploader_user_id: Optional[str] = None  # 上传者用户id（UUID）
     task_file_name: Optional[str] = None  # 附件名称
     task_file_path: Optional[str] = None  # 附件存储路径（URL或本地路径）
+    task_file_object_name: Optional[str] = None  # 附件对象存储中的对象名（不含 bucket）
     task_file_type: Optional[str] = None  # 附件类型（MIME类型或分类）
     task_file_size: Optional[int] = None  # 附件大小（字节）
     task_file_status: Optional[int] = None  # 附件状态，0-禁用，1-正常
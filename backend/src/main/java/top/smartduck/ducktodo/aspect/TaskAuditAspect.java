@@ -8,26 +8,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import top.smartduck.ducktodo.common.enums.TaskAuditActionEnum;
 import top.smartduck.ducktodo.common.result.R;
-import top.smartduck.ducktodo.mapper.ChildTaskMapper;
 import top.smartduck.ducktodo.model.entity.ChildTask;
 import top.smartduck.ducktodo.model.entity.Task;
 import top.smartduck.ducktodo.model.entity.TaskAudit;
 import top.smartduck.ducktodo.model.entity.User;
-import top.smartduck.ducktodo.modelService.TaskAuditService;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskAuditWriter;
 import top.smartduck.ducktodo.util.CommonUtil;
 import top.smartduck.ducktodo.model.response.TaskDetailResponse;
 
 import java.lang.reflect.Method;
+import java.time.LocalDateTime;
 
 @Aspect
 @Component
 public class TaskAuditAspect {
 
     @Autowired
-    private TaskAuditService taskAuditService;
+    private TaskAuditWriter taskAuditWriter;
 
     @Autowired
-    private ChildTaskMapper childTaskMapper;
+    private StatsCacheService statsCacheService;
 
     @Pointcut("@annotation(top.smartduck.ducktodo.aspect.TaskAuditLog)")
     public void auditPointcut() {}
@@ -47,12 +48,19 @@ public class TaskAuditAspect {
                 recordAudit(pjp, taskAuditLog, result, error);
             } catch (Exception ignore) {
             }
+            try {
+                invalidateStats(result);
+            } catch (Exception ignore) {
+            }
         }
     }
 
+    /**
+     * 在请求线程内仅提取审计字段并入队；子任务ID → 父任务ID 的解析与 INSERT 由 TaskAuditWriter 批量完成
+     */
     private void recordAudit(ProceedingJoinPoint pjp, TaskAuditLog taskAuditLog, Object result, Throwable error) {
-        String taskId = extractTaskId(pjp.getArgs(), result);
-        if (taskId == null || taskId.isEmpty()) {
+        AuditTarget target = extractTaskId(pjp.getArgs(), result);
+        if (target == null) {
             return;
         }
         User current = CommonUtil.getCurrentUser(null);
@@ -66,18 +74,47 @@ public class TaskAuditAspect {
             desc = desc + " - ERROR: " + error.getClass().getSimpleName();
         }
         TaskAudit audit = TaskAudit.builder()
-                .taskId(taskId)
+                .taskId(target.taskId)
                 .operatorId(operatorId)
                 .actionType(actionType)
                 .actionDescription(desc)
+                .createTime(LocalDateTime.now())
                 .build();
-        taskAuditService.save(audit);
+        taskAuditWriter.submit(audit, target.childTaskId);
+    }
+
+    /**
+     * 立即失效操作者本人及返回结果所属团队的统计缓存（不查询数据库），保证操作者刷新即见；
+     * 其他相关用户与团队由 TaskAuditWriter 在批量写入时解析后失效
+     */
+    private void invalidateStats(Object result) {
+        User current = CommonUtil.getCurrentUser(null);
+        if (current != null) statsCacheService.invalidateUser(current.getUserId());
+        Object data = result instanceof R<?> ? ((R<?>) result).getData() : result;
+        if (data instanceof Task) {
+            statsCacheService.invalidateTeam(((Task) data).getTeamId());
+        } else if (data instanceof TaskDetailResponse) {
+            statsCacheService.invalidateTeam(((TaskDetailResponse) data).getTeamId());
+        }
     }
 
-    private String extractTaskId(Object[] args, Object result) {
+    /**
+     * 审计目标：taskId 为已确定（或兜底）的任务ID；childTaskId 非空时由写入器尝试解析为父任务ID
+     */
+    private static final class AuditTarget {
+        final String taskId;
+        final String childTaskId;
+
+        AuditTarget(String taskId, String childTaskId) {
+            this.taskId = taskId;
+            this.childTaskId = childTaskId;
+        }
+    }
+
+    private AuditTarget extractTaskId(Object[] args, Object result) {
         // Try from result first (preferred)
-        String fromResult = extractTaskIdFromResult(result);
-        if (fromResult != null && !fromResult.isEmpty()) {
+        AuditTarget fromResult = extractTaskIdFromResult(result);
+        if (fromResult != null) {
             return fromResult;
         }
         // Fallback: search from args
@@ -87,27 +124,21 @@ public class TaskAuditAspect {
                 if (arg instanceof Task) {
                     Task t = (Task) arg;
                     if (t.getTaskId() != null && !t.getTaskId().isEmpty()) {
-                        return t.getTaskId();
+                        return new AuditTarget(t.getTaskId(), null);
                     }
                 } else if (arg instanceof ChildTask) {
                     ChildTask ct = (ChildTask) arg;
                     if (ct.getTaskId() != null && !ct.getTaskId().isEmpty()) {
-                        return ct.getTaskId();
+                        return new AuditTarget(ct.getTaskId(), null);
                     }
                     if (ct.getChildTaskId() != null && !ct.getChildTaskId().isEmpty()) {
-                        ChildTask full = childTaskMapper.selectById(ct.getChildTaskId());
-                        if (full != null && full.getTaskId() != null && !full.getTaskId().isEmpty()) {
-                            return full.getTaskId();
-                        }
+                        return new AuditTarget(null, ct.getChildTaskId());
                     }
                 } else if (arg instanceof String) {
                     String id = (String) arg;
                     if (id != null && !id.trim().isEmpty()) {
-                        ChildTask maybeChild = childTaskMapper.selectById(id.trim());
-                        if (maybeChild != null && maybeChild.getTaskId() != null && !maybeChild.getTaskId().isEmpty()) {
-                            return maybeChild.getTaskId();
-                        }
-                        return id.trim();
+                        // 可能是子任务ID：解析不到时按任务ID记录
+                        return new AuditTarget(id.trim(), id.trim());
                     }
                 }
             }
@@ -115,19 +146,19 @@ public class TaskAuditAspect {
         return null;
     }
 
-    private String extractTaskIdFromResult(Object result) {
+    private AuditTarget extractTaskIdFromResult(Object result) {
         if (result == null) return null;
         // Try typed R<T>
         if (result instanceof R<?>) {
             Object data = ((R<?>) result).getData();
-            String id = extractTaskIdFromData(data);
+            AuditTarget id = extractTaskIdFromData(data);
             if (id != null) return id;
         } else {
             // Try reflective getData()
             try {
                 Method m = result.getClass().getMethod("getData");
                 Object data = m.invoke(result);
-                String id = extractTaskIdFromData(data);
+                AuditTarget id = extractTaskIdFromData(data);
                 if (id != null) return id;
             } catch (Exception ignored) {}
         }
@@ -135,24 +166,25 @@ public class TaskAuditAspect {
         return extractTaskIdFromData(result);
     }
 
-    private String extractTaskIdFromData(Object data) {
+    private AuditTarget extractTaskIdFromData(Object data) {
         if (data == null) return null;
         if (data instanceof Task) {
             Task t = (Task) data;
-            return t.getTaskId();
+            return isBlank(t.getTaskId()) ? null : new AuditTarget(t.getTaskId(), null);
         }
         if (data instanceof TaskDetailResponse) {
             TaskDetailResponse resp = (TaskDetailResponse) data;
-            return resp.getTaskId();
+            return isBlank(resp.getTaskId()) ? null : new AuditTarget(resp.getTaskId(), null);
         }
         if (data instanceof ChildTask) {
             ChildTask ct = (ChildTask) data;
-            if (ct.getTaskId() != null && !ct.getTaskId().isEmpty()) return ct.getTaskId();
-            if (ct.getChildTaskId() != null && !ct.getChildTaskId().isEmpty()) {
-                ChildTask full = childTaskMapper.selectById(ct.getChildTaskId());
-                return full == null ? null : full.getTaskId();
-            }
+            if (!isBlank(ct.getTaskId())) return new AuditTarget(ct.getTaskId(), null);
+            if (!isBlank(ct.getChildTaskId())) return new AuditTarget(null, ct.getChildTaskId());
         }
         return null;
     }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isEmpty();
+    }
 }
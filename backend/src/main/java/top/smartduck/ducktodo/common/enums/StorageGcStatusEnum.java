@@ -0,0 +1,22 @@
+package top.smartduck.ducktodo.common.enums;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 对象存储待回收状态枚举（删除成功的记录直接移出队列）
+ */
+@Getter
+@AllArgsConstructor
+public enum StorageGcStatusEnum {
+
+    PENDING(0, "待回收"),
+    FAILED(1, "回收失败");
+
+    @EnumValue
+    @JsonValue
+    private final Integer code;
+    private final String desc;
+}
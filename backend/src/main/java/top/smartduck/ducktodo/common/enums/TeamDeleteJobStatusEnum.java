@@ -0,0 +1,24 @@
+package top.smartduck.ducktodo.common.enums;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 团队删除任务状态枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum TeamDeleteJobStatusEnum {
+
+    PENDING(0, "待执行"),
+    RUNNING(1, "执行中"),
+    FINISHED(2, "已完成"),
+    FAILED(3, "失败待重试");
+
+    @EnumValue
+    @JsonValue
+    private final Integer code;
+    private final String desc;
+}
@@ -14,7 +14,11 @@ public enum TeamStatusEnum {
 
     DISABLED(0, "已禁用"),
     IN_PROGRESS(1, "进行中"),
-    FINISHED(2, "已结束");
+    FINISHED(2, "已结束"),
+    /**
+     * 删除中：已提交删除，后台任务正在分批级联删除其下属数据（仅系统设置，不可由接口指定）
+     */
+    DELETING(3, "删除中");
 
     @EnumValue
     @JsonValue
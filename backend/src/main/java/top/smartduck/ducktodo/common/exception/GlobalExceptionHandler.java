@@ -10,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import top.smartduck.ducktodo.common.result.R;
 import top.smartduck.ducktodo.common.enums.ResultCode;
@@ -80,6 +81,15 @@ public class GlobalExceptionHandler {
         return R.fail(ResultCode.NOT_FOUND, "请求路径不存在");
     }
 
+    /**
+     * 处理上传文件超过大小限制（spring.servlet.multipart.max-file-size / max-request-size）
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public R<Void> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException e, HttpServletRequest request) {
+        log.warn("上传文件过大: uri={}, msg={}", request.getRequestURI(), e.getMessage());
+        return R.fail(ResultCode.BAD_REQUEST, "上传文件大小超过限制");
+    }
+
     /**
      * 全局兜底异常
      */
@@ -15,15 +15,41 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Component
 public class DatabaseInitializer implements ApplicationRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DatabaseInitializer.class);
 
+    /**
+     * 版本化迁移脚本：{版本号, 资源路径, 说明}，按数组顺序执行；
+     * 已执行的版本记录在 schema_migration 表中，新增迁移只需在末尾追加一项
+     */
+    private static final String[][] MIGRATIONS = {
+            {"v3", "schema/migration/v3_add_query_indexes.sql", "为高频查询路径补充二级索引"},
+            {"v4", "schema/migration/v4_task_audit_team_id.sql", "审计表冗余团队ID并回填"},
+            {"v5", "schema/migration/v5_stat_cycle_time_sketch.sql", "日统计汇总表增加周期时间分位数草图"},
+            {"v6", "schema/migration/v6_lexorank_ordering.sql", "子任务、任务族、团队排序改为字符串排序键并回填"},
+            {"v7", "schema/migration/v7_task_file_object_name.sql", "附件表记录对象名并回填"},
+            {"v8", "schema/migration/v8_task_node_owner_indexes.sql", "任务节点按所属任务族/任务/子任务建立索引"},
+            {"v9", "schema/migration/v9_reset_cycle_time_sketch.sql", "清空按旧口径汇总的周期时间分位数草图"},
+    };
+
+    /** MySQL 错误码：重复的索引名 / 重复的列名（迁移语句已生效，视为幂等跳过） */
+    private static final int ER_DUP_KEYNAME = 1061;
+    private static final int ER_DUP_FIELDNAME = 1060;
+
     @Autowired
     private DataSource dataSource;
 
@@ -74,6 +100,11 @@ public class DatabaseInitializer implements ApplicationRunner {
             tableToResource.put("task_node", "schema/task_node.sql");
             tableToResource.put("task_edge", "schema/task_edge.sql");
             tableToResource.put("task_audit", "schema/task_audit.sql");
+            tableToResource.put("stat_user_daily", "schema/stat_user_daily.sql");
+            tableToResource.put("stat_team_daily", "schema/stat_team_daily.sql");
+            tableToResource.put("team_delete_job", "schema/team_delete_job.sql");
+            tableToResource.put("storage_gc", "schema/storage_gc.sql");
+            tableToResource.put("schema_migration", "schema/schema_migration.sql");
 
             for (Map.Entry<String, String> e : tableToResource.entrySet()) {
                 String table = e.getKey();
@@ -109,6 +140,10 @@ public class DatabaseInitializer implements ApplicationRunner {
             executeUpgradeScripts(conn, schema);
 
             log.info("[DB-Init] Database schema check & init completed.");
+
+            if (Boolean.parseBoolean(env.getProperty("db-init.explain-report.enabled", "true"))) {
+                reportFullScans(conn);
+            }
         } catch (Exception ex) {
             log.error("[DB-Init] Initialization failed: {}", ex.getMessage());
         }
@@ -143,6 +178,185 @@ public class DatabaseInitializer implements ApplicationRunner {
     private void executeUpgradeScripts(Connection conn, String schema) {
         // 升级：为 user_llm_config 表添加 llm_model_type 字段
         upgradeUserLlmConfigAddModelType(conn, schema);
+        // 版本化迁移（v3 起）
+        applyVersionedMigrations(conn);
+    }
+
+    /**
+     * 按版本顺序执行尚未记录在 schema_migration 中的迁移脚本
+     *
+     * 说明：
+     * - 单个脚本内的语句逐条执行，索引/列已存在时跳过该语句，保证对新建库与存量库均可重复执行
+     * - 任一语句失败即停止后续迁移且不记录该版本，下次启动重试
+     *
+     * @param conn 数据库连接
+     */
+    private void applyVersionedMigrations(Connection conn) {
+        Set<String> applied = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT migration_version FROM schema_migration WHERE is_delete = 0")) {
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) applied.add(rs.getString(1));
+            }
+        } catch (Exception e) {
+            log.warn("[DB-Init] Failed to read schema_migration; skip versioned migrations: {}", e.getMessage());
+            return;
+        }
+
+        for (String[] m : MIGRATIONS) {
+            String version = m[0];
+            String resource = m[1];
+            if (applied.contains(version)) {
+                log.info("[DB-Init] Migration '{}' already applied; skip.", version);
+                continue;
+            }
+            String script = readResource(resource);
+            if (script == null || script.trim().isEmpty()) {
+                log.error("[DB-Init] Migration '{}' resource '{}' not found or empty; stop migrating.", version, resource);
+                return;
+            }
+            log.info("[DB-Init] Applying migration '{}' from '{}'...", version, resource);
+            try (Statement st = conn.createStatement()) {
+                for (String sql : splitStatements(script)) {
+                    try {
+                        st.execute(sql);
+                    } catch (SQLException ex) {
+                        if (ex.getErrorCode() == ER_DUP_KEYNAME || ex.getErrorCode() == ER_DUP_FIELDNAME) {
+                            log.info("[DB-Init] Migration '{}': already in place, skip statement: {}", version, sql);
+                            continue;
+                        }
+                        throw ex;
+                    }
+                }
+            } catch (SQLException ex) {
+                log.error("[DB-Init] Migration '{}' failed; later migrations not applied: {}", version, ex.getMessage());
+                return;
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_migration (schema_migration_id, migration_version, migration_description, migration_resource, is_delete, create_time) VALUES (?, ?, ?, ?, 0, ?)")) {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, version);
+                ps.setString(3, m[2]);
+                ps.setString(4, resource);
+                ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                ps.executeUpdate();
+                log.info("[DB-Init] Migration '{}' applied successfully.", version);
+            } catch (Exception ex) {
+                log.error("[DB-Init] Migration '{}' applied but not recorded: {}", version, ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将脚本拆分为单条语句：忽略 `--` 注释行，以行尾分号作为语句结束
+     */
+    private static List<String> splitStatements(String script) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        for (String line : script.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+            cur.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = cur.toString().trim();
+                out.add(sql.substring(0, sql.length() - 1));
+                cur.setLength(0);
+            }
+        }
+        if (!cur.toString().trim().isEmpty()) out.add(cur.toString().trim());
+        return out;
+    }
+
+    /**
+     * 启动时 EXPLAIN 的查询形态登记表：名称 → 代表性 SQL（参数以 ? 占位，执行时以空串绑定）
+     *
+     * 新增高频查询（尤其是 Mapper XML 中的自定义 SQL）时在此登记，便于发现缺失索引
+     */
+    private static Map<String, String> explainShapes() {
+        Map<String, String> shapes = new LinkedHashMap<>();
+        shapes.put("task by task_group (list/page)",
+                "SELECT * FROM task WHERE task_group_id = ? AND is_delete = 0 ORDER BY create_time DESC LIMIT 10");
+        shapes.put("task by team",
+                "SELECT task_id FROM task WHERE team_id = ? AND is_delete = 0");
+        shapes.put("task_user_relation by user",
+                "SELECT task_id FROM task_user_relation WHERE user_id = ? AND is_delete = 0");
+        shapes.put("task_user_relation by task",
+                "SELECT * FROM task_user_relation WHERE task_id = ? AND is_delete = 0");
+        shapes.put("related tasks of user (TaskMapper.selectRelatedTaskPage)",
+                "SELECT t.* FROM task t WHERE t.is_delete = 0 AND EXISTS (SELECT 1 FROM task_user_relation r WHERE r.task_id = t.task_id AND r.user_id = ? AND r.is_delete = 0) ORDER BY t.create_time DESC, t.task_id ASC LIMIT 10");
+        shapes.put("child_task by task",
+                "SELECT * FROM child_task WHERE task_id = ? AND is_delete = 0 ORDER BY child_task_rank");
+        shapes.put("last task group rank of user",
+                "SELECT group_rank FROM task_group_user_relation WHERE user_id = ? AND is_delete = 0 ORDER BY group_rank DESC LIMIT 1");
+        shapes.put("last team rank of user",
+                "SELECT team_rank FROM team_user_relation WHERE user_id = ? AND is_delete = 0 ORDER BY team_rank DESC LIMIT 1");
+        shapes.put("task_audit by task",
+                "SELECT * FROM task_audit WHERE task_id = ? AND is_delete = 0 ORDER BY create_time DESC");
+        shapes.put("task_audit by operator and day range",
+                "SELECT DATE(create_time), COUNT(*) FROM task_audit WHERE operator_id = ? AND is_delete = 0 AND create_time >= ? AND create_time < ? GROUP BY DATE(create_time)");
+        shapes.put("task_audit by team and day range",
+                "SELECT DATE(create_time), COUNT(*) FROM task_audit WHERE team_id = ? AND is_delete = 0 AND create_time >= ? AND create_time < ? GROUP BY DATE(create_time)");
+        shapes.put("task_file by task",
+                "SELECT * FROM task_file WHERE task_id = ? AND is_delete = 0");
+        shapes.put("task_node by team",
+                "SELECT * FROM task_node WHERE team_id = ? AND is_delete = 0");
+        shapes.put("task_node of team tasks (TeamDeleteJobMapper.selectTaskNodeIds)",
+                "SELECT n.task_node_id FROM task t JOIN task_node n ON n.task_id = t.task_id WHERE t.team_id = ? AND n.is_delete = 0 LIMIT 500");
+        shapes.put("task_node of team task groups (TeamDeleteJobMapper.selectTaskNodeIds)",
+                "SELECT n.task_node_id FROM task_group g JOIN task_node n ON n.task_group_id = g.task_group_id WHERE g.team_id = ? AND n.is_delete = 0 LIMIT 500");
+        shapes.put("task_edge by source node",
+                "SELECT * FROM task_edge WHERE source_node_id = ? AND is_delete = 0");
+        shapes.put("task_edge by target node",
+                "SELECT * FROM task_edge WHERE target_node_id = ? AND is_delete = 0");
+        shapes.put("team member check",
+                "SELECT * FROM team_user_relation WHERE team_id = ? AND user_id = ? AND user_status = 1 AND is_delete = 0");
+        shapes.put("teams of user",
+                "SELECT team_id FROM team_user_relation WHERE user_id = ? AND user_status = 1 AND is_delete = 0");
+        shapes.put("task group member check",
+                "SELECT * FROM task_group_user_relation WHERE task_group_id = ? AND user_id = ? AND user_status = 1 AND is_delete = 0");
+        shapes.put("task groups of user",
+                "SELECT task_group_id FROM task_group_user_relation WHERE user_id = ? AND user_status = 1 AND is_delete = 0");
+        shapes.put("task_group by team",
+                "SELECT * FROM task_group WHERE team_id = ? AND is_delete = 0");
+        return shapes;
+    }
+
+    /**
+     * 启动报告：对登记的查询形态执行 EXPLAIN，列出仍存在全表扫描（type=ALL）的查询
+     *
+     * 注意：表数据量很小时优化器可能主动选择全表扫描，报告仅作为缺失索引的线索
+     *
+     * @param conn 数据库连接
+     */
+    private void reportFullScans(Connection conn) {
+        Map<String, String> shapes = explainShapes();
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, String> e : shapes.entrySet()) {
+            String sql = e.getValue();
+            try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+                int params = (int) sql.chars().filter(ch -> ch == '?').count();
+                for (int i = 1; i <= params; i++) ps.setString(i, "");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+                            fullScans.add(String.format("%s -> table=%s, rows=%s, possible_keys=%s",
+                                    e.getKey(), rs.getString("table"), rs.getString("rows"), rs.getString("possible_keys")));
+                        }
+                    }
+                }
+            } catch (Exception ex) {
+                log.warn("[DB-Init] EXPLAIN failed for '{}': {}", e.getKey(), ex.getMessage());
+            }
+        }
+        if (fullScans.isEmpty()) {
+            log.info("[DB-Init] EXPLAIN report: all {} registered query shapes use an index.", shapes.size());
+            return;
+        }
+        log.warn("[DB-Init] EXPLAIN report: {} of {} registered query shapes still do full table scans:", fullScans.size(), shapes.size());
+        for (String line : fullScans) {
+            log.warn("[DB-Init]   {}", line);
+        }
     }
 
     /**
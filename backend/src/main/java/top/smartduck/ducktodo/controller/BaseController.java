@@ -23,6 +23,7 @@ import top.smartduck.ducktodo.modelService.TaskGroupService;
 import top.smartduck.ducktodo.modelService.TaskGroupUserRelationService;
 import top.smartduck.ducktodo.util.CommonUtil;
 import top.smartduck.ducktodo.util.JwtUtil;
+import top.smartduck.ducktodo.util.LexoRank;
 import top.smartduck.ducktodo.util.MinioUtil;
 import top.smartduck.ducktodo.common.exception.BusinessException;
 import top.smartduck.ducktodo.common.result.R;
@@ -300,6 +301,7 @@ public class BaseController {
         rel.setUserRole(UserRoleEnum.OWNER.getCode()); // 0-owner
         rel.setUserStatus(UserStatusEnum.NORMAL.getCode()); // 1-正常
         rel.setGroupIndex(1);
+        rel.setGroupRank(LexoRank.sequence(1));
         rel.setGroupColor(SystemConstant.DEFAULT_GROUP_COLOR);
         rel.setGroupAlias(defaultGroup.getGroupName());
         rel.setJoinTime(LocalDateTime.now());
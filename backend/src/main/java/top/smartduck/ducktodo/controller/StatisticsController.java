@@ -3,6 +3,7 @@ package top.smartduck.ducktodo.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -11,15 +12,24 @@ import top.smartduck.ducktodo.common.enums.TaskPriorityEnum;
 import top.smartduck.ducktodo.common.enums.TaskStatusEnum;
 import top.smartduck.ducktodo.common.enums.UserStatusEnum;
 import top.smartduck.ducktodo.common.result.R;
+import top.smartduck.ducktodo.model.dto.BurndownSeriesDto;
+import top.smartduck.ducktodo.model.dto.DueHistogramDto;
+import top.smartduck.ducktodo.model.dto.KeyCountDto;
+import top.smartduck.ducktodo.model.dto.MemberWorkloadDto;
+import top.smartduck.ducktodo.model.dto.StatusPriorityCountDto;
+import top.smartduck.ducktodo.model.dto.TaskGraphSummaryDto;
+import top.smartduck.ducktodo.model.dto.UserOverviewDto;
 import top.smartduck.ducktodo.model.entity.*;
 import top.smartduck.ducktodo.model.response.statistics.*;
 import top.smartduck.ducktodo.modelService.*;
+import top.smartduck.ducktodo.service.StatisticsService;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskAuditWriter;
+import top.smartduck.ducktodo.service.TaskGraphService;
 import top.smartduck.ducktodo.util.CommonUtil;
+import top.smartduck.ducktodo.util.QuantileSketch;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -40,9 +50,6 @@ public class StatisticsController {
     @Autowired
     private TeamUserRelationService teamUserRelationService;
 
-    @Autowired
-    private TaskGroupUserRelationService taskGroupUserRelationService;
-
     @Autowired
     private TaskAuditService taskAuditService;
 
@@ -53,13 +60,48 @@ public class StatisticsController {
     private TaskGroupService taskGroupService;
 
     @Autowired
-    private TaskNodeService taskNodeService;
+    private UserService userService;
 
     @Autowired
-    private TaskEdgeService taskEdgeService;
+    private StatisticsService statisticsService;
 
     @Autowired
-    private UserService userService;
+    private TaskGraphService taskGraphService;
+
+    @Autowired
+    private StatsCacheService statsCacheService;
+
+    @Autowired
+    private TaskAuditWriter taskAuditWriter;
+
+    /**
+     * 可查看运行指标的用户ID（逗号分隔），为空时任何用户均不可查看
+     */
+    @Value("${stats.metrics.admin-user-ids:}")
+    private String metricsAdminUserIds;
+
+    @GetMapping("/me/overview")
+    /**
+     * 个人概览统计（聚合）
+     *
+     * 接口：GET `/api/stats/me/overview`
+     * 权限：需 JWT 鉴权，且仅本人
+     *
+     * 行为：
+     * - 一次查询返回加入数、进行中、本周/本月/累计完成与逾期分桶
+     * - 下方 6 个 `/me/overview/*` 接口为本接口的单项视图，口径一致
+     *
+     * 返回：`R<MyOverviewResponse>`
+     * - `joined`/`inProgress`/`completedWeek`/`completedMonth`/`completedTotal`/`overdue`：同各单项接口的 `data`
+     *
+     * 异常/失败：
+     * - 401：未认证
+     */
+    public R<MyOverviewResponse> getMyOverview(HttpServletRequest request) {
+        var cu = CommonUtil.getCurrentUser(request);
+        if (cu == null) return R.unauthorized("未能识别当前用户");
+        return R.success(overviewOf(cu.getUserId()), "查询成功");
+    }
 
     @GetMapping("/me/overview/joined")
     /**
@@ -82,13 +124,7 @@ public class StatisticsController {
     public R<JoinedCountResponse> getJoinedCount(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        int teamCount = (int) teamUserRelationService.count(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
-        int groupCount = (int) taskGroupUserRelationService.count(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TaskGroupUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TaskGroupUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TaskGroupUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
-        return R.success(new JoinedCountResponse(teamCount, groupCount), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getJoined(), "查询成功");
     }
 
     @GetMapping("/me/overview/in_progress")
@@ -112,22 +148,7 @@ public class StatisticsController {
     public R<InProgressCountResponse> getInProgressOverview(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        List<TaskUserRelation> myRels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>()
-                .eq(TaskUserRelation::getUserId, cu.getUserId()));
-        Set<String> taskIds = new HashSet<>();
-        for (TaskUserRelation r : myRels) {
-            if (r != null && r.getTaskId() != null) taskIds.add(r.getTaskId());
-        }
-        int tasksInProgress = 0;
-        if (!taskIds.isEmpty()) {
-            tasksInProgress = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode()));
-        }
-        int childInProgress = (int) childTaskService.count(new LambdaQueryWrapper<ChildTask>()
-                .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId())
-                .eq(ChildTask::getChildTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode()));
-        return R.success(new InProgressCountResponse(tasksInProgress, childInProgress), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getInProgress(), "查询成功");
     }
 
     @GetMapping("/me/overview/completed/week")
@@ -149,11 +170,7 @@ public class StatisticsController {
     public R<CompletedCountResponse> getCompletedWeek(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
-        LocalDate weekEnd = weekStart.plusDays(6);
-        int count = completedCountBetween(cu.getUserId(), weekStart, weekEnd);
-        return R.success(new CompletedCountResponse(count), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getCompletedWeek(), "查询成功");
     }
 
     @GetMapping("/me/overview/completed/month")
@@ -175,11 +192,7 @@ public class StatisticsController {
     public R<CompletedCountResponse> getCompletedMonth(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        YearMonth ym = YearMonth.now();
-        LocalDate start = ym.atDay(1);
-        LocalDate end = ym.atEndOfMonth();
-        int count = completedCountBetween(cu.getUserId(), start, end);
-        return R.success(new CompletedCountResponse(count), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getCompletedMonth(), "查询成功");
     }
 
     @GetMapping("/me/overview/completed/total")
@@ -201,16 +214,7 @@ public class StatisticsController {
     public R<CompletedCountResponse> getCompletedTotal(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        List<TaskUserRelation> myRels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>()
-                .eq(TaskUserRelation::getUserId, cu.getUserId()));
-        Set<String> taskIds = myRels.stream().map(TaskUserRelation::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
-        int count = 0;
-        if (!taskIds.isEmpty()) {
-            count = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode()));
-        }
-        return R.success(new CompletedCountResponse(count), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getCompletedTotal(), "查询成功");
     }
 
     @GetMapping("/me/overview/overdue")
@@ -233,29 +237,7 @@ public class StatisticsController {
     public R<OverdueCountResponse> getOverdueOverview(HttpServletRequest request) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        LocalDate today = LocalDate.now();
-        List<TaskUserRelation> myRels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>()
-                .eq(TaskUserRelation::getUserId, cu.getUserId()));
-        Set<String> taskIds = myRels.stream().map(TaskUserRelation::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
-        if (taskIds.isEmpty()) {
-            return R.success(new OverdueCountResponse(0, 0, 0), "查询成功");
-        }
-        List<Task> tasks = taskService.list(new LambdaQueryWrapper<Task>()
-                .in(Task::getTaskId, taskIds)
-                .isNotNull(Task::getDueTime)
-                .lt(Task::getDueTime, today)
-                .in(Task::getTaskStatus, Arrays.asList(TaskStatusEnum.NOT_STARTED.getCode(), TaskStatusEnum.IN_PROGRESS.getCode())));
-        int total = 0, moderate = 0, severe = 0;
-        for (Task t : tasks) {
-            if (t == null || t.getDueTime() == null) continue;
-            long days = ChronoUnit.DAYS.between(t.getDueTime(), today);
-            if (days >= 1) {
-                total++;
-                if (days <= 3) moderate++;
-                else severe++;
-            }
-        }
-        return R.success(new OverdueCountResponse(total, moderate, severe), "查询成功");
+        return R.success(overviewOf(cu.getUserId()).getOverdue(), "查询成功");
     }
 
     @GetMapping("/me/trend/load")
@@ -266,10 +248,10 @@ public class StatisticsController {
      * 权限：需 JWT 鉴权，且仅本人
      *
      * 请求参数：
-     * - `days`：统计天数（默认14，上限60）
+     * - `days`：统计天数（默认14，上限180）
      *
      * 行为：
-     * - 每日统计处于“进行中”的主任务数量与子任务数量
+     * - 每日统计处于“进行中”的主任务数量与子任务数量（差分数组 + 前缀和，与天数无关的单次遍历）
      *
      * 返回：`R<LoadTrendResponse>`
      * - `items`：每日数据列表（`date,tasks,childTasks`）
@@ -283,78 +265,51 @@ public class StatisticsController {
                                              @RequestParam(value = "days", required = false) Integer days) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        int n = (days == null || days <= 0) ? 14 : Math.min(days, 60);
+        int n = (days == null || days <= 0) ? 14 : Math.min(days, 180);
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(n - 1); // 未来N天的最后一天
-        
-        // 获取用户相关的任务ID集合（只查询一次）
-        Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-        
-        // 一次性查询所有未来任务（dueTime在统计区间内）且状态为进行中的任务
-        // 查询条件：任务属于该用户，截止时间在[today, endDate]范围内，状态为进行中
-        List<Task> futureTasksInProgress = taskIds.isEmpty() ? Collections.emptyList() :
-                taskService.list(new LambdaQueryWrapper<Task>()
-                        .in(Task::getTaskId, taskIds)
-                        .eq(Task::getTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode())
-                        .ge(Task::getDueTime, today)
-                        .le(Task::getDueTime, endDate));
-        
-        // 一次性查询所有未来子任务（dueTime在统计区间内）且状态为进行中的子任务
-        // 查询条件：分配给该用户，截止时间在[today, endDate]范围内，状态为进行中
-        List<ChildTask> futureChildTasksInProgress = childTaskService.list(new LambdaQueryWrapper<ChildTask>()
-                .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId())
-                .eq(ChildTask::getChildTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode())
-                .ge(ChildTask::getDueTime, today)
-                .le(ChildTask::getDueTime, endDate));
-        
-        // 按日期统计任务数量：使用Map存储每一天的任务和子任务数量
-        Map<String, Integer> tasksByDate = new HashMap<>();
-        Map<String, Integer> childTasksByDate = new HashMap<>();
-        
-        // 初始化未来N天所有日期的计数为0
-        for (int i = 0; i < n; i++) {
-            LocalDate d = today.plusDays(i);
-            String dateStr = d.toString();
-            tasksByDate.put(dateStr, 0);
-            childTasksByDate.put(dateStr, 0);
-        }
-        
-        // 统计任务：对于每个任务，统计它在未来N天哪些日期处于"进行中"状态
-        // 如果任务的dueTime在未来N天内，则从今天到dueTime（或endDate，取较小值）都处于"进行中"状态
-        for (Task task : futureTasksInProgress) {
-            if (task.getDueTime() != null && !task.getDueTime().isBefore(today)) {
-                // 任务从今天开始，到dueTime或endDate（取较小值）都处于"进行中"状态
-                LocalDate taskEndDate = task.getDueTime().isAfter(endDate) ? endDate : task.getDueTime();
-                for (LocalDate d = today; !d.isAfter(taskEndDate); d = d.plusDays(1)) {
-                    String dateStr = d.toString();
-                    tasksByDate.put(dateStr, tasksByDate.getOrDefault(dateStr, 0) + 1);
-                }
+
+        LoadTrendResponse data = statsCacheService.getOfUser("me.trend.load", cu.getUserId(), today + "|" + n, () -> {
+            // 获取用户相关的任务ID集合（只查询一次）
+            Set<String> taskIds = taskIdsOfUser(cu.getUserId());
+
+            // 截止时间在[today, endDate]范围内且进行中的主任务/子任务，只取截止时间列
+            List<Task> futureTasksInProgress = taskIds.isEmpty() ? Collections.emptyList() :
+                    taskService.list(new LambdaQueryWrapper<Task>()
+                            .select(Task::getDueTime)
+                            .in(Task::getTaskId, taskIds)
+                            .eq(Task::getTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode())
+                            .ge(Task::getDueTime, today)
+                            .le(Task::getDueTime, endDate));
+            List<ChildTask> futureChildTasksInProgress = childTaskService.list(new LambdaQueryWrapper<ChildTask>()
+                    .select(ChildTask::getDueTime)
+                    .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId())
+                    .eq(ChildTask::getChildTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode())
+                    .ge(ChildTask::getDueTime, today)
+                    .le(ChildTask::getDueTime, endDate));
+
+            // 差分数组：每个任务在 [today, dueTime] 区间内处于"进行中"，起点 +1、终点次日 -1，单次遍历后前缀和还原逐日数量
+            int[] taskDiff = new int[n + 1];
+            int[] childDiff = new int[n + 1];
+            for (Task t : futureTasksInProgress) {
+                if (t != null) markLoad(taskDiff, today, t.getDueTime(), n);
             }
-        }
-        
-        // 统计子任务：对于每个子任务，统计它在未来N天哪些日期处于"进行中"状态
-        for (ChildTask childTask : futureChildTasksInProgress) {
-            if (childTask.getDueTime() != null && !childTask.getDueTime().isBefore(today)) {
-                // 子任务从今天开始，到dueTime或endDate（取较小值）都处于"进行中"状态
-                LocalDate taskEndDate = childTask.getDueTime().isAfter(endDate) ? endDate : childTask.getDueTime();
-                for (LocalDate d = today; !d.isAfter(taskEndDate); d = d.plusDays(1)) {
-                    String dateStr = d.toString();
-                    childTasksByDate.put(dateStr, childTasksByDate.getOrDefault(dateStr, 0) + 1);
-                }
+            for (ChildTask ct : futureChildTasksInProgress) {
+                if (ct != null) markLoad(childDiff, today, ct.getDueTime(), n);
             }
-        }
-        
-        // 构建返回结果（按时间顺序：今天、明天、后天...）
-        List<LoadTrendResponse.DayLoad> items = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            LocalDate d = today.plusDays(i);
-            String dateStr = d.toString();
-            int tasksCount = tasksByDate.getOrDefault(dateStr, 0);
-            int childTasksCount = childTasksByDate.getOrDefault(dateStr, 0);
-            items.add(new LoadTrendResponse.DayLoad(dateStr, tasksCount, childTasksCount));
-        }
-        
-        return R.success(new LoadTrendResponse(items), "查询成功");
+
+            // 构建返回结果（按时间顺序：今天、明天、后天...）
+            List<LoadTrendResponse.DayLoad> items = new ArrayList<>(n);
+            int tasksCount = 0, childTasksCount = 0;
+            for (int i = 0; i < n; i++) {
+                tasksCount += taskDiff[i];
+                childTasksCount += childDiff[i];
+                items.add(new LoadTrendResponse.DayLoad(today.plusDays(i).toString(), tasksCount, childTasksCount));
+            }
+
+            return new LoadTrendResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/trend/tasks")
@@ -370,6 +325,7 @@ public class StatisticsController {
      *
      * 行为：
      * - 按日统计用户相关任务的创建数与完成数
+     * - 历史日期读取`stat_user_daily`日汇总；未汇总日期每个指标仅执行一次按日分组查询，无数据的日期补 0
      *
      * 返回：`R<TaskTrendResponse>`
      * - `items`：每日`created/completed`数据
@@ -401,19 +357,17 @@ public class StatisticsController {
             start = today.minusDays(6);
             end = today;
         }
-        Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-        List<TaskTrendResponse.DayTrend> items = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            int created = taskIds.isEmpty() ? 0 : (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .between(Task::getCreateTime, d.atStartOfDay(), d.plusDays(1).atStartOfDay()));
-            int completed = taskIds.isEmpty() ? 0 : (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode())
-                    .between(Task::getFinishTime, d, d));
-            items.add(new TaskTrendResponse.DayTrend(d.toString(), created, completed));
-        }
-        return R.success(new TaskTrendResponse(items), "查询成功");
+        TaskTrendResponse data = statsCacheService.getOfUser("me.trend.tasks", cu.getUserId(), start + "|" + end, () -> {
+            // 整个区间每个指标仅一次分组查询，缺失日期补 0
+            int[] created = statisticsService.dailyCreatedOfUser(cu.getUserId(), start, end);
+            int[] completed = statisticsService.dailyCompletedOfUser(cu.getUserId(), start, end);
+            List<TaskTrendResponse.DayTrend> items = new ArrayList<>();
+            for (int i = 0; i < created.length; i++) {
+                items.add(new TaskTrendResponse.DayTrend(start.plusDays(i).toString(), created[i], completed[i]));
+            }
+            return new TaskTrendResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/trend/completion")
@@ -454,20 +408,17 @@ public class StatisticsController {
             start = today.minusDays(6);
             end = today;
         }
-        Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-        List<CompletionTrendResponse.DayCompletion> items = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            int created = taskIds.isEmpty() ? 0 : (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .between(Task::getCreateTime, d.atStartOfDay(), d.plusDays(1).atStartOfDay()));
-            int completed = taskIds.isEmpty() ? 0 : (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .in(Task::getTaskId, taskIds)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode())
-                    .between(Task::getFinishTime, d, d));
-            double rate = created <= 0 ? 0.0 : (double) completed / (double) created;
-            items.add(new CompletionTrendResponse.DayCompletion(d.toString(), rate, created, completed));
-        }
-        return R.success(new CompletionTrendResponse(items), "查询成功");
+        CompletionTrendResponse data = statsCacheService.getOfUser("me.trend.completion", cu.getUserId(), start + "|" + end, () -> {
+            int[] created = statisticsService.dailyCreatedOfUser(cu.getUserId(), start, end);
+            int[] completed = statisticsService.dailyCompletedOfUser(cu.getUserId(), start, end);
+            List<CompletionTrendResponse.DayCompletion> items = new ArrayList<>();
+            for (int i = 0; i < created.length; i++) {
+                double rate = created[i] <= 0 ? 0.0 : (double) completed[i] / (double) created[i];
+                items.add(new CompletionTrendResponse.DayCompletion(start.plusDays(i).toString(), rate, created[i], completed[i]));
+            }
+            return new CompletionTrendResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/trend/activity")
@@ -506,14 +457,15 @@ public class StatisticsController {
             start = today.minusDays(6);
             end = today;
         }
-        List<ActivityTrendResponse.DayActivity> items = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            int count = (int) taskAuditService.count(new LambdaQueryWrapper<TaskAudit>()
-                    .eq(TaskAudit::getOperatorId, cu.getUserId())
-                    .between(TaskAudit::getCreateTime, d.atStartOfDay(), d.plusDays(1).atStartOfDay()));
-            items.add(new ActivityTrendResponse.DayActivity(d.toString(), count));
-        }
-        return R.success(new ActivityTrendResponse(items), "查询成功");
+        ActivityTrendResponse data = statsCacheService.getOfUser("me.trend.activity", cu.getUserId(), start + "|" + end, () -> {
+            int[] counts = statisticsService.dailyActivityOfOperator(cu.getUserId(), start, end);
+            List<ActivityTrendResponse.DayActivity> items = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                items.add(new ActivityTrendResponse.DayActivity(start.plusDays(i).toString(), counts[i]));
+            }
+            return new ActivityTrendResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/distribution/priority")
@@ -542,23 +494,26 @@ public class StatisticsController {
         if (isSubs) {
             return R.success(new PriorityDistributionResponse(Collections.emptyList()), "子任务不支持优先级");
         } else {
-            Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-            List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
-                    taskService.list(new LambdaQueryWrapper<Task>().in(Task::getTaskId, taskIds));
-            Map<Integer, Integer> counter = new HashMap<>();
-            for (Task t : tasks) {
-                int p = t == null || t.getTaskPriority() == null ? 0 : t.getTaskPriority();
-                counter.put(p, counter.getOrDefault(p, 0) + 1);
-            }
-            List<PriorityDistributionResponse.Bucket> items = new ArrayList<>();
-            for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
-                String name = null;
-                for (TaskPriorityEnum en : TaskPriorityEnum.values()) {
-                    if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+            PriorityDistributionResponse data = statsCacheService.getOfUser("me.distribution.priority", cu.getUserId(), "", () -> {
+                Set<String> taskIds = taskIdsOfUser(cu.getUserId());
+                List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
+                        taskService.list(new LambdaQueryWrapper<Task>().in(Task::getTaskId, taskIds));
+                Map<Integer, Integer> counter = new HashMap<>();
+                for (Task t : tasks) {
+                    int p = t == null || t.getTaskPriority() == null ? 0 : t.getTaskPriority();
+                    counter.put(p, counter.getOrDefault(p, 0) + 1);
                 }
-                items.add(new PriorityDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
-            }
-            return R.success(new PriorityDistributionResponse(items), "查询成功");
+                List<PriorityDistributionResponse.Bucket> items = new ArrayList<>();
+                for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
+                    String name = null;
+                    for (TaskPriorityEnum en : TaskPriorityEnum.values()) {
+                        if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+                    }
+                    items.add(new PriorityDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
+                }
+                return new PriorityDistributionResponse(items);
+            });
+            return R.success(data, "查询成功");
         }
     }
 
@@ -586,40 +541,43 @@ public class StatisticsController {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
         boolean isSubs = "subs".equalsIgnoreCase(scope);
-        List<StatusDistributionResponse.Bucket> items = new ArrayList<>();
-        if (isSubs) {
-            Map<Integer, Integer> counter = new HashMap<>();
-            List<ChildTask> subs = childTaskService.list(new LambdaQueryWrapper<ChildTask>()
-                    .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId()));
-            for (ChildTask ct : subs) {
-                int s = ct == null || ct.getChildTaskStatus() == null ? 0 : ct.getChildTaskStatus();
-                counter.put(s, counter.getOrDefault(s, 0) + 1);
-            }
-            for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
-                String name = null;
-                for (TaskStatusEnum en : TaskStatusEnum.values()) {
-                    if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+        StatusDistributionResponse data = statsCacheService.getOfUser("me.distribution.status", cu.getUserId(), isSubs ? "subs" : "tasks", () -> {
+            List<StatusDistributionResponse.Bucket> items = new ArrayList<>();
+            if (isSubs) {
+                Map<Integer, Integer> counter = new HashMap<>();
+                List<ChildTask> subs = childTaskService.list(new LambdaQueryWrapper<ChildTask>()
+                        .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId()));
+                for (ChildTask ct : subs) {
+                    int s = ct == null || ct.getChildTaskStatus() == null ? 0 : ct.getChildTaskStatus();
+                    counter.put(s, counter.getOrDefault(s, 0) + 1);
                 }
-                items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
-            }
-        } else {
-            Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-            List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
-                    taskService.list(new LambdaQueryWrapper<Task>().in(Task::getTaskId, taskIds));
-            Map<Integer, Integer> counter = new HashMap<>();
-            for (Task t : tasks) {
-                int s = t == null || t.getTaskStatus() == null ? 0 : t.getTaskStatus();
-                counter.put(s, counter.getOrDefault(s, 0) + 1);
-            }
-            for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
-                String name = null;
-                for (TaskStatusEnum en : TaskStatusEnum.values()) {
-                    if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+                for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
+                    String name = null;
+                    for (TaskStatusEnum en : TaskStatusEnum.values()) {
+                        if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+                    }
+                    items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
+                }
+            } else {
+                Set<String> taskIds = taskIdsOfUser(cu.getUserId());
+                List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
+                        taskService.list(new LambdaQueryWrapper<Task>().in(Task::getTaskId, taskIds));
+                Map<Integer, Integer> counter = new HashMap<>();
+                for (Task t : tasks) {
+                    int s = t == null || t.getTaskStatus() == null ? 0 : t.getTaskStatus();
+                    counter.put(s, counter.getOrDefault(s, 0) + 1);
+                }
+                for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
+                    String name = null;
+                    for (TaskStatusEnum en : TaskStatusEnum.values()) {
+                        if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+                    }
+                    items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
                 }
-                items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
             }
-        }
-        return R.success(new StatusDistributionResponse(items), "查询成功");
+            return new StatusDistributionResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/expiration/forecast")
@@ -630,11 +588,12 @@ public class StatisticsController {
      * 权限：需 JWT 鉴权，且仅本人
      *
      * 请求参数：
-     * - `buckets`：桶定义（如 `7d,3d,today`）
+     * - `buckets`：桶定义（如 `1d,3d,7d,14d,30d,today,overdue`，`Nd` 上限 365）
      * - `scope`：任务或子任务
      *
      * 行为：
-     * - 按桶统计未来到期数量
+     * - 按桶统计未来到期数量：`Nd` 为截止日在 [今天, 今天+N] 内，`today` 为今天到期，`overdue` 为已逾期且未完成
+     * - 只查询一次到期直方图，任意桶组合均在内存中由前缀和得出
      *
      * 返回：`R<ExpirationForecastResponse>`
      * - `items`：各桶（`bucket,count`）
@@ -647,43 +606,51 @@ public class StatisticsController {
                                                                @RequestParam(value = "scope", required = false) String scope) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
-        String s = buckets == null ? "7d,3d,today" : buckets.trim();
-        String[] arr = s.split(",");
-        LocalDate today = LocalDate.now();
-        List<ExpirationForecastResponse.Bucket> items = new ArrayList<>();
-        boolean isSubs = "subs".equalsIgnoreCase(scope);
-        for (String b : arr) {
-            String key = b.trim();
-            int count = 0;
-            if (isSubs) {
+        ExpirationForecastResponse data = statsCacheService.getOfUser("me.expiration.forecast", cu.getUserId(), LocalDate.now() + "|" + buckets + "|" + "subs".equalsIgnoreCase(scope), () -> {
+            String s = buckets == null ? "7d,3d,today" : buckets.trim();
+            String[] arr = s.split(",");
+            // 先解析全部桶，确定直方图所需天数，再以一次分组查询回答所有桶
+            int[] spans = new int[arr.length];
+            int maxDays = 0;
+            boolean needOverdue = false;
+            for (int k = 0; k < arr.length; k++) {
+                String key = arr[k].trim();
+                spans[k] = -1;
                 if ("today".equalsIgnoreCase(key)) {
-                    count = (int) childTaskService.count(new LambdaQueryWrapper<ChildTask>()
-                            .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId())
-                            .eq(ChildTask::getDueTime, today));
-                } else if (key.endsWith("d")) {
-                    int d = Integer.parseInt(key.substring(0, key.length() - 1));
-                    count = (int) childTaskService.count(new LambdaQueryWrapper<ChildTask>()
-                            .eq(ChildTask::getChildTaskAssigneeId, cu.getUserId())
-                            .between(ChildTask::getDueTime, today, today.plusDays(d)));
+                    spans[k] = 0;
+                } else if ("overdue".equalsIgnoreCase(key)) {
+                    needOverdue = true;
+                } else if (key.length() > 1 && (key.endsWith("d") || key.endsWith("D"))) {
+                    try {
+                        spans[k] = Math.min(Integer.parseInt(key.substring(0, key.length() - 1)), 365);
+                    } catch (NumberFormatException ignore) {
+                        spans[k] = -1;
+                    }
                 }
-            } else {
-                Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-                if (taskIds.isEmpty()) {
-                    count = 0;
-                } else if ("today".equalsIgnoreCase(key)) {
-                    count = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                            .in(Task::getTaskId, taskIds)
-                            .eq(Task::getDueTime, today));
-                } else if (key.endsWith("d")) {
-                    int d = Integer.parseInt(key.substring(0, key.length() - 1));
-                    count = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                            .in(Task::getTaskId, taskIds)
-                            .between(Task::getDueTime, today, today.plusDays(d)));
+                if (spans[k] >= 0) maxDays = Math.max(maxDays, spans[k] + 1);
+            }
+            DueHistogramDto hist = statisticsService.dueHistogramOfUser(cu.getUserId(), "subs".equalsIgnoreCase(scope), maxDays, needOverdue);
+            // 前缀和：upTo[i] 为截止日在 [today, today + i] 内的数量
+            int[] daily = hist.getDaily();
+            int[] upTo = new int[daily.length];
+            for (int i = 0, acc = 0; i < daily.length; i++) {
+                acc += daily[i];
+                upTo[i] = acc;
+            }
+            List<ExpirationForecastResponse.Bucket> items = new ArrayList<>(arr.length);
+            for (int k = 0; k < arr.length; k++) {
+                String key = arr[k].trim();
+                int count = 0;
+                if ("overdue".equalsIgnoreCase(key)) {
+                    count = hist.getOverdue();
+                } else if (spans[k] >= 0 && spans[k] < upTo.length) {
+                    count = upTo[spans[k]];
                 }
+                items.add(new ExpirationForecastResponse.Bucket(key, count));
             }
-            items.add(new ExpirationForecastResponse.Bucket(key, count));
-        }
-        return R.success(new ExpirationForecastResponse(items), "查询成功");
+            return new ExpirationForecastResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/overdue")
@@ -711,24 +678,27 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         LocalDate start = from == null ? LocalDate.now().minusDays(6) : LocalDate.parse(from.trim());
         LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
-        Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-        List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
-                taskService.list(new LambdaQueryWrapper<Task>()
-                        .in(Task::getTaskId, taskIds)
-                        .isNotNull(Task::getDueTime)
-                        .between(Task::getDueTime, start, end)
-                        .in(Task::getTaskStatus, Arrays.asList(TaskStatusEnum.NOT_STARTED.getCode(), TaskStatusEnum.IN_PROGRESS.getCode())));
-        int total = 0, moderate = 0, severe = 0;
-        LocalDate today = LocalDate.now();
-        for (Task t : tasks) {
-            if (t == null || t.getDueTime() == null) continue;
-            if (t.getDueTime().isBefore(today)) {
-                long days = ChronoUnit.DAYS.between(t.getDueTime(), today);
-                total++;
-                if (days <= 3) moderate++; else severe++;
+        OverdueCountResponse data = statsCacheService.getOfUser("me.overdue", cu.getUserId(), LocalDate.now() + "|" + start + "|" + end, () -> {
+            Set<String> taskIds = taskIdsOfUser(cu.getUserId());
+            List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
+                    taskService.list(new LambdaQueryWrapper<Task>()
+                            .in(Task::getTaskId, taskIds)
+                            .isNotNull(Task::getDueTime)
+                            .between(Task::getDueTime, start, end)
+                            .in(Task::getTaskStatus, Arrays.asList(TaskStatusEnum.NOT_STARTED.getCode(), TaskStatusEnum.IN_PROGRESS.getCode())));
+            int total = 0, moderate = 0, severe = 0;
+            LocalDate today = LocalDate.now();
+            for (Task t : tasks) {
+                if (t == null || t.getDueTime() == null) continue;
+                if (t.getDueTime().isBefore(today)) {
+                    long days = ChronoUnit.DAYS.between(t.getDueTime(), today);
+                    total++;
+                    if (days <= 3) moderate++; else severe++;
+                }
             }
-        }
-        return R.success(new OverdueCountResponse(total, moderate, severe), "查询成功");
+            return new OverdueCountResponse(total, moderate, severe);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/me/mttr")
@@ -739,7 +709,8 @@ public class StatisticsController {
      * 权限：需 JWT 鉴权，且仅本人
      *
      * 行为：
-     * - 统计区间内任务`startTime→finishTime`的平均耗时（小时）
+     * - 统计区间内任务`startTime→finishTime`的平均耗时（小时，精确到秒）
+     * - 与`/me/cycle-time`同口径，分位数见该接口
      *
      * 返回：`R<MttrResponse>`
      * - `averageHours`：平均小时数
@@ -755,27 +726,75 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         LocalDate start = from == null ? LocalDate.now().minusDays(29) : LocalDate.parse(from.trim());
         LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
-        Set<String> taskIds = taskIdsOfUser(cu.getUserId());
-        List<Task> tasks = taskIds.isEmpty() ? Collections.emptyList() :
-                taskService.list(new LambdaQueryWrapper<Task>()
-                        .in(Task::getTaskId, taskIds)
-                        .isNotNull(Task::getStartTime)
-                        .isNotNull(Task::getFinishTime)
-                        .between(Task::getFinishTime, start, end));
-        long totalHours = 0;
-        int sample = 0;
-        for (Task t : tasks) {
-            if (t.getStartTime() == null || t.getFinishTime() == null) continue;
-            LocalDateTime startDt = t.getStartTime().atStartOfDay();
-            LocalDateTime finishDt = t.getFinishTime().atStartOfDay();
-            long hours = ChronoUnit.HOURS.between(startDt, finishDt);
-            if (hours >= 0) {
-                totalHours += hours;
-                sample++;
-            }
-        }
-        double avg = sample <= 0 ? 0.0 : (double) totalHours / (double) sample;
-        return R.success(new MttrResponse(avg, sample), "查询成功");
+        CycleTimeResponse cycleTime = cycleTimeOfUser(cu.getUserId(), start, end);
+        return R.success(new MttrResponse(cycleTime.getMeanHours(), (int) cycleTime.getSampleSize()), "查询成功");
+    }
+
+    @GetMapping("/me/cycle-time")
+    /**
+     * 周期时间分位数（个人）
+     *
+     * 接口：GET `/api/stats/me/cycle-time?from=YYYY-MM-DD&to=YYYY-MM-DD`
+     * 权限：需 JWT 鉴权，且仅本人
+     *
+     * 请求参数：
+     * - `from,to`：完成日期区间（含端点，默认近 30 天）
+     *
+     * 行为：
+     * - 统计完成时间落在区间内的相关任务（不限当前状态，与 MTTR 同口径）`startTime→finishTime`耗时（小时）的均值与 p50/p75/p90/p99
+     * - 已汇总日期合并逐日持久化的分位数草图，仅未汇总日期流式读取任务耗时；分位数相对误差约 1%
+     *
+     * 返回：`R<CycleTimeResponse>`
+     *
+     * 异常/失败：
+     * - 401：未认证
+     */
+    public R<CycleTimeResponse> getMyCycleTime(HttpServletRequest request,
+                                               @RequestParam(value = "from", required = false) String from,
+                                               @RequestParam(value = "to", required = false) String to) {
+        var cu = CommonUtil.getCurrentUser(request);
+        if (cu == null) return R.unauthorized("未能识别当前用户");
+        LocalDate start = from == null ? LocalDate.now().minusDays(29) : LocalDate.parse(from.trim());
+        LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
+        return R.success(cycleTimeOfUser(cu.getUserId(), start, end), "查询成功");
+    }
+
+    @GetMapping("/teams/{teamId}/cycle-time")
+    /**
+     * 周期时间分位数（团队）
+     *
+     * 接口：GET `/api/stats/teams/{teamId}/cycle-time?from=YYYY-MM-DD&to=YYYY-MM-DD`
+     * 权限：需为团队正常成员
+     *
+     * 请求参数：
+     * - `from,to`：完成日期区间（含端点，默认近 30 天）
+     *
+     * 行为：
+     * - 统计完成时间落在区间内的团队任务（不限当前状态）`startTime→finishTime`耗时（小时）的均值与 p50/p75/p90/p99
+     * - 已汇总日期合并逐日持久化的分位数草图，仅未汇总日期流式读取任务耗时；分位数相对误差约 1%
+     *
+     * 返回：`R<CycleTimeResponse>`
+     *
+     * 异常/失败：
+     * - 401：未认证
+     * - 403：非团队成员
+     *
+     * @param teamId 团队ID
+     */
+    public R<CycleTimeResponse> getTeamCycleTime(HttpServletRequest request,
+                                                 @org.springframework.web.bind.annotation.PathVariable("teamId") String teamId,
+                                                 @RequestParam(value = "from", required = false) String from,
+                                                 @RequestParam(value = "to", required = false) String to) {
+        var cu = CommonUtil.getCurrentUser(request);
+        if (cu == null) return R.unauthorized("未能识别当前用户");
+        String tid = CommonUtil.trim(teamId);
+        if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
+        LocalDate start = from == null ? LocalDate.now().minusDays(29) : LocalDate.parse(from.trim());
+        LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
+        CycleTimeResponse data = statsCacheService.getOfTeam("team.cycle-time", tid, start + "|" + end,
+                () -> toCycleTimeResponse(statisticsService.cycleTimeOfTeam(tid, start, end)));
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/overview")
@@ -804,60 +823,41 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
-        List<Task> tasks = taskService.list(new LambdaQueryWrapper<Task>().eq(Task::getTeamId, tid));
-        int total = tasks == null ? 0 : tasks.size();
-        int inProgress = 0, completed = 0, overdue = 0;
-        LocalDate today = LocalDate.now();
-        Map<Integer, Integer> statusCounter = new HashMap<>();
-        Map<Integer, Integer> priorityCounter = new HashMap<>();
-        if (tasks != null) {
-            for (Task t : tasks) {
-                if (t == null) continue;
-                Integer s = t.getTaskStatus();
-                Integer p = t.getTaskPriority();
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
+        TeamOverviewResponse data = statsCacheService.getOfTeam("team.overview", tid, LocalDate.now().toString(), () -> {
+            int total = 0, inProgress = 0, completed = 0, overdue = 0;
+            Map<Integer, Integer> statusCounter = new TreeMap<>();
+            Map<Integer, Integer> priorityCounter = new TreeMap<>();
+            for (StatusPriorityCountDto row : statisticsService.statusPriorityCountsOfTeam(tid, false)) {
+                int c = row.getStatCount() == null ? 0 : row.getStatCount().intValue();
+                Integer s = row.getTaskStatus();
+                Integer p = row.getTaskPriority();
+                total += c;
+                overdue += row.getOverdueCount() == null ? 0 : row.getOverdueCount().intValue();
                 if (s != null) {
-                    statusCounter.put(s, statusCounter.getOrDefault(s, 0) + 1);
-                    if (TaskStatusEnum.IN_PROGRESS.getCode().equals(s)) inProgress++;
-                    if (TaskStatusEnum.COMPLETED.getCode().equals(s)) completed++;
-                    if ((TaskStatusEnum.NOT_STARTED.getCode().equals(s) || TaskStatusEnum.IN_PROGRESS.getCode().equals(s))
-                            && t.getDueTime() != null && t.getDueTime().isBefore(today)) overdue++;
+                    statusCounter.merge(s, c, Integer::sum);
+                    if (TaskStatusEnum.IN_PROGRESS.getCode().equals(s)) inProgress += c;
+                    if (TaskStatusEnum.COMPLETED.getCode().equals(s)) completed += c;
                 }
-                if (p != null) priorityCounter.put(p, priorityCounter.getOrDefault(p, 0) + 1);
-            }
-        }
-        List<StatusDistributionResponse.Bucket> statusBuckets = new ArrayList<>();
-        for (Map.Entry<Integer, Integer> e : statusCounter.entrySet()) {
-            String name = null;
-            for (TaskStatusEnum en : TaskStatusEnum.values()) {
-                if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
-            }
-            statusBuckets.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
-        }
-        List<PriorityDistributionResponse.Bucket> priorityBuckets = new ArrayList<>();
-        for (Map.Entry<Integer, Integer> e : priorityCounter.entrySet()) {
-            String name = null;
-            for (TaskPriorityEnum en : TaskPriorityEnum.values()) {
-                if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+                if (p != null) priorityCounter.merge(p, c, Integer::sum);
             }
-            priorityBuckets.add(new PriorityDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
-        }
-        return R.success(new TeamOverviewResponse(total, inProgress, completed, overdue, statusBuckets, priorityBuckets), "查询成功");
+            List<StatusDistributionResponse.Bucket> statusBuckets = toStatusBuckets(statusCounter);
+            List<PriorityDistributionResponse.Bucket> priorityBuckets = toPriorityBuckets(priorityCounter);
+            return new TeamOverviewResponse(total, inProgress, completed, overdue, statusBuckets, priorityBuckets);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/distribution")
     /**
      * 团队任务分布（状态/优先级）
      *
-     * 接口：GET `/api/stats/teams/{teamId}/distribution?by=status|priority`
+     * 接口：GET `/api/stats/teams/{teamId}/distribution?by=status|priority&scope=tasks|subs`
      * 权限：需为团队正常成员
      *
      * 请求参数：
      * - `by`：分布维度（`status`或`priority`）
+     * - `scope`：任务或子任务（子任务的优先级取父任务优先级）
      *
      * 返回：
      * - `by=status` → `R<StatusDistributionResponse>`
@@ -869,48 +869,27 @@ public class StatisticsController {
      */
     public R<?> getTeamDistribution(HttpServletRequest request,
                                     @org.springframework.web.bind.annotation.PathVariable("teamId") String teamId,
-                                    @RequestParam(value = "by", required = false) String by) {
+                                    @RequestParam(value = "by", required = false) String by,
+                                    @RequestParam(value = "scope", required = false) String scope) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
-        List<Task> tasks = taskService.list(new LambdaQueryWrapper<Task>().eq(Task::getTeamId, tid));
-        if ("priority".equalsIgnoreCase(by)) {
-            Map<Integer, Integer> counter = new HashMap<>();
-            for (Task t : tasks) {
-                Integer p = (t == null) ? null : t.getTaskPriority();
-                if (p != null) counter.put(p, counter.getOrDefault(p, 0) + 1);
-            }
-            List<PriorityDistributionResponse.Bucket> items = new ArrayList<>();
-            for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
-                String name = null;
-                for (TaskPriorityEnum en : TaskPriorityEnum.values()) {
-                    if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
-                }
-                items.add(new PriorityDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
+        boolean byPriority = "priority".equalsIgnoreCase(by);
+        boolean subs = "subs".equalsIgnoreCase(scope);
+        Object data = statsCacheService.getOfTeam("team.distribution", tid, LocalDate.now() + "|" + byPriority + "|" + subs, () -> {
+            Map<Integer, Integer> counter = new TreeMap<>();
+            for (StatusPriorityCountDto row : statisticsService.statusPriorityCountsOfTeam(tid, subs)) {
+                Integer key = byPriority ? row.getTaskPriority() : row.getTaskStatus();
+                if (key != null) counter.merge(key, row.getStatCount() == null ? 0 : row.getStatCount().intValue(), Integer::sum);
             }
-            return R.success(new PriorityDistributionResponse(items), "查询成功");
-        } else {
-            Map<Integer, Integer> counter = new HashMap<>();
-            for (Task t : tasks) {
-                Integer s = (t == null) ? null : t.getTaskStatus();
-                if (s != null) counter.put(s, counter.getOrDefault(s, 0) + 1);
+            if (byPriority) {
+                return new PriorityDistributionResponse(toPriorityBuckets(counter));
             }
-            List<StatusDistributionResponse.Bucket> items = new ArrayList<>();
-            for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
-                String name = null;
-                for (TaskStatusEnum en : TaskStatusEnum.values()) {
-                    if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
-                }
-                items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
-            }
-            return R.success(new StatusDistributionResponse(items), "查询成功");
-        }
+            return new StatusDistributionResponse(toStatusBuckets(counter));
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/workload")
@@ -921,10 +900,10 @@ public class StatisticsController {
      * 权限：需为团队正常成员
      *
      * 请求参数：
-     * - `scope`：统计范围（进行中|全部）
+     * - `scope`：统计范围（`in_progress`=仅统计进行中任务，`total` 恒为 0；其他/缺省=同时统计进行中与全部）
      *
      * 返回：`R<TeamWorkloadResponse>`
-     * - `items`：成员维度的`inProgress/total`
+     * - `items`：成员维度的`inProgress/total`（按团队内关联任务去重计数，单条分组查询完成）
      *
      * 异常/失败：
      * - 401：未认证
@@ -940,35 +919,32 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
-                .eq(TeamUserRelation::getTeamId, tid)
-                .eq(TeamUserRelation::getUserId, cu.getUserId())
-                .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
-        List<TeamUserRelation> members = teamUserRelationService.list(new LambdaQueryWrapper<TeamUserRelation>()
-                .eq(TeamUserRelation::getTeamId, tid)
-                .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
-        Set<String> memberIds = new HashSet<>();
-        for (var r : members) if (r.getUserId() != null) memberIds.add(r.getUserId());
-        List<TeamWorkloadResponse.MemberWorkload> items = new ArrayList<>();
-        for (String uid : memberIds) {
-            int inProgress = 0;
-            int total = 0;
-            Set<String> taskIds = taskIdsOfUser(uid);
-            if (!taskIds.isEmpty()) {
-                inProgress = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                        .eq(Task::getTeamId, tid)
-                        .eq(Task::getTaskStatus, TaskStatusEnum.IN_PROGRESS.getCode())
-                        .in(Task::getTaskId, taskIds));
-                total = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                        .eq(Task::getTeamId, tid)
-                        .in(Task::getTaskId, taskIds));
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
+        TeamWorkloadResponse data = statsCacheService.getOfTeam("team.workload", tid, "in_progress".equalsIgnoreCase(CommonUtil.trim(scope)) ? "in_progress" : "all", () -> {
+            List<TeamUserRelation> members = teamUserRelationService.list(new LambdaQueryWrapper<TeamUserRelation>()
+                    .eq(TeamUserRelation::getTeamId, tid)
+                    .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
+            Set<String> memberIds = new LinkedHashSet<>();
+            for (var r : members) if (r.getUserId() != null) memberIds.add(r.getUserId());
+            boolean inProgressOnly = "in_progress".equalsIgnoreCase(CommonUtil.trim(scope));
+            // 一次分组查询得到全部成员计数，一次批量查询得到成员姓名
+            Map<String, MemberWorkloadDto> workload = statisticsService.workloadOfTeamMembers(tid, memberIds, inProgressOnly);
+            Map<String, String> userNames = new HashMap<>();
+            if (!memberIds.isEmpty()) {
+                for (var u : userService.listByIds(memberIds)) {
+                    if (u != null) userNames.put(u.getUserId(), u.getUserName());
+                }
             }
-            var u = userService.getById(uid);
-            items.add(new TeamWorkloadResponse.MemberWorkload(uid, u == null ? null : u.getUserName(),
-                    "in_progress".equalsIgnoreCase(scope) ? inProgress : inProgress, "in_progress".equalsIgnoreCase(scope) ? 0 : total));
-        }
-        return R.success(new TeamWorkloadResponse(items), "查询成功");
+            List<TeamWorkloadResponse.MemberWorkload> items = new ArrayList<>();
+            for (String uid : memberIds) {
+                MemberWorkloadDto w = workload.get(uid);
+                int inProgress = w == null || w.getInProgressCount() == null ? 0 : w.getInProgressCount().intValue();
+                int total = inProgressOnly || w == null || w.getTotalCount() == null ? 0 : w.getTotalCount().intValue();
+                items.add(new TeamWorkloadResponse.MemberWorkload(uid, userNames.get(uid), inProgress, total));
+            }
+            return new TeamWorkloadResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/burndown")
@@ -983,6 +959,8 @@ public class StatisticsController {
      *
      * 行为：
      * - 按日返回剩余与新增完成数量
+     * - `remaining`：当日结束时未完成的任务数；`completed`：完成时间落在当日的任务数
+     * - 两条分组查询 + 前缀和计算，开销与区间天数基本无关
      *
      * 返回：`R<BurndownResponse>`
      *
@@ -998,42 +976,33 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
         LocalDate start = from == null ? LocalDate.now().minusDays(6) : LocalDate.parse(from.trim());
         LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
-        List<BurndownResponse.DayBurn> items = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            int completed = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .eq(Task::getTeamId, tid)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode())
-                    .eq(Task::getFinishTime, d));
-            int createdBefore = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .eq(Task::getTeamId, tid)
-                    .le(Task::getCreateTime, d.atStartOfDay()));
-            int completedBefore = (int) taskService.count(new LambdaQueryWrapper<Task>()
-                    .eq(Task::getTeamId, tid)
-                    .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode())
-                    .le(Task::getFinishTime, d));
-            int remaining = Math.max(0, createdBefore - completedBefore);
-            items.add(new BurndownResponse.DayBurn(d.toString(), remaining, completed));
-        }
-        return R.success(new BurndownResponse(items), "查询成功");
+        BurndownResponse data = statsCacheService.getOfTeam("team.burndown", tid, start + "|" + end, () -> {
+            BurndownSeriesDto series = statisticsService.burndownOfTeam(tid, start, end);
+            List<BurndownResponse.DayBurn> items = new ArrayList<>();
+            for (int i = 0; i < series.getRemaining().length; i++) {
+                items.add(new BurndownResponse.DayBurn(start.plusDays(i).toString(), series.getRemaining()[i], series.getCompleted()[i]));
+            }
+            return new BurndownResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/overdue")
     /**
      * 团队逾期统计（总量、按成员、按任务族）
      *
-     * 接口：GET `/api/stats/teams/{teamId}/overdue?from=YYYY-MM-DD&to=YYYY-MM-DD`
+     * 接口：GET `/api/stats/teams/{teamId}/overdue?from=YYYY-MM-DD&to=YYYY-MM-DD&limit=N`
      * 权限：需为团队正常成员
      *
+     * 请求参数：
+     * - `limit`：成员/任务族维度各仅返回逾期数最多的前 N 项（可选，默认全部）
+     *
      * 行为：
-     * - 统计区间内逾期任务总量
-     * - 聚合成员维度与任务族维度的逾期分布
+     * - 统计区间内逾期任务总量（不受`limit`影响）
+     * - 聚合成员维度与任务族维度的逾期分布，按逾期数降序
      *
      * 返回：`R<TeamOverdueResponse>`
      *
@@ -1044,53 +1013,54 @@ public class StatisticsController {
     public R<TeamOverdueResponse> getTeamOverdue(HttpServletRequest request,
                                                  @org.springframework.web.bind.annotation.PathVariable("teamId") String teamId,
                                                  @RequestParam(value = "from", required = false) String from,
-                                                 @RequestParam(value = "to", required = false) String to) {
+                                                 @RequestParam(value = "to", required = false) String to,
+                                                 @RequestParam(value = "limit", required = false) Integer limit) {
         var cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
         LocalDate start = from == null ? LocalDate.now().minusDays(29) : LocalDate.parse(from.trim());
         LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to.trim());
-        List<Task> tasks = taskService.list(new LambdaQueryWrapper<Task>()
-                .eq(Task::getTeamId, tid)
-                .isNotNull(Task::getDueTime)
-                .between(Task::getDueTime, start, end)
-                .in(Task::getTaskStatus, Arrays.asList(TaskStatusEnum.NOT_STARTED.getCode(), TaskStatusEnum.IN_PROGRESS.getCode())));
-        LocalDate today = LocalDate.now();
-        int total = 0;
-        Map<String, Integer> byMember = new HashMap<>();
-        Map<String, Integer> byGroup = new HashMap<>();
-        for (Task t : tasks) {
-            if (t == null || t.getDueTime() == null) continue;
-            if (t.getDueTime().isBefore(today)) {
-                total++;
-                List<TaskUserRelation> rels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>()
-                        .eq(TaskUserRelation::getTaskId, t.getTaskId()));
-                for (TaskUserRelation r : rels) {
-                    if (r != null && r.getUserId() != null) {
-                        byMember.put(r.getUserId(), byMember.getOrDefault(r.getUserId(), 0) + 1);
-                    }
+        Integer topN = (limit == null || limit <= 0) ? null : limit;
+        TeamOverdueResponse data = statsCacheService.getOfTeam("team.overdue", tid, LocalDate.now() + "|" + start + "|" + end + "|" + topN, () -> {
+            // 任务族分组之和即总量；成员维度单条 JOIN 分组，名称批量查询
+            List<KeyCountDto> groupRows = statisticsService.overdueByGroupOfTeam(tid, start, end);
+            List<KeyCountDto> memberRows = statisticsService.overdueByMemberOfTeam(tid, start, end, topN);
+            int total = 0;
+            Set<String> groupIds = new HashSet<>();
+            for (KeyCountDto row : groupRows) {
+                total += row.getStatCount() == null ? 0 : row.getStatCount().intValue();
+                if (row.getStatKey() != null && (topN == null || groupIds.size() < topN)) groupIds.add(row.getStatKey());
+            }
+            Set<String> userIds = memberRows.stream().map(KeyCountDto::getStatKey).filter(Objects::nonNull).collect(Collectors.toSet());
+            Map<String, String> userNames = new HashMap<>();
+            if (!userIds.isEmpty()) {
+                for (User u : userService.listByIds(userIds)) {
+                    if (u != null) userNames.put(u.getUserId(), u.getUserName());
                 }
-                String gid = t.getTaskGroupId();
-                if (gid != null) byGroup.put(gid, byGroup.getOrDefault(gid, 0) + 1);
             }
-        }
-        List<TeamOverdueResponse.MemberBucket> memberBuckets = new ArrayList<>();
-        for (Map.Entry<String, Integer> e : byMember.entrySet()) {
-            var u = userService.getById(e.getKey());
-            memberBuckets.add(new TeamOverdueResponse.MemberBucket(e.getKey(), u == null ? null : u.getUserName(), e.getValue()));
-        }
-        List<TeamOverdueResponse.TaskGroupBucket> groupBuckets = new ArrayList<>();
-        for (Map.Entry<String, Integer> e : byGroup.entrySet()) {
-            var g = taskGroupService.getById(e.getKey());
-            groupBuckets.add(new TeamOverdueResponse.TaskGroupBucket(e.getKey(), g == null ? null : g.getGroupName(), e.getValue()));
-        }
-        return R.success(new TeamOverdueResponse(total, memberBuckets, groupBuckets), "查询成功");
+            Map<String, String> groupNames = new HashMap<>();
+            if (!groupIds.isEmpty()) {
+                for (TaskGroup g : taskGroupService.listByIds(groupIds)) {
+                    if (g != null) groupNames.put(g.getTaskGroupId(), g.getGroupName());
+                }
+            }
+            List<TeamOverdueResponse.MemberBucket> memberBuckets = new ArrayList<>();
+            for (KeyCountDto row : memberRows) {
+                if (row.getStatKey() == null) continue;
+                memberBuckets.add(new TeamOverdueResponse.MemberBucket(row.getStatKey(), userNames.get(row.getStatKey()),
+                        row.getStatCount() == null ? 0 : row.getStatCount().intValue()));
+            }
+            List<TeamOverdueResponse.TaskGroupBucket> groupBuckets = new ArrayList<>();
+            for (KeyCountDto row : groupRows) {
+                if (row.getStatKey() == null || !groupIds.contains(row.getStatKey())) continue;
+                groupBuckets.add(new TeamOverdueResponse.TaskGroupBucket(row.getStatKey(), groupNames.get(row.getStatKey()),
+                        row.getStatCount() == null ? 0 : row.getStatCount().intValue()));
+            }
+            return new TeamOverdueResponse(total, memberBuckets, groupBuckets);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/trend/activity")
@@ -1102,6 +1072,7 @@ public class StatisticsController {
      *
      * 行为：
      * - 基于`task_audit`统计团队每日操作事件数量
+     * - 历史日期读取`stat_team_daily`日汇总，仅未汇总日期实时计算
      *
      * 返回：`R<ActivityTrendResponse>`
      *
@@ -1119,11 +1090,7 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
         LocalDate today = LocalDate.now();
         LocalDate start;
         LocalDate end;
@@ -1134,16 +1101,15 @@ public class StatisticsController {
             start = today.minusDays(6);
             end = today;
         }
-        Set<String> teamTaskIds = taskService.list(new LambdaQueryWrapper<Task>().eq(Task::getTeamId, tid))
-                .stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
-        List<ActivityTrendResponse.DayActivity> items = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            int count = teamTaskIds.isEmpty() ? 0 : (int) taskAuditService.count(new LambdaQueryWrapper<TaskAudit>()
-                    .in(TaskAudit::getTaskId, teamTaskIds)
-                    .between(TaskAudit::getCreateTime, d.atStartOfDay(), d.plusDays(1).atStartOfDay()));
-            items.add(new ActivityTrendResponse.DayActivity(d.toString(), count));
-        }
-        return R.success(new ActivityTrendResponse(items), "查询成功");
+        ActivityTrendResponse data = statsCacheService.getOfTeam("team.trend.activity", tid, start + "|" + end, () -> {
+            int[] counts = statisticsService.dailyActivityOfTeam(tid, start, end);
+            List<ActivityTrendResponse.DayActivity> items = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                items.add(new ActivityTrendResponse.DayActivity(start.plusDays(i).toString(), counts[i]));
+            }
+            return new ActivityTrendResponse(items);
+        });
+        return R.success(data, "查询成功");
     }
 
     @GetMapping("/teams/{teamId}/graph/summary")
@@ -1156,6 +1122,7 @@ public class StatisticsController {
      * 行为：
      * - 统计团队任务图谱的节点/边数量与类型分布
      * - 边集合通过团队节点集合的`source/target`归属推断
+     * - 同时返回是否无环与关键路径长度（由 TaskGraphService 缓存的邻接表计算，节点/边写入后失效）
      *
      * 返回：`R<GraphSummaryResponse>`
      *
@@ -1171,49 +1138,130 @@ public class StatisticsController {
         if (cu == null) return R.unauthorized("未能识别当前用户");
         String tid = CommonUtil.trim(teamId);
         if (tid == null || tid.isEmpty()) return R.fail("缺少团队ID");
-        var rel = teamUserRelationService.getOne(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TeamUserRelation>()
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getTeamId, tid)
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserId, cu.getUserId())
-                .eq(top.smartduck.ducktodo.model.entity.TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
-        if (rel == null) return R.fail("无权查看该团队统计");
-        Map<String, Integer> nodeTypes = new HashMap<>();
-        Map<String, Integer> edgeTypes = new HashMap<>();
-        List<top.smartduck.ducktodo.model.entity.TaskNode> nodes = taskNodeService.list(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TaskNode>().eq(top.smartduck.ducktodo.model.entity.TaskNode::getTeamId, tid));
-        for (var n : nodes) {
-            String t = n.getNodeType();
-            if (t != null) nodeTypes.put(t, nodeTypes.getOrDefault(t, 0) + 1);
-        }
-        int nodeCount = nodes == null ? 0 : nodes.size();
-        Set<String> nodeIds = nodes == null ? Collections.emptySet() : nodes.stream().map(top.smartduck.ducktodo.model.entity.TaskNode::getTaskNodeId).filter(Objects::nonNull).collect(Collectors.toSet());
-        List<top.smartduck.ducktodo.model.entity.TaskEdge> edges = nodeIds.isEmpty() ? Collections.emptyList() :
-                taskEdgeService.list(new LambdaQueryWrapper<top.smartduck.ducktodo.model.entity.TaskEdge>()
-                        .in(top.smartduck.ducktodo.model.entity.TaskEdge::getSourceNodeId, nodeIds)
-                        .or().in(top.smartduck.ducktodo.model.entity.TaskEdge::getTargetNodeId, nodeIds));
-        int edgeCount = edges == null ? 0 : edges.size();
-        for (var e : edges) {
-            String t = e.getEdgeType();
-            if (t != null) edgeTypes.put(t, edgeTypes.getOrDefault(t, 0) + 1);
-        }
+        if (!isActiveMember(tid, cu.getUserId())) return R.fail("无权查看该团队统计");
+        TaskGraphSummaryDto summary = taskGraphService.summarize(tid);
         List<GraphSummaryResponse.NodeTypeBucket> nodeBuckets = new ArrayList<>();
-        for (Map.Entry<String, Integer> e : nodeTypes.entrySet()) {
+        for (Map.Entry<String, Integer> e : summary.getNodeTypeCounts().entrySet()) {
             nodeBuckets.add(new GraphSummaryResponse.NodeTypeBucket(e.getKey(), e.getValue()));
         }
         List<GraphSummaryResponse.EdgeTypeBucket> edgeBuckets = new ArrayList<>();
-        for (Map.Entry<String, Integer> e : edgeTypes.entrySet()) {
+        for (Map.Entry<String, Integer> e : summary.getEdgeTypeCounts().entrySet()) {
             edgeBuckets.add(new GraphSummaryResponse.EdgeTypeBucket(e.getKey(), e.getValue()));
         }
-        return R.success(new GraphSummaryResponse(nodeCount, edgeCount, nodeBuckets, edgeBuckets), "查询成功");
+        return R.success(new GraphSummaryResponse(summary.getNodeCount(), summary.getEdgeCount(), nodeBuckets, edgeBuckets,
+                summary.isAcyclic(), summary.getCriticalPathLength()), "查询成功");
     }
 
-    private int completedCountBetween(String userId, LocalDate start, LocalDate end) {
-        List<TaskUserRelation> myRels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>()
-                .eq(TaskUserRelation::getUserId, userId));
-        Set<String> taskIds = myRels.stream().map(TaskUserRelation::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
-        if (taskIds.isEmpty()) return 0;
-        return (int) taskService.count(new LambdaQueryWrapper<Task>()
-                .in(Task::getTaskId, taskIds)
-                .eq(Task::getTaskStatus, TaskStatusEnum.COMPLETED.getCode())
-                .between(Task::getFinishTime, start, end));
+    @GetMapping("/system/metrics")
+    /**
+     * 运行指标
+     *
+     * 接口：GET `/api/stats/system/metrics`
+     * 权限：需 JWT 鉴权，且当前用户在 `stats.metrics.admin-user-ids` 中
+     *
+     * 行为：
+     * - 返回审计异步写入器的队列与写入指标（auditWriter）
+     * - 返回统计结果缓存的命中与失效指标（statsCache）
+     *
+     * 返回：`R<Map<String, Object>>`
+     *
+     * 异常/失败：
+     * - 401：未认证
+     * - 403：非运行指标管理员
+     */
+    public R<Map<String, Object>> getSystemMetrics(HttpServletRequest request) {
+        var cu = CommonUtil.getCurrentUser(request);
+        if (cu == null) return R.unauthorized("未能识别当前用户");
+        if (!isMetricsAdmin(cu.getUserId())) return R.fail("无权查看运行指标");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("auditWriter", taskAuditWriter.metrics());
+        data.put("statsCache", statsCacheService.metrics());
+        return R.success(data, "查询成功");
+    }
+
+    private boolean isMetricsAdmin(String userId) {
+        if (userId == null || metricsAdminUserIds == null) return false;
+        for (String id : metricsAdminUserIds.split(",")) {
+            if (userId.equals(id.trim())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 个人概览（7 个 `/me/overview*` 接口共用同一缓存条目）
+     */
+    private MyOverviewResponse overviewOf(String userId) {
+        return statsCacheService.getOfUser("me.overview", userId, LocalDate.now().toString(),
+                () -> toOverviewResponse(statisticsService.overviewOfUser(userId)));
+    }
+
+    /**
+     * 个人周期时间（`/me/cycle-time` 与 `/me/mttr` 共用同一缓存条目）
+     */
+    private CycleTimeResponse cycleTimeOfUser(String userId, LocalDate start, LocalDate end) {
+        return statsCacheService.getOfUser("me.cycle-time", userId, start + "|" + end,
+                () -> toCycleTimeResponse(statisticsService.cycleTimeOfUser(userId, start, end)));
+    }
+
+    /**
+     * 当前用户是否为团队的正常成员；结果按团队缓存，成员变更时由 TeamController 失效
+     */
+    private boolean isActiveMember(String teamId, String userId) {
+        return statsCacheService.getOfTeam("team.member", teamId, userId,
+                () -> teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
+                        .eq(TeamUserRelation::getTeamId, teamId)
+                        .eq(TeamUserRelation::getUserId, userId)
+                        .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false) != null);
+    }
+
+    /**
+     * 差分标记：截止日在 [today, today + n) 内的任务使第 0 天至截止日的计数 +1
+     */
+    private static void markLoad(int[] diff, LocalDate today, LocalDate dueTime, int n) {
+        if (dueTime == null) return;
+        long offset = ChronoUnit.DAYS.between(today, dueTime);
+        if (offset < 0) return;
+        diff[0]++;
+        diff[(int) Math.min(offset, n - 1) + 1]--;
+    }
+
+    private static List<StatusDistributionResponse.Bucket> toStatusBuckets(Map<Integer, Integer> counter) {
+        List<StatusDistributionResponse.Bucket> items = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
+            String name = null;
+            for (TaskStatusEnum en : TaskStatusEnum.values()) {
+                if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+            }
+            items.add(new StatusDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
+        }
+        return items;
+    }
+
+    private static List<PriorityDistributionResponse.Bucket> toPriorityBuckets(Map<Integer, Integer> counter) {
+        List<PriorityDistributionResponse.Bucket> items = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> e : counter.entrySet()) {
+            String name = null;
+            for (TaskPriorityEnum en : TaskPriorityEnum.values()) {
+                if (en.getCode().equals(e.getKey())) { name = en.getDesc(); break; }
+            }
+            items.add(new PriorityDistributionResponse.Bucket(e.getKey(), name, e.getValue()));
+        }
+        return items;
+    }
+
+    private static CycleTimeResponse toCycleTimeResponse(QuantileSketch sketch) {
+        return new CycleTimeResponse(sketch.count(), sketch.mean(),
+                sketch.quantile(0.50), sketch.quantile(0.75), sketch.quantile(0.90), sketch.quantile(0.99));
+    }
+
+    private static MyOverviewResponse toOverviewResponse(UserOverviewDto o) {
+        return new MyOverviewResponse(
+                new JoinedCountResponse(o.getTeamCount(), o.getTaskGroupCount()),
+                new InProgressCountResponse(o.getTasksInProgress(), o.getChildTasksInProgress()),
+                new CompletedCountResponse(o.getCompletedWeek()),
+                new CompletedCountResponse(o.getCompletedMonth()),
+                new CompletedCountResponse(o.getCompletedTotal()),
+                new OverdueCountResponse(o.getOverdueTotal(), o.getOverdueModerate(), o.getOverdueSevere()));
     }
 
     private Set<String> taskIdsOfUser(String userId) {
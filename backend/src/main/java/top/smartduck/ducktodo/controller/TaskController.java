@@ -3,6 +3,7 @@ package top.smartduck.ducktodo.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 import top.smartduck.ducktodo.aspect.TaskAuditLog;
 import top.smartduck.ducktodo.common.enums.*;
@@ -10,22 +11,35 @@ import top.smartduck.ducktodo.common.exception.BusinessException;
 import top.smartduck.ducktodo.common.result.R;
 import top.smartduck.ducktodo.model.entity.*;
 import top.smartduck.ducktodo.modelService.*;
+import top.smartduck.ducktodo.service.ObjectStorageGcService;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskGraphService;
 import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.multipart.MultipartFile;
 import top.smartduck.ducktodo.util.MinioUtil;
 import top.smartduck.ducktodo.util.CommonUtil;
+import top.smartduck.ducktodo.util.FanOut;
+import top.smartduck.ducktodo.util.LexoRank;
+import top.smartduck.ducktodo.util.SingleFlight;
+import top.smartduck.ducktodo.model.dto.TaskCursorDto;
+import top.smartduck.ducktodo.model.dto.TaskPageQueryDto;
 import top.smartduck.ducktodo.model.request.CreateTaskRequest;
+import top.smartduck.ducktodo.model.response.TaskCursorPageResponse;
 import top.smartduck.ducktodo.model.response.TaskDetailResponse;
 import top.smartduck.ducktodo.model.response.TaskSummaryResponse;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
@@ -77,6 +91,48 @@ public class TaskController {
     @Autowired
     private TaskEdgeService taskEdgeService;
 
+    @Autowired
+    private TaskGraphService taskGraphService;
+
+    @Autowired
+    private StatsCacheService statsCacheService;
+
+    @Autowired
+    private ObjectStorageGcService objectStorageGcService;
+
+    /**
+     * 任务族任务列表的请求合并：相同任务族与筛选条件的并发查询只执行一次
+     */
+    private final SingleFlight taskGroupListFlight = new SingleFlight();
+
+    /**
+     * 任务详情的关联查询是否在虚拟线程上并行执行（关闭时顺序执行）
+     */
+    @Value("${task.detail.parallel:true}")
+    private boolean detailParallel;
+
+    /**
+     * 任务详情关联查询的整体截止时间（毫秒），超时取消未完成的查询
+     */
+    @Value("${task.detail.timeout-ms:3000}")
+    private long detailTimeoutMs;
+
+    /**
+     * 全部任务详情请求同时在虚拟线程上执行的关联查询上限（每个查询占用一个数据库连接），须小于连接池上限
+     */
+    @Value("${task.detail.max-parallel-queries:4}")
+    private int detailMaxParallelQueries;
+
+    /**
+     * 任务详情并行查询许可，全部请求共享
+     */
+    private Semaphore detailQueryPermits;
+
+    @PostConstruct
+    void initDetailQueryPermits() {
+        detailQueryPermits = new Semaphore(Math.max(0, detailMaxParallelQueries));
+    }
+
     @Autowired
     private TaskAuditService taskAuditService;
 
@@ -103,6 +159,7 @@ public class TaskController {
      * - 建立当前用户为拥有者的 TaskUserRelation
      * - 批量建立协助者关系（若提供）
      * - 批量创建子任务（若提供）
+     * - 协助者与子任务均先校验后写入；关系与子任务各以一次批量插入写入（配合 JDBC `rewriteBatchedStatements=true` 合并为多行 INSERT）
      *
      * 返回：
      * - R<TaskDetailResponse>：包含任务详情、任务族名称、团队名称、协助者融合列表、子任务列表、附件空列表
@@ -158,13 +215,52 @@ public class TaskController {
             return R.fail("开始时间必须小于截止时间");
         }
 
-        // 3. 协助者校验
-        if(taskGroup.getTeamId().isEmpty() && !createTaskRequest.getHelperUserIdList().isEmpty()){
-            if(createTaskRequest.getHelperUserIdList().size() > 1 || !currentUser.getUserId().equals(createTaskRequest.getHelperUserIdList().getFirst())){
+        // 3. 协助者校验（去重后一次查询任务族成员，比对缺失者）
+        Set<String> helperUserIds = new LinkedHashSet<>();
+        if (createTaskRequest.getHelperUserIdList() != null) {
+            for (String userId : createTaskRequest.getHelperUserIdList()) {
+                String uid = CommonUtil.trim(userId);
+                if (uid != null && !uid.isEmpty()) helperUserIds.add(uid);
+            }
+        }
+        if (teamId == null || teamId.isEmpty()) {
+            if (helperUserIds.size() > 1 || (helperUserIds.size() == 1 && !helperUserIds.contains(currentUser.getUserId()))) {
                 return R.fail("私人任务族无法添加协助者");
             }
-        }else if(createTaskRequest.getHelperUserIdList().size() != taskGroupUserRelationService.count(new LambdaQueryWrapper<TaskGroupUserRelation>().eq(TaskGroupUserRelation::getTaskGroupId, taskGroupId).in(TaskGroupUserRelation::getUserId, createTaskRequest.getHelperUserIdList()))){
-            return R.fail("添加的协助者中存在非本团队的协助者");
+        } else if (!helperUserIds.isEmpty()) {
+            Set<String> memberIds = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
+                            .select(TaskGroupUserRelation::getUserId)
+                            .eq(TaskGroupUserRelation::getTaskGroupId, taskGroupId)
+                            .in(TaskGroupUserRelation::getUserId, helperUserIds))
+                    .stream().map(TaskGroupUserRelation::getUserId).collect(Collectors.toSet());
+            if (!memberIds.containsAll(helperUserIds)) {
+                return R.fail("添加的协助者中存在非本团队的协助者");
+            }
+        }
+
+        // 4. 子任务校验（全部通过后再写入，避免部分写入）
+        List<CreateTaskRequest.ChildTaskCreate> childTaskCreates = createTaskRequest.getChildTaskList() == null
+                ? Collections.emptyList() : createTaskRequest.getChildTaskList();
+        for(CreateTaskRequest.ChildTaskCreate childTaskCreate: childTaskCreates){
+            String childTaskName = CommonUtil.trim(childTaskCreate.getChildTaskName());
+            Integer childTaskStatus = childTaskCreate.getChildTaskStatus();
+            LocalDate childTaskDucTime = childTaskCreate.getDueTime();
+            String childTaskAssigneeUserId = CommonUtil.trim(childTaskCreate.getAssigneeUserId());
+
+            if (childTaskName == null || childTaskName.length() < 2) {
+                return R.fail("子任务: " + childTaskName + " 名称至少 2 个字符");
+            }
+            if (!CommonUtil.inEnumCodes(TaskStatusEnum.values(), childTaskStatus)){
+                return R.fail("子任务: " + childTaskName + " 任务状态未在合法范围内");
+            }
+            if (childTaskDucTime == null || childTaskDucTime.isAfter(dueTime)){
+                return R.fail("子任务: " + childTaskName + " 的截止日期不能大于主任务的截止日期");
+            }
+            if (childTaskAssigneeUserId == null){
+                return R.fail("子任务: " + childTaskName + " 的执行者不能为空");
+            }else if (!helperUserIds.contains(childTaskAssigneeUserId) && !childTaskAssigneeUserId.equals(currentUser.getUserId())){
+                return R.fail("子任务: " + childTaskName + " 的执行者不在协助者列表中且不为拥有者");
+            }
         }
 
 
@@ -193,22 +289,18 @@ public class TaskController {
             throw new BusinessException(ResultCode.INTERNAL_ERROR, "创建主任务记录失败");
         }
 
-        // 3.构建任务与拥有者关系
+        // 3.构建任务与拥有者、协助者关系（一次批量写入）
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskUserRelation> helperRelations = new ArrayList<>();
         TaskUserRelation ownerRelation = new TaskUserRelation();
         ownerRelation.setTaskId(task.getTaskId());
         ownerRelation.setUserId(currentUser.getUserId());
         ownerRelation.setIfOwner(IfOwnerEnum.IS_OWNER.getCode());
-        ownerRelation.setCreateTime(LocalDateTime.now());
-        ownerRelation.setUpdateTime(LocalDateTime.now());
-
-        if(!taskUserRelationService.save(ownerRelation)){
-            throw new BusinessException(ResultCode.INTERNAL_ERROR, "添加任务与拥有者关系失败");
-        }
-        List<TaskUserRelation> helperRelations = new ArrayList<>();
+        ownerRelation.setCreateTime(now);
+        ownerRelation.setUpdateTime(now);
         helperRelations.add(ownerRelation);
 
-        // 4. 构建任务与协助者关系
-        for(String userId : createTaskRequest.getHelperUserIdList()){
+        for(String userId : helperUserIds){
             if(userId.equals(currentUser.getUserId())){
                 continue;
             }
@@ -216,47 +308,29 @@ public class TaskController {
             userRelation.setTaskId(task.getTaskId());
             userRelation.setUserId(userId);
             userRelation.setIfOwner(IfOwnerEnum.IS_NOT_OWNER.getCode());
-            userRelation.setCreateTime(LocalDateTime.now());
-            userRelation.setUpdateTime(LocalDateTime.now());
-
-            if(!taskUserRelationService.save(userRelation)){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "添加任务与协助者关系失败");
-            }
+            userRelation.setCreateTime(now);
+            userRelation.setUpdateTime(now);
             helperRelations.add(userRelation);
         }
 
-        // 5. 构建子任务
+        if(!taskUserRelationService.saveBatch(helperRelations)){
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "添加任务与拥有者、协助者关系失败");
+        }
+
+        // 5. 构建子任务（一次批量写入）
         List<ChildTask> childTasks = new ArrayList<>();
         int childTaskIndex = 1;
-        for(CreateTaskRequest.ChildTaskCreate childTaskCreate: createTaskRequest.getChildTaskList()){
-            String childTaskName = CommonUtil.trim(childTaskCreate.getChildTaskName());
+        for(CreateTaskRequest.ChildTaskCreate childTaskCreate: childTaskCreates){
             Integer childTaskStatus = childTaskCreate.getChildTaskStatus();
-            LocalDate childTaskDucTime = childTaskCreate.getDueTime();
-            String childTaskAssigneeUserId = CommonUtil.trim(childTaskCreate.getAssigneeUserId());
-
-            // 子任务数据核验
-            if (childTaskName == null || childTaskName.length() < 2) {
-                return R.fail("子任务: " + childTaskName + " 名称至少 2 个字符");
-            }
-            if (!CommonUtil.inEnumCodes(TaskStatusEnum.values(), childTaskStatus)){
-                return R.fail("子任务: " + childTaskName + " 任务状态未在合法范围内");
-            }
-            if (childTaskDucTime.isAfter(task.getDueTime())){
-                return R.fail("子任务: " + childTaskName + " 的截止日期不能大于主任务的截止日期");
-            }
-            if (childTaskAssigneeUserId == null){
-                return R.fail("子任务: " + childTaskName + " 的执行者不能为空");
-            }else if (!createTaskRequest.getHelperUserIdList().contains(childTaskAssigneeUserId) && !childTaskAssigneeUserId.equals(currentUser.getUserId())){
-                return R.fail("子任务: " + childTaskName + " 的执行者不在协助者列表中且不为拥有者");
-            }
 
             ChildTask childTask = new ChildTask();
             childTask.setTaskId(task.getTaskId());
-            childTask.setChildTaskName(childTaskName);
+            childTask.setChildTaskName(CommonUtil.trim(childTaskCreate.getChildTaskName()));
             childTask.setChildTaskStatus(childTaskStatus);
             childTask.setChildTaskIndex(childTaskIndex);
-            childTask.setChildTaskAssigneeId(childTaskAssigneeUserId);
-            childTask.setDueTime(childTaskDucTime);
+            childTask.setChildTaskRank(LexoRank.sequence(childTaskIndex));
+            childTask.setChildTaskAssigneeId(CommonUtil.trim(childTaskCreate.getAssigneeUserId()));
+            childTask.setDueTime(childTaskCreate.getDueTime());
             // 如果状态为已完成（3）且 finish_time 为空或 null，则设置为当前日期
             // 如果状态为非已完成（不是3），则确保 finish_time 为 null
             if (childTaskStatus != null && childTaskStatus.equals(TaskStatusEnum.COMPLETED.getCode())) {
@@ -264,17 +338,17 @@ public class TaskController {
             } else {
             childTask.setFinishTime(null);
             }
-            childTask.setCreateTime(LocalDateTime.now());
-            childTask.setUpdateTime(LocalDateTime.now());
-
-            if(!childTaskService.save(childTask)){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "添加子任务: " + childTaskName + " 失败");
-            }
+            childTask.setCreateTime(now);
+            childTask.setUpdateTime(now);
 
             childTaskIndex = childTaskIndex + 1;
             childTasks.add(childTask);
         }
 
+        if(!childTasks.isEmpty() && !childTaskService.saveBatch(childTasks)){
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "添加子任务失败");
+        }
+
         Team team = (teamId == null || teamId.isEmpty()) ? null : teamService.getById(teamId);
         Set<String> uidSet = new HashSet<>();
         for (TaskUserRelation r : helperRelations) {
@@ -328,7 +402,7 @@ public class TaskController {
      * 权限：需为该任务的协助者或拥有者（存在 TaskUserRelation 记录）
      *
      * 规则：
-     * - 子任务索引 `childTaskIndex = 当前任务的子任务数量 + 1`
+     * - 子任务索引 `childTaskIndex = 当前任务的子任务数量 + 1`，排序键 `childTaskRank` 追加在当前末尾之后
      * - 子任务名称 ≥ 2 个字符
      * - 子任务状态需在合法枚举范围内（默认 1 未开始）
      * - 子任务截止日期不得晚于父任务截止日期
@@ -395,6 +469,7 @@ public class TaskController {
         ct.setChildTaskName(childTaskName);
         ct.setChildTaskStatus(childTaskStatus);
         ct.setChildTaskIndex(index);
+        ct.setChildTaskRank(childTaskService.nextChildTaskRank(taskId));
         ct.setChildTaskAssigneeId(assigneeUserId);
         ct.setDueTime(dueTime);
         // 如果状态为已完成（3）且 finish_time 为空或 null，则设置为当前日期
@@ -462,9 +537,11 @@ public class TaskController {
         }
         String objectName = "tasks/" + taskId + "/attachments/" + CommonUtil.generateUuid(original) + (suffix == null ? "" : suffix);
         String contentType = file.getContentType();
+        // 上传会转移 multipart 临时文件，需先记录大小
+        long fileSize = file.getSize();
         String url;
         try {
-            url = minioUtil.uploadKnownSize(objectName, file.getInputStream(), (contentType == null ? "application/octet-stream" : contentType), file.getSize());
+            url = minioUtil.uploadMultipart(objectName, file, (contentType == null ? "application/octet-stream" : contentType));
         } catch (Exception e) {
             return R.error("上传失败: " + e.getMessage());
         }
@@ -475,8 +552,9 @@ public class TaskController {
         tf.setUploaderUserId(currentUser.getUserId());
         tf.setTaskFileName(original);
         tf.setTaskFilePath(url); // 存储MinIO路径或完整URL（视具体实现，这里假设是URL）
+        tf.setTaskFileObjectName(objectName);
         tf.setTaskFileType(suffix);
-        tf.setTaskFileSize(file.getSize());
+        tf.setTaskFileSize(fileSize);
         tf.setTaskFileStatus(1);
         tf.setTaskFileRemark(remark);
         tf.setUploadTime(now);
@@ -571,7 +649,7 @@ public class TaskController {
      *
      * 行为：
      * - 校验登录、任务存在与拥有者权限
-     * - 删除附件：先移除对象存储，再删除附件记录
+     * - 删除附件：对象名写入回收队列（提交后由后台批量删除对象），再删除附件记录
      * - 删除子任务：清理子任务协助者关系、图谱边与节点，最后删除子任务记录
      * - 删除主任务协助者关系
      * - 删除主任务图谱边与节点
@@ -613,20 +691,12 @@ public class TaskController {
         if (!isOwner) {
             return R.fail("仅任务拥有者可删除任务");
         }
-        List<TaskFile> filesToDelete = taskFileService.list(new LambdaQueryWrapper<TaskFile>().eq(TaskFile::getTaskId, taskId));
+        List<TaskFile> filesToDelete = taskFileService.list(new LambdaQueryWrapper<TaskFile>()
+                .select(TaskFile::getTaskFileId, TaskFile::getTaskFilePath, TaskFile::getTaskFileObjectName)
+                .eq(TaskFile::getTaskId, taskId));
         if (filesToDelete != null && !filesToDelete.isEmpty()) {
-            for (TaskFile tf : filesToDelete) {
-                if (tf == null) continue;
-                String objectName = extractObjectNameFromUrl(tf.getTaskFilePath());
-                if (objectName != null && !objectName.isEmpty()) {
-                    try {
-                        minioUtil.remove(objectName);
-                    } catch (Exception e) {
-                        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-                        return R.error("删除任务附件文件失败: " + e.getMessage());
-                    }
-                }
-            }
+            // 对象名随事务写入回收队列，提交后由后台批量删除对象
+            objectStorageGcService.enqueueTaskFiles(filesToDelete);
             boolean filesRemoved = taskFileService.remove(new LambdaQueryWrapper<TaskFile>().eq(TaskFile::getTaskId, taskId));
             if (!filesRemoved) {
                 TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
@@ -662,6 +732,7 @@ public class TaskController {
                     TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
                     return R.error("删除子任务图谱节点失败");
                 }
+                taskGraphService.invalidateNodes(childNodes);
             }
             boolean childRemoved = childTaskService.remove(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getChildTaskId, childIds));
             if (!childRemoved) {
@@ -692,6 +763,7 @@ public class TaskController {
                 TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
                 return R.error("删除任务图谱节点失败");
             }
+            taskGraphService.invalidateNodes(mainNodes);
         }
         boolean auditsRemoved = taskAuditService.remove(new LambdaQueryWrapper<TaskAudit>().eq(TaskAudit::getTaskId, taskId));
         if (!auditsRemoved) {
@@ -703,6 +775,8 @@ public class TaskController {
             TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return R.error("删除任务失败");
         }
+        // 任务删除影响整个团队的统计，立即失效；相关成员由审计写入批次解析后失效
+        statsCacheService.invalidateTeam(task.getTeamId());
         return R.success(null, "删除成功");
     }
 
@@ -769,6 +843,7 @@ public class TaskController {
                 TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
                 return R.error("删除子任务图谱节点失败");
             }
+            taskGraphService.invalidateNodes(childNodes);
         }
 
         boolean childRemoved = childTaskService.removeById(id);
@@ -860,7 +935,7 @@ public class TaskController {
      * - 校验登录状态与附件存在性
      * - 路径任务ID与附件所属任务ID一致性校验
      * - 权限校验：当前用户需为该任务拥有者或协助者
-     * - 先删除对象存储中的文件（MinIO）
+     * - 对象名写入回收队列（事务提交后由后台批量删除 MinIO 对象）
      * - 逻辑删除数据库附件记录（`@TableLogic isDelete`）
      *
      * 返回：
@@ -871,7 +946,7 @@ public class TaskController {
      * - 400：缺少附件ID、缺少任务ID、路径任务ID与附件所属任务不一致
      * - 404：附件不存在
      * - 403：无权限（非拥有者或协助者）
-     * - 500：删除对象存储失败或删除记录失败
+     * - 500：删除记录失败
      *
      * 事务：
      * - 任一步骤失败将回滚事务
@@ -915,20 +990,13 @@ public class TaskController {
             return R.fail("无权删除该附件：仅协助者或拥有者可删除");
         }
 
-        // 先删除对象存储中的文件
-        String objectName = extractObjectNameFromUrl(tf.getTaskFilePath());
-        if (objectName != null && !objectName.isEmpty()) {
-            try {
-                minioUtil.remove(objectName);
-            } catch (Exception e) {
-                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-                return R.error("删除附件文件失败: " + e.getMessage());
-            }
-        }
+        // 对象名随事务写入回收队列，提交后由后台批量删除对象
+        objectStorageGcService.enqueueTaskFiles(Collections.singletonList(tf));
 
         // 逻辑删除数据库记录（@TableLogic）
         boolean ok = taskFileService.removeById(id);
         if (!ok) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return R.error("删除附件记录失败");
         }
 
@@ -1274,8 +1342,9 @@ public class TaskController {
      * 行为：
      * - 校验登录与父任务存在；
      * - 检查请求体为有序的 `childTaskId` 列表，集合需与当前任务的子任务集合一致（保持相同集、无重复）；
-     * - 依次更新 `child_task_index` 为列表顺序（从 1 开始）；
-     * - 返回按最新索引排序的子任务列表（索引升序 → 创建时间降序）。
+     * - 按列表顺序更新排序键 `child_task_rank`：保持相对顺序的最长子序列保留原键，
+     *   其余子任务在新邻居之间生成新键（移动一个子任务只写一行）；
+     * - 返回按最新排序键排列的子任务列表。
      *
      * 返回：
      * - 成功：`R<List<ChildTask>>`（最新顺序的子任务列表）
@@ -1347,26 +1416,8 @@ public class TaskController {
             return R.fail("仅任务拥有者或任一子任务执行者可调整排序");
         }
 
-        // 依次更新索引（从 1 开始）
-        int index = 1;
-        for (String cid : cleaned) {
-            ChildTask ct = childTaskService.getById(cid);
-            if (ct == null) return R.notFound("子任务不存在: " + cid);
-            ct.setChildTaskIndex(index++);
-            ct.setUpdateTime(LocalDateTime.now());
-            boolean ok = childTaskService.updateById(ct);
-            if (!ok) {
-                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-                return R.error("子任务排序更新失败");
-            }
-        }
-
-        // 返回最新顺序
-        List<ChildTask> children = childTaskService.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, tid));
-        if (children == null) children = Collections.emptyList();
-        children.sort(Comparator
-                .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+        // 只改写位置发生变化的子任务的排序键，返回最新顺序
+        List<ChildTask> children = childTaskService.reorder(tid, cleaned);
         return R.success(children, "排序更新成功");
     }
 
@@ -1420,28 +1471,10 @@ public class TaskController {
             return R.fail("无权查看该任务族的任务列表");
         }
 
-        LambdaQueryWrapper<Task> qw = new LambdaQueryWrapper<Task>()
-                .eq(Task::getTaskGroupId, taskGroupId);
-
-        String nameLike = CommonUtil.trim(taskName);
-        if (nameLike != null && !nameLike.isEmpty()) {
-            qw.like(Task::getTaskName, nameLike);
-        }
-        if (taskStatusList != null && !taskStatusList.isEmpty()) {
-            qw.in(Task::getTaskStatus, taskStatusList);
-        }
-        if (taskPriorityList != null && !taskPriorityList.isEmpty()) {
-            qw.in(Task::getTaskPriority, taskPriorityList);
-        }
-        if (startDueTime != null) {
-            qw.ge(Task::getDueTime, startDueTime);
-        }
-        if (endDueTime != null) {
-            qw.le(Task::getDueTime, endDueTime);
-        }
-
-        List<Task> tasks = taskService.list(qw);
-        if (tasks == null) tasks = Collections.emptyList();
+        TaskGroupTasks snapshot = loadTaskGroupTasks(taskGroupId, CommonUtil.trim(taskName), taskStatusList, taskPriorityList,
+                startDueTime, endDueTime, true);
+        // 快照在并发请求间共享：复制后再按当前用户过滤与排序
+        List<Task> tasks = new ArrayList<>(snapshot.tasks);
 
         Set<String> taskIds = tasks.stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
         Map<String, TaskUserRelation> myRelMap = new HashMap<>();
@@ -1479,23 +1512,7 @@ public class TaskController {
             tasks.sort(Comparator.comparing(Task::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
         }
 
-        Map<String, List<ChildTask>> childrenMap = new HashMap<>();
-        if (!taskIds.isEmpty()) {
-            List<ChildTask> allChildren = childTaskService.list(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, taskIds));
-            if (allChildren == null) allChildren = Collections.emptyList();
-            for (ChildTask ct : allChildren) {
-                if (ct == null || ct.getTaskId() == null) continue;
-                List<ChildTask> list = childrenMap.computeIfAbsent(ct.getTaskId(), k -> new ArrayList<>());
-                list.add(ct);
-            }
-            for (Map.Entry<String, List<ChildTask>> e : childrenMap.entrySet()) {
-                List<ChildTask> list = e.getValue();
-                if (list == null) continue;
-                list.sort(Comparator
-                        .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
-                        .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
-            }
-        }
+        Map<String, List<ChildTask>> childrenMap = snapshot.children;
 
         Team team = null;
         if (group.getTeamId() != null && !group.getTeamId().trim().isEmpty()) {
@@ -1572,27 +1589,10 @@ public class TaskController {
             return R.fail("无权查看该任务族的任务列表");
         }
 
-        LambdaQueryWrapper<Task> qw = new LambdaQueryWrapper<Task>()
-                .eq(Task::getTaskGroupId, taskGroupId);
-        String nameLike = CommonUtil.trim(taskName);
-        if (nameLike != null && !nameLike.isEmpty()) {
-            qw.like(Task::getTaskName, nameLike);
-        }
-        if (taskStatusList != null && !taskStatusList.isEmpty()) {
-            qw.in(Task::getTaskStatus, taskStatusList);
-        }
-        if (taskPriorityList != null && !taskPriorityList.isEmpty()) {
-            qw.in(Task::getTaskPriority, taskPriorityList);
-        }
-        if (startDueTime != null) {
-            qw.ge(Task::getDueTime, startDueTime);
-        }
-        if (endDueTime != null) {
-            qw.le(Task::getDueTime, endDueTime);
-        }
-
-        List<Task> tasks = taskService.list(qw);
-        if (tasks == null) tasks = Collections.emptyList();
+        TaskGroupTasks snapshot = loadTaskGroupTasks(taskGroupId, CommonUtil.trim(taskName), taskStatusList, taskPriorityList,
+                startDueTime, endDueTime, false);
+        // 快照在并发请求间共享：复制后再按当前用户过滤与排序
+        List<Task> tasks = new ArrayList<>(snapshot.tasks);
 
         Set<String> taskIds = tasks.stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
         Map<String, TaskUserRelation> myRelMap = new HashMap<>();
@@ -1650,7 +1650,7 @@ public class TaskController {
                 List<ChildTask> list = e.getValue();
                 if (list == null) continue;
                 list.sort(Comparator
-                        .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
             }
         }
@@ -1690,6 +1690,80 @@ public class TaskController {
     }
 
 
+    /**
+     * 游标分页列出指定任务族的任务列表（适用于无限滚动）
+     *
+     * 接口：GET `/api/tasks/taskgroups/{taskGroupId}/tasks/cursor`
+     * 权限：需为该任务族的正常成员（owner/manager/member）
+     *
+     * 请求参数：
+     * - cursor：上一页返回的 nextCursor，首屏不传
+     * - size：每页大小，默认 10，最大 100
+     * - 其余参数与分页列表一致：taskName、taskStatus、taskPriority、startDueTime、EndDueTime、sortByMode、relatedToMe
+     *
+     * 返回：`R<TaskCursorPageResponse>`
+     * - records：当前页任务摘要；nextCursor：下一页游标；hasMore：是否还有更多
+     *
+     * 说明：
+     * - 按排序键（due_time、task_priority、create_time、task_id）做 keyset 定位，页深不影响查询开销，翻页期间新增任务不会导致重复或遗漏
+     * - 游标与 sortByMode 绑定，切换排序模式需从首页重新拉取
+     */
+    @GetMapping("/taskgroups/{taskGroupId}/tasks/cursor")
+    public R<TaskCursorPageResponse> getTaskCursorPageByTaskGroup(HttpServletRequest request,
+                                                                  @PathVariable("taskGroupId") String taskGroupId,
+                                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                                  @RequestParam(value = "taskName", required = false) String taskName,
+                                                                  @RequestParam(value = "taskStatus", required = false) List<Integer> taskStatusList,
+                                                                  @RequestParam(value = "taskPriority", required = false) List<Integer> taskPriorityList,
+                                                                  @RequestParam(value = "startDueTime", required = false) LocalDate startDueTime,
+                                                                  @RequestParam(value = "EndDueTime", required = false) LocalDate endDueTime,
+                                                                  @RequestParam(value = "sortByMode", required = false) Integer sortByMode,
+                                                                  @RequestParam(value = "relatedToMe", required = false) Boolean relatedToMe) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+
+        taskGroupId = CommonUtil.trim(taskGroupId);
+        if (taskGroupId == null || taskGroupId.isEmpty()) {
+            return R.fail("缺少任务族ID");
+        }
+        TaskGroup group = taskGroupService.getById(taskGroupId);
+        if (group == null) {
+            return R.notFound("任务族不存在");
+        }
+        TaskGroupUserRelation viewerRel = taskGroupUserRelationService.getOne(
+                new LambdaQueryWrapper<TaskGroupUserRelation>()
+                        .eq(TaskGroupUserRelation::getTaskGroupId, taskGroupId)
+                        .eq(TaskGroupUserRelation::getUserId, currentUser.getUserId())
+                        .eq(TaskGroupUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
+        if (viewerRel == null) {
+            return R.fail("无权查看该任务族的任务列表");
+        }
+
+        TaskCursorDto after = TaskCursorDto.decode(cursor, sortByMode);
+        if (cursor != null && !cursor.isBlank() && after == null) {
+            return R.fail("游标无效或与排序模式不匹配");
+        }
+        TaskPageQueryDto query = new TaskPageQueryDto();
+        query.setUserId(Boolean.TRUE.equals(relatedToMe) ? currentUser.getUserId() : null);
+        query.setTaskGroupIds(Collections.singletonList(taskGroupId));
+        query.setTaskName(CommonUtil.trim(taskName));
+        query.setTaskStatusList(taskStatusList);
+        query.setTaskPriorityList(taskPriorityList);
+        query.setStartDueTime(startDueTime);
+        query.setEndDueTime(endDueTime);
+        query.setSortByMode(sortByMode);
+
+        TaskCursorPageResponse out = fetchTaskCursorPage(currentUser.getUserId(), query, after, size);
+        if (!out.getRecords().isEmpty() && group.getTeamId() != null && !group.getTeamId().trim().isEmpty()) {
+            Team team = teamService.getById(group.getTeamId());
+            String teamName = team == null ? null : team.getTeamName();
+            out.getRecords().forEach(item -> item.setTeamName(teamName));
+        }
+        return R.success(out, "查询成功");
+    }
+
+
     /**
      * 列出当前用户相关的任务列表（非分页）
      *
@@ -1808,7 +1882,7 @@ public class TaskController {
                 List<ChildTask> list = e.getValue();
                 if (list == null) continue;
                 list.sort(Comparator
-                        .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
             }
         }
@@ -1864,6 +1938,9 @@ public class TaskController {
      *
      * 返回：`R<Page<TaskSummaryResponse>>`
      * - 分页的扁平任务摘要记录
+     *
+     * 说明：
+     * - 关联过滤、排序与分页在数据库侧完成（`TaskMapper.selectRelatedTaskPage`），仅对当前页补充子任务与任务族名称
      */
     @GetMapping("/me/page")
     public R<Page<TaskSummaryResponse>> getTaskPageByUserId(HttpServletRequest request,
@@ -1879,43 +1956,40 @@ public class TaskController {
         User currentUser = CommonUtil.getCurrentUser(request);
         if (currentUser == null) return R.unauthorized("未能识别当前用户");
 
-        // 基础筛选：taskGroupId（可选列表）、taskName（模糊）、taskStatus（列表）
-        LambdaQueryWrapper<Task> qw = new LambdaQueryWrapper<>();
-        if (taskGroupIds != null && !taskGroupIds.isEmpty()) {
-            qw.in(Task::getTaskGroupId, taskGroupIds);
-        }
-        String nameLike = CommonUtil.trim(taskName);
-        if (nameLike != null && !nameLike.isEmpty()) {
-            qw.like(Task::getTaskName, nameLike);
-        }
-        if (taskStatusList != null && !taskStatusList.isEmpty()) {
-            qw.in(Task::getTaskStatus, taskStatusList);
-        }
-        if (taskPriorityList != null && !taskPriorityList.isEmpty()) {
-            qw.in(Task::getTaskPriority, taskPriorityList);
-        }
-        if (startDueTime != null) {
-            qw.ge(Task::getDueTime, startDueTime);
-        }
-        if (endDueTime != null) {
-            qw.le(Task::getDueTime, endDueTime);
-        }
-
-        List<Task> tasks = taskService.list(qw);
-        if (tasks == null) tasks = Collections.emptyList();
-        if (tasks.isEmpty()) {
-            Page<TaskSummaryResponse> empty = new Page<>(page == null ? 1 : page, size == null ? 10 : size, 0);
-            empty.setRecords(Collections.emptyList());
-            return R.success(empty, "查询成功");
-        }
+        // 关联过滤（与我相关）、排序与分页均下推到数据库，内存中仅处理当前页
+        int safePage = (page == null || page < 1) ? 1 : page;
+        int safeSize = (size == null || size < 1) ? 10 : Math.min(size, 100);
+        TaskPageQueryDto query = new TaskPageQueryDto();
+        query.setUserId(currentUser.getUserId());
+        query.setTaskGroupIds(taskGroupIds);
+        query.setTaskName(CommonUtil.trim(taskName));
+        query.setTaskStatusList(taskStatusList);
+        query.setTaskPriorityList(taskPriorityList);
+        query.setStartDueTime(startDueTime);
+        query.setEndDueTime(endDueTime);
+        query.setSortByMode(sortByMode);
+        Page<Task> taskPage = taskService.pageRelatedTasks(query, safePage, safeSize);
+        List<Task> pageTasks = taskPage.getRecords() == null ? Collections.emptyList() : taskPage.getRecords();
+
+        Page<TaskSummaryResponse> outPage = new Page<>(safePage, safeSize, taskPage.getTotal());
+        outPage.setPages(taskPage.getPages());
+        outPage.setRecords(buildMyTaskSummaries(currentUser.getUserId(), pageTasks));
+        return R.success(outPage, "查询成功");
+    }
 
-        // 预取当前用户与这些任务的关系（固定必要条件：仅保留与我相关）
+    /**
+     * 组装“与我相关”任务摘要：批量预取当前用户关系、子任务与任务族名称（仅针对传入任务）
+     */
+    private List<TaskSummaryResponse> buildMyTaskSummaries(String userId, List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) return new ArrayList<>();
         Set<String> taskIds = tasks.stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        // 当前用户在这些任务上的关系（存在多条时取最新一条）
         Map<String, TaskUserRelation> myRelMap = new HashMap<>();
         if (!taskIds.isEmpty()) {
             List<TaskUserRelation> myRels = taskUserRelationService.list(
                     new LambdaQueryWrapper<TaskUserRelation>()
-                            .eq(TaskUserRelation::getUserId, currentUser.getUserId())
+                            .eq(TaskUserRelation::getUserId, userId)
                             .in(TaskUserRelation::getTaskId, taskIds)
             );
             for (TaskUserRelation r : myRels) {
@@ -1923,48 +1997,14 @@ public class TaskController {
                 TaskUserRelation prev = myRelMap.get(r.getTaskId());
                 if (prev == null || (prev.getCreateTime() != null && r.getCreateTime() != null && r.getCreateTime().isAfter(prev.getCreateTime()))) {
                     myRelMap.put(r.getTaskId(), r);
-                } else if (prev == null) {
-                    myRelMap.put(r.getTaskId(), r);
                 }
             }
         }
 
-        // 与我相关：当前用户在该任务上存在协助/拥有者关系记录
-        List<Task> relatedTasks = tasks.stream()
-                .filter(t -> myRelMap.containsKey(t.getTaskId()))
-                .collect(Collectors.toList());
-
-        // 排序模式：与 getTaskListByTaskGroup 一致（0=按截止时间；1=按优先级；默认创建时间倒序）
-        Integer sortMode = (sortByMode == null) ? -1 : sortByMode;
-        if (sortMode == 0) {
-            relatedTasks.sort(
-                    Comparator.comparing(Task::getDueTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                            .thenComparing(Comparator.comparingInt((Task t) -> t.getTaskPriority() == null ? -1 : t.getTaskPriority()).reversed())
-                            .thenComparing(Task::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()))
-            );
-        } else if (sortMode == 1) {
-            relatedTasks.sort(
-                    Comparator.comparingInt((Task t) -> t.getTaskPriority() == null ? -1 : t.getTaskPriority())
-                            .reversed()
-                            .thenComparing(Task::getDueTime, Comparator.nullsLast(Comparator.naturalOrder()))
-                            .thenComparing(Task::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()))
-            );
-        } else {
-            relatedTasks.sort(Comparator.comparing(Task::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
-        }
-
-        // 内存分页切片
-        int safePage = (page == null || page < 1) ? 1 : page;
-        int safeSize = (size == null || size < 1) ? 10 : Math.min(size, 100);
-        int fromIndex = (safePage - 1) * safeSize;
-        int toIndex = Math.min(fromIndex + safeSize, relatedTasks.size());
-        List<Task> pageTasks = (fromIndex >= relatedTasks.size()) ? Collections.emptyList() : relatedTasks.subList(fromIndex, toIndex);
-
-        // 批量查询当前页子任务
+        // 批量查询子任务
         Map<String, List<ChildTask>> childrenMap = new HashMap<>();
-        Set<String> pageTaskIds = pageTasks.stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
-        if (!pageTaskIds.isEmpty()) {
-            List<ChildTask> allChildren = childTaskService.list(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, pageTaskIds));
+        if (!taskIds.isEmpty()) {
+            List<ChildTask> allChildren = childTaskService.list(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, taskIds));
             if (allChildren == null) allChildren = Collections.emptyList();
             for (ChildTask ct : allChildren) {
                 if (ct == null || ct.getTaskId() == null) continue;
@@ -1975,21 +2015,18 @@ public class TaskController {
                 List<ChildTask> list = e.getValue();
                 if (list == null) continue;
                 list.sort(Comparator
-                        .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
             }
         }
 
-        // 任务族名称映射不依赖协助者信息
-
         // 构建任务族名称映射（跨多个任务族）
-        Set<String> pageGroupIds = pageTasks.stream().map(Task::getTaskGroupId).filter(Objects::nonNull).collect(Collectors.toSet());
-        Map<String, TaskGroup> groupMap = pageGroupIds.isEmpty() ? Collections.emptyMap()
-                : taskGroupService.listByIds(pageGroupIds).stream().collect(Collectors.toMap(TaskGroup::getTaskGroupId, g -> g));
+        Set<String> groupIds = tasks.stream().map(Task::getTaskGroupId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, TaskGroup> groupMap = groupIds.isEmpty() ? Collections.emptyMap()
+                : taskGroupService.listByIds(groupIds).stream().collect(Collectors.toMap(TaskGroup::getTaskGroupId, g -> g));
 
-        // 组装分页记录（简化版）
         List<TaskSummaryResponse> records = new ArrayList<>();
-        for (Task t : pageTasks) {
+        for (Task t : tasks) {
             TaskGroup g = t.getTaskGroupId() == null ? null : groupMap.get(t.getTaskGroupId());
             TaskUserRelation myRel = myRelMap.get(t.getTaskId());
 
@@ -2012,16 +2049,70 @@ public class TaskController {
             }
             item.setIsOwner(ownerFlag);
             item.setChildTaskList(childrenMap.getOrDefault(t.getTaskId(), Collections.emptyList()));
-
             records.add(item);
         }
+        return records;
+    }
 
-        Page<TaskSummaryResponse> outPage = new Page<>(safePage, safeSize);
-        outPage.setTotal(relatedTasks.size());
-        long pagesNum = (relatedTasks.size() + safeSize - 1L) / safeSize;
-        outPage.setPages(pagesNum);
-        outPage.setRecords(records);
-        return R.success(outPage, "查询成功");
+    /**
+     * 游标分页列出当前用户相关的任务列表（适用于无限滚动）
+     *
+     * 接口：GET `/api/tasks/me/cursor`
+     * 权限：需 JWT 鉴权（仅返回与当前用户相关的任务）
+     *
+     * 请求参数：
+     * - cursor：上一页返回的 nextCursor，首屏不传
+     * - size：每页大小，默认 10，最大 100
+     * - 其余参数与分页列表一致：taskName、taskStatus、taskPriority、startDueTime、EndDueTime、sortByMode、taskGroupId
+     *
+     * 返回：`R<TaskCursorPageResponse>`
+     * - records：当前页任务摘要；nextCursor：下一页游标；hasMore：是否还有更多
+     *
+     * 说明：
+     * - 不返回总数，按排序键 keyset 定位，深页与首页开销一致
+     * - 游标与 sortByMode 绑定，切换排序模式需从首页重新拉取
+     */
+    @GetMapping("/me/cursor")
+    public R<TaskCursorPageResponse> getTaskCursorPageByUserId(HttpServletRequest request,
+                                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", defaultValue = "10") Integer size,
+                                                               @RequestParam(value = "taskName", required = false) String taskName,
+                                                               @RequestParam(value = "taskStatus", required = false) List<Integer> taskStatusList,
+                                                               @RequestParam(value = "taskPriority", required = false) List<Integer> taskPriorityList,
+                                                               @RequestParam(value = "startDueTime", required = false) java.time.LocalDate startDueTime,
+                                                               @RequestParam(value = "EndDueTime", required = false) java.time.LocalDate endDueTime,
+                                                               @RequestParam(value = "sortByMode", required = false) Integer sortByMode,
+                                                               @RequestParam(value = "taskGroupId", required = false) List<String> taskGroupIds) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+
+        TaskCursorDto after = TaskCursorDto.decode(cursor, sortByMode);
+        if (cursor != null && !cursor.isBlank() && after == null) {
+            return R.fail("游标无效或与排序模式不匹配");
+        }
+        TaskPageQueryDto query = new TaskPageQueryDto();
+        query.setUserId(currentUser.getUserId());
+        query.setTaskGroupIds(taskGroupIds);
+        query.setTaskName(CommonUtil.trim(taskName));
+        query.setTaskStatusList(taskStatusList);
+        query.setTaskPriorityList(taskPriorityList);
+        query.setStartDueTime(startDueTime);
+        query.setEndDueTime(endDueTime);
+        query.setSortByMode(sortByMode);
+        return R.success(fetchTaskCursorPage(currentUser.getUserId(), query, after, size), "查询成功");
+    }
+
+    /**
+     * 执行游标查询：多取一条判断是否还有下一页，并以当前页最后一条生成 nextCursor
+     */
+    private TaskCursorPageResponse fetchTaskCursorPage(String userId, TaskPageQueryDto query, TaskCursorDto after, Integer size) {
+        int safeSize = (size == null || size < 1) ? 10 : Math.min(size, 100);
+        List<Task> tasks = taskService.listTasksAfter(query, after, safeSize + 1);
+        if (tasks == null) tasks = Collections.emptyList();
+        boolean hasMore = tasks.size() > safeSize;
+        List<Task> pageTasks = hasMore ? tasks.subList(0, safeSize) : tasks;
+        String nextCursor = hasMore ? TaskCursorDto.of(pageTasks.get(pageTasks.size() - 1), query.getSortByMode()).encode() : null;
+        return new TaskCursorPageResponse(buildMyTaskSummaries(userId, pageTasks), nextCursor, hasMore);
     }
 
 
@@ -2119,7 +2210,7 @@ public class TaskController {
                 List<ChildTask> list = e.getValue();
                 if (list == null) continue;
                 list.sort(Comparator
-                        .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
                         .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
             }
         }
@@ -2177,15 +2268,18 @@ public class TaskController {
      * 行为：
      * - 解析并校验当前用户与任务族关系
      * - 查询任务基础信息、任务族与团队信息
-     * - 查询子任务（索引升序，其次创建时间降序）
+     * - 查询子任务（排序键升序，其次创建时间降序）
      * - 查询附件（仅状态正常的附件）
      * - 融合协助者列表（来自 TaskUserRelation 与 User），并判定当前用户是否拥有者
+     * - 先校验权限，通过后任务族、团队、子任务、附件、协助者 5 组查询并行执行（共享截止时间 `task.detail.timeout-ms`），
+     *   耗时约为最慢的一组而非总和；任一查询失败/超时即取消尚未开始的查询
+     * - 并行查询受全局许可 `task.detail.max-parallel-queries` 限制，取不到许可的查询在请求线程内执行，
+     *   所有详情请求额外占用的连接数不超过该值
      *
      * 返回：`R<TaskDetailResponse>`
      * - 包含任务基本字段、任务族/团队名称、协助者列表、子任务列表、附件列表、`isOwner` 标识
      */
     @GetMapping("/{taskId}")
-    @Transactional(readOnly = true)
     public R<TaskDetailResponse> getTaskDetail(HttpServletRequest request, @PathVariable("taskId") String taskId) {
         User cu = CommonUtil.getCurrentUser(request);
         if (cu == null) return R.unauthorized("未能识别当前用户");
@@ -2201,47 +2295,41 @@ public class TaskController {
                         .eq(TaskGroupUserRelation::getUserId, cu.getUserId())
                         .eq(TaskGroupUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
         if (rel == null) return R.fail("无权查看该任务的子任务");
-        TaskGroup group = taskGroupService.getById(groupId);
-        Team team = (task.getTeamId() != null && !task.getTeamId().trim().isEmpty()) ? teamService.getById(task.getTeamId()) : null;
-        List<ChildTask> childTasks = childTaskService.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, tid));
-        if (childTasks == null) childTasks = Collections.emptyList();
-        childTasks.sort(Comparator
-                .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
-        List<TaskFile> attachments = taskFileService.list(new LambdaQueryWrapper<TaskFile>()
-                .eq(TaskFile::getTaskId, tid)
-                .eq(TaskFile::getTaskFileStatus, 1));
-        if (attachments == null) attachments = Collections.emptyList();
-        List<TaskUserRelation> rels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>().eq(TaskUserRelation::getTaskId, tid));
-        if (rels == null) rels = Collections.emptyList();
-        Set<String> userIds = new HashSet<>();
-        for (TaskUserRelation r : rels) {
-            if (r != null && r.getUserId() != null) userIds.add(r.getUserId());
-        }
-        Map<String, User> userMap = userIds.isEmpty()
-                ? Collections.emptyMap()
-                : userService.listByIds(userIds).stream().filter(Objects::nonNull)
-                .collect(Collectors.toMap(User::getUserId, u -> u));
-        List<TaskDetailResponse.TaskHelper> helpers = new ArrayList<>();
-        for (TaskUserRelation r : rels) {
-            if (r == null) continue;
-            User u = userMap.get(r.getUserId());
-            TaskDetailResponse.TaskHelper h = new TaskDetailResponse.TaskHelper(
-                    r.getTaskUserRelationId(),
-                    r.getUserId(),
-                    r.getIfOwner() != null && r.getIfOwner().equals(IfOwnerEnum.IS_OWNER.getCode()),
-                    u == null ? null : u.getUserName(),
-                    u == null ? null : u.getUserEmail(),
-                    u == null ? null : u.getUserPhone(),
-                    u == null ? null : u.getUserSex(),
-                    u == null ? null : u.getUserAvatar(),
-                    u == null ? null : u.getUserRemark()
-            );
-            helpers.add(h);
+        TaskGroup group;
+        Team team;
+        List<ChildTask> childTasks;
+        List<TaskFile> attachments;
+        List<TaskDetailResponse.TaskHelper> helpers;
+        // 各组查询互不依赖（协助者与其用户信息在同一分支内先后查询），在虚拟线程上并行执行
+        try (FanOut fan = new FanOut(detailParallel, detailTimeoutMs, detailQueryPermits)) {
+            Future<TaskGroup> groupFuture = fan.fork(() -> taskGroupService.getById(groupId));
+            Future<Team> teamFuture = fan.fork(() -> (task.getTeamId() != null && !task.getTeamId().trim().isEmpty())
+                    ? teamService.getById(task.getTeamId()) : null);
+            Future<List<ChildTask>> childFuture = fan.fork(() -> {
+                List<ChildTask> list = childTaskService.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, tid));
+                if (list == null) list = new ArrayList<>();
+                list.sort(Comparator
+                        .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+                return list;
+            });
+            Future<List<TaskFile>> fileFuture = fan.fork(() -> taskFileService.list(new LambdaQueryWrapper<TaskFile>()
+                    .eq(TaskFile::getTaskId, tid)
+                    .eq(TaskFile::getTaskFileStatus, 1)));
+            Future<List<TaskDetailResponse.TaskHelper>> helperFuture = fan.fork(() -> loadTaskHelpers(tid));
+
+            group = fan.join(groupFuture);
+            team = fan.join(teamFuture);
+            childTasks = fan.join(childFuture);
+            attachments = fan.join(fileFuture);
+            helpers = fan.join(helperFuture);
+        } catch (TimeoutException e) {
+            return R.error("查询任务详情超时");
         }
+        if (attachments == null) attachments = Collections.emptyList();
         Integer isOwner = 0;
-        for (TaskUserRelation r : rels) {
-            if (r != null && cu.getUserId().equals(r.getUserId()) && r.getIfOwner() != null && r.getIfOwner().equals(IfOwnerEnum.IS_OWNER.getCode())) {
+        for (TaskDetailResponse.TaskHelper h : helpers) {
+            if (cu.getUserId().equals(h.getUserId()) && Boolean.TRUE.equals(h.getIfOwner())) {
                 isOwner = 1;
                 break;
             }
@@ -2278,7 +2366,7 @@ public class TaskController {
      *
      * 行为：
      * - 校验当前用户是否属于该任务关联的任务族
-     * - 查询并返回子任务列表，排序：索引升序 → 创建时间降序
+     * - 查询并返回子任务列表，排序：排序键升序 → 创建时间降序
      *
      * 返回：`R<List<ChildTask>>`
      */
@@ -2312,7 +2400,7 @@ public class TaskController {
         List<ChildTask> children = childTaskService.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, tid));
         if (children == null) children = Collections.emptyList();
         children.sort(Comparator
-                .comparing(ChildTask::getChildTaskIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
                 .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
 
         return R.success(children, "查询成功");
@@ -2425,18 +2513,99 @@ public class TaskController {
 
 
     // ======================== 内置方法 =====================================
-    private String extractObjectNameFromUrl(String url) {
-        try {
-            if (url == null || url.trim().isEmpty()) return null;
-            java.net.URI u = new java.net.URI(url);
-            String path = u.getPath(); // 形如 '/bucket/object/path'
-            if (path == null) return null;
-            if (path.startsWith("/")) path = path.substring(1);
-            int idx = path.indexOf('/');
-            if (idx < 0) return null; // 无 bucket，异常
-            return path.substring(idx + 1);
-        } catch (Exception e) {
-            return null;
+    /**
+     * 任务协助者列表：关系与用户信息两次查询（用户批量查询）后融合
+     */
+    private List<TaskDetailResponse.TaskHelper> loadTaskHelpers(String taskId) {
+        List<TaskUserRelation> rels = taskUserRelationService.list(new LambdaQueryWrapper<TaskUserRelation>().eq(TaskUserRelation::getTaskId, taskId));
+        if (rels == null) rels = Collections.emptyList();
+        Set<String> userIds = new HashSet<>();
+        for (TaskUserRelation r : rels) {
+            if (r != null && r.getUserId() != null) userIds.add(r.getUserId());
+        }
+        Map<String, User> userMap = userIds.isEmpty()
+                ? Collections.emptyMap()
+                : userService.listByIds(userIds).stream().filter(Objects::nonNull)
+                .collect(Collectors.toMap(User::getUserId, u -> u));
+        List<TaskDetailResponse.TaskHelper> helpers = new ArrayList<>();
+        for (TaskUserRelation r : rels) {
+            if (r == null) continue;
+            User u = userMap.get(r.getUserId());
+            TaskDetailResponse.TaskHelper h = new TaskDetailResponse.TaskHelper(
+                    r.getTaskUserRelationId(),
+                    r.getUserId(),
+                    r.getIfOwner() != null && r.getIfOwner().equals(IfOwnerEnum.IS_OWNER.getCode()),
+                    u == null ? null : u.getUserName(),
+                    u == null ? null : u.getUserEmail(),
+                    u == null ? null : u.getUserPhone(),
+                    u == null ? null : u.getUserSex(),
+                    u == null ? null : u.getUserAvatar(),
+                    u == null ? null : u.getUserRemark()
+            );
+            helpers.add(h);
+        }
+        return helpers;
+    }
+
+    /**
+     * 按筛选条件查询任务族下的任务（未排序），可选附带按序排列的子任务；
+     * 并发的相同查询经 single-flight 合并，返回的快照被多个请求共享，只读
+     */
+    private TaskGroupTasks loadTaskGroupTasks(String taskGroupId, String nameLike, List<Integer> taskStatusList,
+                                              List<Integer> taskPriorityList, LocalDate startDueTime, LocalDate endDueTime,
+                                              boolean withChildren) {
+        String key = String.join("|", taskGroupId, String.valueOf(nameLike), String.valueOf(taskStatusList),
+                String.valueOf(taskPriorityList), String.valueOf(startDueTime), String.valueOf(endDueTime), String.valueOf(withChildren));
+        return taskGroupListFlight.execute(key, () -> {
+            LambdaQueryWrapper<Task> qw = new LambdaQueryWrapper<Task>()
+                    .eq(Task::getTaskGroupId, taskGroupId);
+            if (nameLike != null && !nameLike.isEmpty()) {
+                qw.like(Task::getTaskName, nameLike);
+            }
+            if (taskStatusList != null && !taskStatusList.isEmpty()) {
+                qw.in(Task::getTaskStatus, taskStatusList);
+            }
+            if (taskPriorityList != null && !taskPriorityList.isEmpty()) {
+                qw.in(Task::getTaskPriority, taskPriorityList);
+            }
+            if (startDueTime != null) {
+                qw.ge(Task::getDueTime, startDueTime);
+            }
+            if (endDueTime != null) {
+                qw.le(Task::getDueTime, endDueTime);
+            }
+            List<Task> tasks = taskService.list(qw);
+            if (tasks == null) tasks = Collections.emptyList();
+
+            Map<String, List<ChildTask>> childrenMap = new HashMap<>();
+            Set<String> taskIds = tasks.stream().map(Task::getTaskId).filter(Objects::nonNull).collect(Collectors.toSet());
+            if (withChildren && !taskIds.isEmpty()) {
+                List<ChildTask> allChildren = childTaskService.list(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, taskIds));
+                if (allChildren == null) allChildren = Collections.emptyList();
+                for (ChildTask ct : allChildren) {
+                    if (ct == null || ct.getTaskId() == null) continue;
+                    List<ChildTask> list = childrenMap.computeIfAbsent(ct.getTaskId(), k -> new ArrayList<>());
+                    list.add(ct);
+                }
+                for (Map.Entry<String, List<ChildTask>> e : childrenMap.entrySet()) {
+                    List<ChildTask> list = e.getValue();
+                    if (list == null) continue;
+                    list.sort(Comparator
+                            .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder())));
+                }
+            }
+            return new TaskGroupTasks(Collections.unmodifiableList(tasks), childrenMap);
+        });
+    }
+
+    private static final class TaskGroupTasks {
+        final List<Task> tasks;
+        final Map<String, List<ChildTask>> children;
+
+        TaskGroupTasks(List<Task> tasks, Map<String, List<ChildTask>> children) {
+            this.tasks = tasks;
+            this.children = children;
         }
     }
 }
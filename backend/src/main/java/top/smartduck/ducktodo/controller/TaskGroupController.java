@@ -23,7 +23,9 @@ import top.smartduck.ducktodo.model.entity.User;
 import top.smartduck.ducktodo.model.entity.TaskNode;
 import top.smartduck.ducktodo.model.entity.TaskEdge;
 import top.smartduck.ducktodo.modelService.*;
+import top.smartduck.ducktodo.service.TaskGraphService;
 import top.smartduck.ducktodo.util.CommonUtil;
+import top.smartduck.ducktodo.util.SingleFlight;
 import top.smartduck.ducktodo.model.request.CreateTaskGroupRequest;
 import top.smartduck.ducktodo.model.request.SwapMyTaskGroupOrderRequest;
 import top.smartduck.ducktodo.model.response.MyTaskGroupResponse;
@@ -79,6 +81,14 @@ public class TaskGroupController {
     @Autowired
     private TaskEdgeService taskEdgeService;
 
+    @Autowired
+    private TaskGraphService taskGraphService;
+
+    /**
+     * 任务族成员列表的请求合并：同一任务族的并发查询只执行一次
+     */
+    private final SingleFlight memberListFlight = new SingleFlight();
+
     @Autowired
     private TeamService teamService;
 
@@ -161,6 +171,7 @@ public class TaskGroupController {
         ownerGroupRelation.setUserRole(UserRoleEnum.OWNER.getCode());
         ownerGroupRelation.setUserStatus(UserStatusEnum.NORMAL.getCode());
         ownerGroupRelation.setGroupIndex(taskGroupUserRelationService.countByUserId(currentUser.getUserId()) + 1);
+        ownerGroupRelation.setGroupRank(taskGroupUserRelationService.nextGroupRank(currentUser.getUserId()));
         ownerGroupRelation.setGroupAlias(groupName);
         ownerGroupRelation.setGroupColor(groupColor);
         ownerGroupRelation.setJoinTime(LocalDateTime.now());
@@ -298,6 +309,7 @@ public class TaskGroupController {
                 TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
                 return R.error("删除任务节点失败");
             }
+            taskGraphService.invalidateNodes(nodes);
         }
 
         // 3) 删除任务协助者关系与任务附件
@@ -367,7 +379,7 @@ public class TaskGroupController {
      * <ol>
      *   <li>校验当前用户，验证两个任务族ID有效且不重复；</li>
      *   <li>校验当前用户在两个任务族的关系均存在；</li>
-     *   <li>交换关系的 `groupIndex` 并更新；</li>
+     *   <li>交换两个关系的排序键 `groupRank`（只写两行；排序键缺失或相同时先整体重排该用户的列表）；</li>
      *   <li>按最新关系顺序返回融合后的 `MyTaskGroupResponse` 列表。</li>
      * </ol>
      */
@@ -396,39 +408,15 @@ public class TaskGroupController {
             return R.notFound("排序交换失败：至少一个任务族不存在或未与当前用户建立关系");
         }
 
-        // 处理空索引：使用当前用户最大索引+1作为填充
-        Integer idxA = relA.getGroupIndex();
-        Integer idxB = relB.getGroupIndex();
-        Integer max = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
-                        .eq(TaskGroupUserRelation::getUserId, currentUser.getUserId()))
-                .stream()
-                .map(TaskGroupUserRelation::getGroupIndex)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(0);
-
-        if (idxA == null && idxB == null) {
-            idxA = max + 1;
-            idxB = max + 2;
-        } else if (idxA == null) {
-            idxA = max + 1;
-        } else if (idxB == null) {
-            idxB = max + 1;
-        }
-
-        // 交换索引并保存
-        relA.setGroupIndex(idxB);
-        relB.setGroupIndex(idxA);
-        relA.setUpdateTime(LocalDateTime.now());
-        relB.setUpdateTime(LocalDateTime.now());
-
-        boolean ok = taskGroupUserRelationService.updateById(relA) && taskGroupUserRelationService.updateById(relB);
+        // 交换两个关系的排序键（只写两行）
+        boolean ok = taskGroupUserRelationService.swapGroupOrder(currentUser.getUserId(),
+                relA.getTaskGroupUserRelationId(), relB.getTaskGroupUserRelationId());
         if (!ok) return R.error("交换排序失败");
 
         // 交换完成后，按最新关系顺序返回融合的任务族列表
         List<TaskGroupUserRelation> rels = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
                 .eq(TaskGroupUserRelation::getUserId, currentUser.getUserId())
-                .orderByAsc(TaskGroupUserRelation::getGroupIndex)
+                .orderByAsc(TaskGroupUserRelation::getGroupRank)
                 .orderByAsc(TaskGroupUserRelation::getJoinTime));
         Set<String> groupIds = new HashSet<>();
         for (TaskGroupUserRelation r : rels) {
@@ -661,7 +649,7 @@ public class TaskGroupController {
      * <p>返回：融合列表 `List<MyTaskGroupResponse>`</p>
      *
      * <p>说明：</p>
-     * - 基于 `TaskGroupUserRelation` 关系表，按 `groupIndex` 升序，其次按 `joinTime` 升序
+     * - 基于 `TaskGroupUserRelation` 关系表，按 `groupRank` 升序，其次按 `joinTime` 升序
      * - 私有任务族的 `teamId` 为空字符串，相关团队信息为空
      */
     @GetMapping("/me")
@@ -671,7 +659,7 @@ public class TaskGroupController {
 
         List<TaskGroupUserRelation> rels = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
                 .eq(TaskGroupUserRelation::getUserId, currentUser.getUserId())
-                .orderByAsc(TaskGroupUserRelation::getGroupIndex)
+                .orderByAsc(TaskGroupUserRelation::getGroupRank)
                 .orderByAsc(TaskGroupUserRelation::getJoinTime));
 
         // 批量查询任务族详情
@@ -765,48 +753,53 @@ public class TaskGroupController {
         if (viewerRel == null) {
             return R.fail("无权限查看该任务族成员");
         }
-        List<TaskGroupUserRelation> rels = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
-                .eq(TaskGroupUserRelation::getTaskGroupId, taskGroupId)
-                .eq(TaskGroupUserRelation::getUserStatus, top.smartduck.ducktodo.common.enums.UserStatusEnum.NORMAL.getCode()));
-        if (rels == null || rels.isEmpty()) {
-            return R.success(java.util.Collections.emptyList(), "查询成功");
-        }
-        java.util.Set<String> userIds = new java.util.HashSet<>();
-        for (TaskGroupUserRelation r : rels) {
-            if (r.getUserId() != null) userIds.add(r.getUserId());
-        }
-        java.util.List<User> users = userService.list(new LambdaQueryWrapper<User>().in(User::getUserId, userIds));
-        if (users == null) users = java.util.Collections.emptyList();
-        users.sort(java.util.Comparator.comparing(User::getUserName, java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder())));
-        java.util.Map<String, TaskGroupUserRelation> relMap = new java.util.HashMap<>();
-        for (TaskGroupUserRelation r : rels) {
-            if (r.getUserId() != null) relMap.put(r.getUserId(), r);
-        }
-        java.util.List<TaskGroupMemberResponse> out = new java.util.ArrayList<>();
-        for (User u : users) {
-            TaskGroupUserRelation r = relMap.get(u.getUserId());
-            if (r == null) continue;
-            out.add(new TaskGroupMemberResponse(
-                    r.getTaskGroupUserRelationId(),
-                    r.getTaskGroupId(),
-                    r.getUserRole(),
-                    r.getUserStatus(),
-                    r.getGroupIndex(),
-                    r.getGroupColor(),
-                    r.getGroupAlias(),
-                    r.getJoinTime(),
-                    r.getUpdateTime(),
-                    u.getUserId(),
-                    u.getUserName(),
-                    u.getUserEmail(),
-                    u.getUserPhone(),
-                    u.getUserSex(),
-                    u.getUserAvatar(),
-                    u.getUserRemark(),
-                    u.getLastLoginTime()
-            ));
-        }
-        return R.success(out, "查询成功");
+        // 成员列表对所有成员相同：并发的相同请求合并为一次查询（结果共享，只读）
+        String groupId = taskGroupId;
+        List<TaskGroupMemberResponse> members = memberListFlight.execute(groupId, () -> {
+            List<TaskGroupUserRelation> rels = taskGroupUserRelationService.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
+                    .eq(TaskGroupUserRelation::getTaskGroupId, groupId)
+                    .eq(TaskGroupUserRelation::getUserStatus, top.smartduck.ducktodo.common.enums.UserStatusEnum.NORMAL.getCode()));
+            if (rels == null || rels.isEmpty()) {
+                return java.util.Collections.<TaskGroupMemberResponse>emptyList();
+            }
+            java.util.Set<String> userIds = new java.util.HashSet<>();
+            for (TaskGroupUserRelation r : rels) {
+                if (r.getUserId() != null) userIds.add(r.getUserId());
+            }
+            java.util.List<User> users = userService.list(new LambdaQueryWrapper<User>().in(User::getUserId, userIds));
+            if (users == null) users = java.util.Collections.emptyList();
+            users.sort(java.util.Comparator.comparing(User::getUserName, java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder())));
+            java.util.Map<String, TaskGroupUserRelation> relMap = new java.util.HashMap<>();
+            for (TaskGroupUserRelation r : rels) {
+                if (r.getUserId() != null) relMap.put(r.getUserId(), r);
+            }
+            java.util.List<TaskGroupMemberResponse> out = new java.util.ArrayList<>();
+            for (User u : users) {
+                TaskGroupUserRelation r = relMap.get(u.getUserId());
+                if (r == null) continue;
+                out.add(new TaskGroupMemberResponse(
+                        r.getTaskGroupUserRelationId(),
+                        r.getTaskGroupId(),
+                        r.getUserRole(),
+                        r.getUserStatus(),
+                        r.getGroupIndex(),
+                        r.getGroupColor(),
+                        r.getGroupAlias(),
+                        r.getJoinTime(),
+                        r.getUpdateTime(),
+                        u.getUserId(),
+                        u.getUserName(),
+                        u.getUserEmail(),
+                        u.getUserPhone(),
+                        u.getUserSex(),
+                        u.getUserAvatar(),
+                        u.getUserRemark(),
+                        u.getLastLoginTime()
+                ));
+            }
+            return out;
+        });
+        return R.success(members, "查询成功");
     }
 
 }
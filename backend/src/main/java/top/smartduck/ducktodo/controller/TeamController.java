@@ -13,8 +13,12 @@ import top.smartduck.ducktodo.common.exception.BusinessException;
 import top.smartduck.ducktodo.common.result.R;
 import top.smartduck.ducktodo.model.entity.*;
 import top.smartduck.ducktodo.modelService.*;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskGraphService;
+import top.smartduck.ducktodo.service.TeamDeleteService;
 import top.smartduck.ducktodo.util.CommonUtil;
 import top.smartduck.ducktodo.common.constant.SystemConstant;
+import top.smartduck.ducktodo.model.request.CreateTaskEdgeRequest;
 import top.smartduck.ducktodo.model.request.CreateTeamRequest;
 import top.smartduck.ducktodo.model.request.SwapMyTeamOrderRequest;
 import top.smartduck.ducktodo.model.response.MyTeamResponse;
@@ -32,7 +36,7 @@ import java.util.*;
  * <ol>
  *   <li><b>POST /api/teams</b>：创建团队，初始化任务族与成员关系，并可邀请成员。</li>
  *   <li><b>POST /api/teams/{teamId}/members</b>：邀请成员加入团队（支持 manager/member 角色）。</li>
- *   <li><b>DELETE /api/teams/{teamId}</b>：删除团队及其关联数据（任务族、任务、成员、附件、节点、链）。</li>
+ *   <li><b>DELETE /api/teams/{teamId}</b>：提交团队删除（团队标记为删除中，关联数据由后台分批级联删除）。</li>
  *   <li><b>DELETE /api/teams/{teamId}/members/me</b>：当前用户退出团队（所有者不可退出）。</li>
  *   <li><b>DELETE /api/teams/{teamId}/members/{userId}</b>：删除指定成员（不可删除团队所有者）。</li>
  *   <li><b>PUT /api/teams</b>：修改团队信息（名称、描述、状态）。</li>
@@ -42,10 +46,14 @@ import java.util.*;
  *   <li><b>PUT /api/teams/order</b>：交换个人两个团队的排序。</li>
  *   <li><b>PUT /api/teams/{teamId}/members/me/color</b>：修改个人在该团队的显示颜色。</li>
  *   <li><b>GET /api/teams/me/invites</b>：本人被邀请团队分页（支持邀请状态与 teamName 模糊）。</li>
- *   <li><b>GET /api/teams/me</b>：查询本人相关团队（正常成员、团队进行中，按 teamIndex 升序）。</li>
+ *   <li><b>GET /api/teams/me</b>：查询本人相关团队（正常成员、团队进行中，按 teamRank 升序）。</li>
  *   <li><b>GET /api/teams/{teamId}</b>：查询团队基础信息（需为该团队正常成员）。</li>
+ *   <li><b>GET /api/teams/{teamId}/deletion</b>：查询团队删除进度（仅删除提交者）。</li>
  *   <li><b>GET /api/teams/{teamId}/dashboard</b>：团队数据大屏（骨架占位）。</li>
  *   <li><b>GET /api/teams/{teamId}/members</b>：团队成员分页（支持用户名模糊、角色过滤、邀请状态）。</li>
+ *   <li><b>GET /api/teams/{teamId}/graph/topological-order</b>：团队任务图谱拓扑序（需为该团队正常成员）。</li>
+ *   <li><b>GET /api/teams/{teamId}/graph/nodes/{nodeId}/downstream</b>：节点下游影响集（需为该团队正常成员）。</li>
+ *   <li><b>POST /api/teams/{teamId}/graph/edges</b>：新增依赖边（拒绝形成循环依赖）。</li>
  * </ol>
  */
 @RestController
@@ -69,22 +77,13 @@ public class TeamController {
     private TaskGroupUserRelationService taskGroupUserRelationService;
 
     @Autowired
-    private TaskService taskService;
+    private StatsCacheService statsCacheService;
 
     @Autowired
-    private TaskUserRelationService taskUserRelationService;
+    private TeamDeleteService teamDeleteService;
 
     @Autowired
-    private TaskFileService taskFileService;
-
-    @Autowired
-    private ChildTaskService childTaskService;
-
-    @Autowired
-    private TaskNodeService taskNodeService;
-
-    @Autowired
-    private TaskEdgeService taskEdgeService;
+    private TaskGraphService taskGraphService;
 
 
     /**
@@ -126,7 +125,8 @@ public class TeamController {
         }
         if (teamStatus == null) {
             teamStatus = TeamStatusEnum.IN_PROGRESS.getCode();
-        } else if (!CommonUtil.inEnumCodes(TeamStatusEnum.values(), teamStatus)) {
+        } else if (!CommonUtil.inEnumCodes(TeamStatusEnum.values(), teamStatus)
+                || TeamStatusEnum.DELETING.getCode().equals(teamStatus)) {
             return R.fail("非法团队状态");
         }
 
@@ -169,6 +169,7 @@ public class TeamController {
         ownerTeamRelation.setUserRole(UserRoleEnum.OWNER.getCode());
         ownerTeamRelation.setUserStatus(UserStatusEnum.NORMAL.getCode());
         ownerTeamRelation.setTeamIndex(teamUserRelationService.countByUserId(currentUser.getUserId()) + 1);
+        ownerTeamRelation.setTeamRank(teamUserRelationService.nextTeamRank(currentUser.getUserId()));
         ownerTeamRelation.setTeamColor(SystemConstant.DEFAULT_TEAM_COLOR);
         ownerTeamRelation.setJoinTime(LocalDateTime.now());
         ownerTeamRelation.setUpdateTime(LocalDateTime.now());
@@ -184,6 +185,7 @@ public class TeamController {
         ownerGroupRelation.setUserRole(UserRoleEnum.OWNER.getCode());
         ownerGroupRelation.setUserStatus(UserStatusEnum.NORMAL.getCode());
         ownerGroupRelation.setGroupIndex(taskGroupUserRelationService.countByUserId(currentUser.getUserId()) + 1);
+        ownerGroupRelation.setGroupRank(taskGroupUserRelationService.nextGroupRank(currentUser.getUserId()));
         ownerGroupRelation.setGroupAlias(taskGroupName);
         ownerGroupRelation.setGroupColor(SystemConstant.DEFAULT_GROUP_COLOR);
         ownerGroupRelation.setJoinTime(LocalDateTime.now());
@@ -224,6 +226,7 @@ public class TeamController {
             invitedTeamRelation.setUserRole(invitedUserRole);
             invitedTeamRelation.setUserStatus(UserStatusEnum.INVITING.getCode());
             invitedTeamRelation.setTeamIndex(0);
+            invitedTeamRelation.setTeamRank(teamUserRelationService.nextTeamRank(invitedUserId));
             invitedTeamRelation.setTeamColor(SystemConstant.DEFAULT_TEAM_COLOR);
             invitedTeamRelation.setJoinTime(LocalDateTime.now());
             invitedTeamRelation.setUpdateTime(LocalDateTime.now());
@@ -233,6 +236,7 @@ public class TeamController {
             }
         }
 
+        statsCacheService.invalidateUser(currentUser.getUserId());
         return R.success(team, "创建成功");
     }
 
@@ -330,6 +334,7 @@ public class TeamController {
         rel.setUserRole(memberRoleCode);
         rel.setUserStatus(UserStatusEnum.INVITING.getCode());
         rel.setTeamIndex(0);
+        rel.setTeamRank(teamUserRelationService.nextTeamRank(targetUserId));
         rel.setTeamColor(SystemConstant.DEFAULT_TEAM_COLOR);
         rel.setJoinTime(LocalDateTime.now());
         rel.setUpdateTime(LocalDateTime.now());
@@ -345,24 +350,21 @@ public class TeamController {
     /**
      * 删除团队
      *
-     * <p>作用简介：级联逻辑删除团队及其下属数据（任务族、任务、成员与附件等）。</p>
+     * <p>作用简介：将团队标记为删除中并立即返回，团队下属数据（任务族、任务、子任务、关系、节点、链与附件）由后台任务分批级联逻辑删除。</p>
      * <p>执行逻辑：
-     * 1. 校验当前用户为团队所有者，校验团队存在性；
-     * 2. 查询团队下所有任务族与任务，收集 `groupIds` 与 `taskIds`；
-     * 3. 逻辑删除任务族成员关系、任务协助者关系、任务附件、子任务；
-     * 4. 逻辑删除任务与任务族记录；
-     * 5. 逻辑删除团队成员关系；
-     * 6. 逻辑删除团队记录；
-     * 7. 返回删除成功。
+     * 1. 校验团队存在性；团队已在删除中时，提交者重复请求直接返回已有删除任务；
+     * 2. 校验当前用户为团队所有者；
+     * 3. 团队状态置为删除中，逻辑删除团队成员关系，登记删除任务；
+     * 4. 失效成员与团队的统计缓存，返回删除任务（可通过 `GET /api/teams/{teamId}/deletion` 查询进度）。
      * </p>
      *
      * @param request HTTP 请求对象
      * @param teamId 团队ID路径参数
-     * @return 删除结果
+     * @return 删除任务
      */
     @DeleteMapping("/{teamId}")
     @Transactional(rollbackFor = Exception.class)
-    public R<?> deleteTeam(HttpServletRequest request, @PathVariable("teamId") String teamId) {
+    public R<TeamDeleteJob> deleteTeam(HttpServletRequest request, @PathVariable("teamId") String teamId) {
         User currentUser = CommonUtil.getCurrentUser(request);
         if (currentUser == null) return R.unauthorized("未能识别当前用户");
         teamId = CommonUtil.trim(teamId);
@@ -370,6 +372,12 @@ public class TeamController {
         Team team = teamService.getById(teamId);
         if (team == null) return R.notFound("团队不存在");
 
+        if (TeamStatusEnum.DELETING.getCode().equals(team.getTeamStatus())) {
+            TeamDeleteJob job = teamDeleteService.progress(teamId);
+            if (job == null || !currentUser.getUserId().equals(job.getOperatorId())) return R.notFound("团队不存在");
+            return R.success(job, "团队删除中");
+        }
+
         TeamUserRelation myRel = teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
                 .eq(TeamUserRelation::getTeamId, teamId)
                 .eq(TeamUserRelation::getUserId, currentUser.getUserId())
@@ -378,116 +386,41 @@ public class TeamController {
             return R.fail("仅团队所有者可删除团队");
         }
 
-        List<TaskGroup> groups = taskGroupService.list(new LambdaQueryWrapper<TaskGroup>()
-                .eq(TaskGroup::getTeamId, teamId));
-        List<String> groupIds = new ArrayList<>();
-        for (TaskGroup g : groups) groupIds.add(g.getTaskGroupId());
-
-        List<Task> tasks = taskService.list(new LambdaQueryWrapper<Task>()
-                .eq(Task::getTeamId, teamId));
-        List<String> taskIds = new ArrayList<>();
-        for (Task t : tasks) taskIds.add(t.getTaskId());
-
-        // 3. 逻辑删除任务族成员关系
-        if (!groupIds.isEmpty()) {
-            if(!taskGroupUserRelationService.remove(new LambdaQueryWrapper<TaskGroupUserRelation>().in(TaskGroupUserRelation::getTaskGroupId, groupIds))){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务族成员关系失败");
-            }
+        // 先记录成员，用于失效其统计缓存
+        Set<String> memberIds = new HashSet<>();
+        for (TeamUserRelation r : teamUserRelationService.list(new LambdaQueryWrapper<TeamUserRelation>()
+                .select(TeamUserRelation::getUserId)
+                .eq(TeamUserRelation::getTeamId, teamId))) {
+            memberIds.add(r.getUserId());
         }
 
-        // 3. 逻辑删除任务节点与任务链
-        // 3.1 收集子任务ID以便节点筛选
-        List<ChildTask> childTasks = taskIds.isEmpty()
-                ? Collections.emptyList()
-                : childTaskService.list(new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, taskIds));
-        List<String> childTaskIds = new ArrayList<>();
-        for (ChildTask ct : childTasks) childTaskIds.add(ct.getChildTaskId());
-        // 3.2 列出待删除的任务节点（按 teamId / groupIds / taskIds / childTaskIds 组合筛选）
-        // 只有当存在任务族、任务或子任务时，才需要查询节点
-        List<TaskNode> nodes = Collections.emptyList();
-        Set<String> nodeIds = new HashSet<>();
-        if (!groupIds.isEmpty() || !taskIds.isEmpty() || !childTaskIds.isEmpty()) {
-            LambdaQueryWrapper<TaskNode> nodeQw = new LambdaQueryWrapper<TaskNode>().eq(TaskNode::getTeamId, teamId);
-            if (!groupIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getTaskGroupId, groupIds));
-            if (!taskIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getTaskId, taskIds));
-            if (!childTaskIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getChildTaskId, childTaskIds));
-            nodes = taskNodeService.list(nodeQw);
-            for (TaskNode n : nodes) nodeIds.add(n.getTaskNodeId());
-        }
-        // 3.3 逻辑删除任务链（边），按源/目标节点ID
-        if (!nodeIds.isEmpty()) {
-            if(!taskEdgeService.remove(new LambdaQueryWrapper<TaskEdge>().in(TaskEdge::getSourceNodeId, nodeIds).or().in(TaskEdge::getTargetNodeId, nodeIds))){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务链失败");
-            }
-        }
-        // 3.4 逻辑删除任务节点
-        if (!nodes.isEmpty()) {
-            LambdaQueryWrapper<TaskNode> nodeQw = new LambdaQueryWrapper<TaskNode>().eq(TaskNode::getTeamId, teamId);
-            if (!groupIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getTaskGroupId, groupIds));
-            if (!taskIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getTaskId, taskIds));
-            if (!childTaskIds.isEmpty()) nodeQw.or(w -> w.in(TaskNode::getChildTaskId, childTaskIds));
-            if(!taskNodeService.remove(nodeQw)){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务节点失败");
-            }
-        }
+        TeamDeleteJob job = teamDeleteService.submit(teamId, currentUser.getUserId());
 
-        // 4. 逻辑删除任务关联数据：协助者关系、附件与子任务
-        if (!taskIds.isEmpty()) {
-            // 4.1 协助者关系（如果存在）
-            LambdaQueryWrapper<TaskUserRelation> taskUserRelQw = new LambdaQueryWrapper<TaskUserRelation>().in(TaskUserRelation::getTaskId, taskIds);
-            long taskUserRelCount = taskUserRelationService.count(taskUserRelQw);
-            if (taskUserRelCount > 0) {
-                if(!taskUserRelationService.remove(taskUserRelQw)){
-                    throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务协助者关系失败");
-                }
-            }
-
-            // 4.2 任务附件（如果存在）
-            LambdaQueryWrapper<TaskFile> taskFileQw = new LambdaQueryWrapper<TaskFile>().in(TaskFile::getTaskId, taskIds);
-            long taskFileCount = taskFileService.count(taskFileQw);
-            if (taskFileCount > 0) {
-                if(!taskFileService.remove(taskFileQw)){
-                    throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务附件失败");
-                }
-            }
-
-            // 4.3 子任务（如果存在）
-            LambdaQueryWrapper<ChildTask> childTaskQw = new LambdaQueryWrapper<ChildTask>().in(ChildTask::getTaskId, taskIds);
-            long childTaskCount = childTaskService.count(childTaskQw);
-            if (childTaskCount > 0) {
-                if(!childTaskService.remove(childTaskQw)){
-                    throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除子任务失败");
-                }
-            }
-        }
-
-        // 5. 逻辑删除任务（如果存在）
-        long taskCount = taskService.count(new LambdaQueryWrapper<Task>().eq(Task::getTeamId, teamId));
-        if (taskCount > 0) {
-            if(!taskService.remove(new LambdaQueryWrapper<Task>().eq(Task::getTeamId, teamId))){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务失败");
-            }
-        }
-
-        // 6. 逻辑删除任务族（如果存在）
-        long taskGroupCount = taskGroupService.count(new LambdaQueryWrapper<TaskGroup>().eq(TaskGroup::getTeamId, teamId));
-        if (taskGroupCount > 0) {
-            if(!taskGroupService.remove(new LambdaQueryWrapper<TaskGroup>().eq(TaskGroup::getTeamId, teamId))){
-                throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除任务族失败");
-            }
-        }
+        statsCacheService.invalidate(memberIds, Collections.singleton(teamId));
+        return R.success(job, "已提交删除");
+    }
 
-        // 7. 逻辑删除团队成员关系
-        if(!teamUserRelationService.remove(new LambdaQueryWrapper<TeamUserRelation>().eq(TeamUserRelation::getTeamId, teamId))){
-            throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除团队成员关系失败");
-        }
 
-        // 8. 逻辑删除团队记录
-        if(!teamService.removeById(teamId)){
-            throw new BusinessException(ResultCode.INTERNAL_ERROR, "删除团队失败");
-        }
+    /**
+     * 查询团队删除进度
+     *
+     * <p>接口：`GET /api/teams/{teamId}/deletion`</p>
+     * <p>权限：仅删除提交者</p>
+     *
+     * @param request HTTP 请求对象
+     * @param teamId 团队ID路径参数
+     * @return 最近一次删除任务（状态、当前阶段、已删除行数）
+     */
+    @GetMapping("/{teamId}/deletion")
+    public R<TeamDeleteJob> getTeamDeletion(HttpServletRequest request, @PathVariable("teamId") String teamId) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+        String tid = CommonUtil.trim(teamId);
+        if (tid == null || tid.isEmpty()) return R.error("参数缺失: teamId");
 
-        return R.success(null, "删除成功");
+        TeamDeleteJob job = teamDeleteService.progress(tid);
+        if (job == null || !currentUser.getUserId().equals(job.getOperatorId())) return R.notFound("未找到删除任务");
+        return R.success(job);
     }
 
 
@@ -551,6 +484,7 @@ public class TeamController {
             }
         }
 
+        statsCacheService.invalidate(Collections.singleton(currentUser.getUserId()), Collections.singleton(tid));
         return R.success("退出成功");
     }
 
@@ -636,6 +570,7 @@ public class TeamController {
         if (!removedTeamRel) return R.error("删除团队成员关系失败");
         if (!removedTaskGroupRel) return R.error("删除任务族成员关系失败");
 
+        statsCacheService.invalidate(Collections.singleton(targetUserId), Collections.singleton(teamId));
         return R.success("删除成功");
     }
 
@@ -677,6 +612,7 @@ public class TeamController {
 
         Team team = teamService.getById(teamId);
         if (team == null) return R.notFound("团队不存在");
+        if (TeamStatusEnum.DELETING.getCode().equals(team.getTeamStatus())) return R.fail("团队删除中");
 
         // 读取待更新字段并规范化
         String newName = CommonUtil.trim(teamToUpdate.getTeamName());
@@ -710,7 +646,8 @@ public class TeamController {
 
         // 团队状态校验与更新（仅合法枚举）
         if (newStatus != null) {
-            if (!CommonUtil.inEnumCodes(TeamStatusEnum.values(), newStatus)) {
+            if (!CommonUtil.inEnumCodes(TeamStatusEnum.values(), newStatus)
+                    || TeamStatusEnum.DELETING.getCode().equals(newStatus)) {
                 return R.fail("非法团队状态");
             }
             if (!Objects.equals(newStatus, team.getTeamStatus())) {
@@ -785,6 +722,7 @@ public class TeamController {
         rel.setUserStatus(UserStatusEnum.NORMAL.getCode());
         rel.setJoinTime(LocalDateTime.now());
         rel.setTeamIndex(teamUserRelationService.countByUserId(acceptUserId) + 1);
+        rel.setTeamRank(teamUserRelationService.nextTeamRank(acceptUserId));
         rel.setUpdateTime(LocalDateTime.now());
 
         if(!teamUserRelationService.updateById(rel)){
@@ -807,12 +745,14 @@ public class TeamController {
                 tgur.setGroupColor(SystemConstant.DEFAULT_GROUP_COLOR);
                 tgur.setGroupAlias(taskGroup.getGroupName());
                 tgur.setGroupIndex(taskGroupUserRelationService.countByUserId(acceptUserId) + 1);
+                tgur.setGroupRank(taskGroupUserRelationService.nextGroupRank(acceptUserId));
                 tgur.setJoinTime(LocalDateTime.now());
                 tgur.setUpdateTime(LocalDateTime.now());
                 taskGroupUserRelationService.save(tgur);
             }
         }
 
+        statsCacheService.invalidate(Collections.singleton(acceptUserId), Collections.singleton(tid));
         return R.success("已接受");
     }
 
@@ -955,8 +895,7 @@ public class TeamController {
      * <ol>
      *   <li>校验当前用户、请求体与两个团队ID的有效性且不重复；</li>
      *   <li>校验当前用户在两个团队的成员关系均为正常状态；</li>
-     *   <li>校验两个排序值必须不一致，否则拒绝；</li>
-     *   <li>执行个人排序交换（原子性保障）；</li>
+     *   <li>交换两个关系的排序键 `teamRank`（只写两行；排序键缺失或相同时先整体重排该用户的列表，原子性保障）；</li>
      *   <li>返回两个团队的基本信息与“交换成功”。</li>
      * </ol>
      */
@@ -985,13 +924,6 @@ public class TeamController {
             return R.notFound("未找到成员关系");
         }
 
-        // 若两个排序值一致，拒绝操作
-        Integer idxA = relA.getTeamIndex();
-        Integer idxB = relB.getTeamIndex();
-        if (Objects.equals(idxA, idxB)) {
-            return R.fail("排序值禁止一致");
-        }
-
         if(!teamUserRelationService.swapTeamOrder(currentUser.getUserId(), relA.getTeamUserRelationId(), relB.getTeamUserRelationId())){
             throw new BusinessException(ResultCode.INTERNAL_ERROR, "更新失败");
         }
@@ -1186,7 +1118,7 @@ public class TeamController {
             wrapper.in(TeamUserRelation::getTeamId, matchedIds);
         }
         if ("1".equals(status)) {
-            wrapper.orderByAsc(TeamUserRelation::getTeamIndex);
+            wrapper.orderByAsc(TeamUserRelation::getTeamRank);
         } else {
             wrapper.orderByDesc(TeamUserRelation::getUpdateTime);
         }
@@ -1250,7 +1182,7 @@ public class TeamController {
         List<TeamUserRelation> rels = teamUserRelationService.list(new LambdaQueryWrapper<TeamUserRelation>()
                 .eq(TeamUserRelation::getUserId, currentUser.getUserId())
                 .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode())
-                .orderByAsc(TeamUserRelation::getTeamIndex));
+                .orderByAsc(TeamUserRelation::getTeamRank));
         Set<String> teamIds = new HashSet<>();
         for (TeamUserRelation r : rels) {
             if (r.getTeamId() != null) teamIds.add(r.getTeamId());
@@ -1485,4 +1417,111 @@ public class TeamController {
     }
 
 
+    /**
+     * 团队任务图谱拓扑序
+     *
+     * <p>接口：`GET /api/teams/{teamId}/graph/topological-order`</p>
+     * <p>权限：owner 允许 | manager 允许 | member 允许（需为该团队的正常成员）</p>
+     * <p>说明：位于环上或依赖环上节点的节点不会出现在结果中</p>
+     *
+     * <p>执行逻辑：</p>
+     * <ol>
+     *   <li>校验当前用户与团队ID；</li>
+     *   <li>校验成员关系为正常状态；</li>
+     *   <li>基于缓存的团队图谱返回节点ID拓扑序。</li>
+     * </ol>
+     */
+    @GetMapping("/{teamId}/graph/topological-order")
+    public R<List<String>> getTeamGraphTopologicalOrder(HttpServletRequest request, @PathVariable("teamId") String teamId) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+        teamId = CommonUtil.trim(teamId);
+        if (teamId == null || teamId.isEmpty()) return R.fail("缺少团队ID");
+        TeamUserRelation viewerRel = teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
+                .eq(TeamUserRelation::getTeamId, teamId)
+                .eq(TeamUserRelation::getUserId, currentUser.getUserId())
+                .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
+        if (viewerRel == null) return R.fail("仅团队成员可查看");
+        return R.success(taskGraphService.topologicalOrder(teamId), "查询成功");
+    }
+
+
+    /**
+     * 节点下游影响集
+     *
+     * <p>接口：`GET /api/teams/{teamId}/graph/nodes/{nodeId}/downstream`</p>
+     * <p>权限：owner 允许 | manager 允许 | member 允许（需为该团队的正常成员）</p>
+     *
+     * <p>执行逻辑：</p>
+     * <ol>
+     *   <li>校验当前用户、团队ID与节点ID；</li>
+     *   <li>校验成员关系为正常状态；</li>
+     *   <li>返回从该节点沿边可到达的全部节点ID（不含自身；节点不属于该团队时为空）。</li>
+     * </ol>
+     */
+    @GetMapping("/{teamId}/graph/nodes/{nodeId}/downstream")
+    public R<Set<String>> getTeamGraphDownstream(HttpServletRequest request,
+                                                 @PathVariable("teamId") String teamId,
+                                                 @PathVariable("nodeId") String nodeId) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+        teamId = CommonUtil.trim(teamId);
+        nodeId = CommonUtil.trim(nodeId);
+        if (teamId == null || teamId.isEmpty()) return R.fail("缺少团队ID");
+        if (nodeId == null || nodeId.isEmpty()) return R.fail("缺少节点ID");
+        TeamUserRelation viewerRel = teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
+                .eq(TeamUserRelation::getTeamId, teamId)
+                .eq(TeamUserRelation::getUserId, currentUser.getUserId())
+                .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
+        if (viewerRel == null) return R.fail("仅团队成员可查看");
+        return R.success(taskGraphService.downstreamOf(teamId, nodeId), "查询成功");
+    }
+
+
+    /**
+     * 新增依赖边
+     *
+     * <p>接口：`POST /api/teams/{teamId}/graph/edges`</p>
+     * <p>权限：owner 允许 | manager 允许 | member 禁止</p>
+     * <p>约束：源节点与目标节点须同属该团队；新增后不得形成循环依赖（含自环）</p>
+     *
+     * <p>执行逻辑：</p>
+     * <ol>
+     *   <li>校验当前用户与团队ID；</li>
+     *   <li>校验操作者为所有者或管理员，否则禁止；</li>
+     *   <li>由 TaskGraphService 基于库内最新图谱校验节点归属与环，通过后保存；</li>
+     *   <li>保存成功后失效该团队图谱缓存并返回新边。</li>
+     * </ol>
+     *
+     * @param request HTTP 请求对象
+     * @param teamId 团队ID路径参数
+     * @param body 源、目标节点ID与边类型、描述
+     * @return 已保存的边
+     */
+    @PostMapping("/{teamId}/graph/edges")
+    public R<TaskEdge> createTeamGraphEdge(HttpServletRequest request,
+                                           @PathVariable("teamId") String teamId,
+                                           @RequestBody CreateTaskEdgeRequest body) {
+        User currentUser = CommonUtil.getCurrentUser(request);
+        if (currentUser == null) return R.unauthorized("未能识别当前用户");
+        teamId = CommonUtil.trim(teamId);
+        if (teamId == null || teamId.isEmpty()) return R.fail("缺少团队ID");
+        TeamUserRelation operatorRel = teamUserRelationService.getOne(new LambdaQueryWrapper<TeamUserRelation>()
+                .eq(TeamUserRelation::getTeamId, teamId)
+                .eq(TeamUserRelation::getUserId, currentUser.getUserId())
+                .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()), false);
+        if (operatorRel == null || !(UserRoleEnum.OWNER.getCode().equals(operatorRel.getUserRole()) || UserRoleEnum.MANAGER.getCode().equals(operatorRel.getUserRole()))) {
+            return R.fail("没有新增权限");
+        }
+        if (body == null) return R.fail("请求体缺失");
+        TaskEdge edge = TaskEdge.builder()
+                .sourceNodeId(CommonUtil.trim(body.getSourceNodeId()))
+                .targetNodeId(CommonUtil.trim(body.getTargetNodeId()))
+                .edgeType(CommonUtil.trim(body.getEdgeType()))
+                .edgeDescription(body.getEdgeDescription())
+                .build();
+        return R.success(taskGraphService.addEdge(teamId, edge), "新增成功");
+    }
+
+
 }
@@ -463,16 +463,13 @@ public class UserController {
             // 删除旧头像
             String oldAvatarUrl = dbUser.getUserAvatar();
             if (oldAvatarUrl != null && !oldAvatarUrl.trim().isEmpty() && !isDefaultAvatarUrl(oldAvatarUrl)) {
-                String oldObject = extractObjectNameFromUrl(oldAvatarUrl);
+                String oldObject = minioUtil.extractObjectName(oldAvatarUrl);
                 if (oldObject != null) {
                     try { minioUtil.remove(oldObject); } catch (Exception e) {}
                 }
             }
 
-            String url;
-            try (java.io.InputStream in = file.getInputStream()) {
-                url = minioUtil.uploadKnownSize(objectName, in, contentType, file.getSize());
-            }
+            String url = minioUtil.uploadMultipart(objectName, file, contentType);
 
             dbUser.setUserAvatar(url);
             dbUser.setUpdateTime(LocalDateTime.now());
@@ -550,15 +547,4 @@ public class UserController {
         String u = url.toLowerCase();
         return u.endsWith("/" + SystemConstant.DEFAULT_USER_AVATAR) || u.contains(SystemConstant.DEFAULT_USER_AVATAR);
     }
-
-    private String extractObjectNameFromUrl(String url) {
-        if (url == null || url.isEmpty()) return null;
-        String base = minioUtil.getObjectUrl("");
-        if (base == null) return null;
-        if (!base.endsWith("/")) base = base + "/";
-        if (url.startsWith(base)) {
-            return url.substring(base.length());
-        }
-        return null;
-    }
 }
@@ -0,0 +1,41 @@
+package top.smartduck.ducktodo.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.smartduck.ducktodo.service.ObjectStorageGcService;
+
+/**
+ * 对象存储回收定时任务：周期性批量删除待回收对象，并定时对账附件前缀下的孤儿对象。
+ */
+@Component
+public class ObjectStorageGcTask {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectStorageGcTask.class);
+
+    @Autowired
+    private ObjectStorageGcService objectStorageGcService;
+
+    @Value("${storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.gc.reconcile.enabled:true}")
+    private boolean reconcileEnabled;
+
+    @Scheduled(fixedDelayString = "${storage.gc.poll-interval-ms:10000}")
+    public void drainStorageGc() {
+        if (!enabled) return;
+        int n = objectStorageGcService.drain();
+        if (n > 0) log.info("[Storage-GC] {} objects removed.", n);
+    }
+
+    @Scheduled(cron = "${storage.gc.reconcile.cron:0 30 4 * * ?}")
+    public void reconcileStorage() {
+        if (!enabled || !reconcileEnabled) return;
+        int n = objectStorageGcService.reconcile();
+        if (n > 0) log.info("[Storage-GC] {} orphaned objects queued by reconcile.", n);
+    }
+}
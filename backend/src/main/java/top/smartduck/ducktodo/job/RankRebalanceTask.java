@@ -0,0 +1,38 @@
+package top.smartduck.ducktodo.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.smartduck.ducktodo.service.RankRebalanceService;
+import top.smartduck.ducktodo.util.LexoRank;
+
+/**
+ * 排序键重排定时任务：为键过长或缺失的子任务/任务族/团队列表重新生成等宽排序键。
+ */
+@Component
+public class RankRebalanceTask {
+
+    private static final Logger log = LoggerFactory.getLogger(RankRebalanceTask.class);
+
+    @Autowired
+    private RankRebalanceService rankRebalanceService;
+
+    @Value("${rank.rebalance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rank.rebalance.max-length:" + LexoRank.REBALANCE_LENGTH + "}")
+    private int maxLength;
+
+    @Value("${rank.rebalance.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(cron = "${rank.rebalance.cron:0 15 * * * ?}")
+    public void rebalanceRanks() {
+        if (!enabled) return;
+        int rows = rankRebalanceService.rebalance(maxLength, batchSize);
+        if (rows > 0) log.info("[Rank-Rebalance] {} rank keys rewritten.", rows);
+    }
+}
@@ -0,0 +1,48 @@
+package top.smartduck.ducktodo.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.smartduck.ducktodo.service.StatisticsService;
+
+import java.time.LocalDate;
+
+/**
+ * 统计日汇总定时任务：每日凌晨将截至昨天的用户/团队统计增量写入汇总表。
+ */
+@Component
+public class StatisticsRollupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupTask.class);
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Value("${stats.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stats.rollup.backfill-days:30}")
+    private int backfillDays;
+
+    @Scheduled(cron = "${stats.rollup.cron:0 30 0 * * ?}")
+    public void rollupDailyStatistics() {
+        if (!enabled) return;
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate until = statisticsService.rolledUpUntil();
+        // 首次运行仅回填最近 backfillDays 天；之后从上次汇总日期的次日顺序补齐，避免留下空洞
+        LocalDate from = until == null ? yesterday.minusDays(Math.max(backfillDays, 1) - 1) : until.plusDays(1);
+        for (LocalDate d = from; !d.isAfter(yesterday); d = d.plusDays(1)) {
+            try {
+                statisticsService.rollupDay(d);
+                log.info("[Stats-Rollup] Day {} rolled up.", d);
+            } catch (Exception e) {
+                // 按日顺序推进，失败即停止，下次从失败日期重试
+                log.error("[Stats-Rollup] Failed to roll up day {}: {}", d, e.getMessage());
+                return;
+            }
+        }
+    }
+}
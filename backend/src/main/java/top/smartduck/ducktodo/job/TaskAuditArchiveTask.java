@@ -0,0 +1,46 @@
+package top.smartduck.ducktodo.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.smartduck.ducktodo.service.TaskAuditArchiveService;
+
+import java.time.LocalDate;
+
+/**
+ * 审计归档定时任务：维护 task_audit 月分区，并将超过保留期的审计导出归档后从热表删除。
+ */
+@Component
+public class TaskAuditArchiveTask {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskAuditArchiveTask.class);
+
+    @Autowired
+    private TaskAuditArchiveService taskAuditArchiveService;
+
+    @Value("${audit.partition.enabled:false}")
+    private boolean partitionEnabled;
+
+    @Value("${audit.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${audit.archive.retention-days:180}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${audit.archive.cron:0 0 3 * * ?}")
+    public void archiveTaskAudits() {
+        if (!partitionEnabled && !archiveEnabled) return;
+        LocalDate cutoff = LocalDate.now().minusDays(Math.max(retentionDays, 1));
+        if (archiveEnabled) {
+            long n = taskAuditArchiveService.archiveBefore(cutoff);
+            log.info("[Audit-Archive] {} audits before {} archived.", n, cutoff);
+        }
+        // 先归档再维护分区，使已清空的过期分区可在同一轮中被删除
+        if (partitionEnabled) {
+            taskAuditArchiveService.maintainPartitions(archiveEnabled ? cutoff : null);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package top.smartduck.ducktodo.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import top.smartduck.ducktodo.service.TeamDeleteService;
+
+/**
+ * 团队删除定时任务：认领待执行、失败待重试或已中断的团队删除任务，分批级联逻辑删除团队数据。
+ */
+@Component
+public class TeamDeleteTask {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamDeleteTask.class);
+
+    @Autowired
+    private TeamDeleteService teamDeleteService;
+
+    @Value("${team.delete.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(fixedDelayString = "${team.delete.poll-interval-ms:5000}")
+    public void runTeamDeletes() {
+        if (!enabled) return;
+        int n = teamDeleteService.runPending();
+        if (n > 0) log.info("[Team-Delete] {} delete job(s) processed.", n);
+    }
+}
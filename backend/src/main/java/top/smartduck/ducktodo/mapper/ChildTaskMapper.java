@@ -2,8 +2,34 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.smartduck.ducktodo.model.dto.DayCountDto;
+import top.smartduck.ducktodo.model.dto.StatusPriorityCountDto;
 import top.smartduck.ducktodo.model.entity.ChildTask;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Mapper
 public interface ChildTaskMapper extends BaseMapper<ChildTask> {
+
+    /**
+     * 团队子任务按 (子任务状态, 父任务优先级) 分组计数，并附带各组逾期数
+     */
+    List<StatusPriorityCountDto> selectTeamStatusPriorityCounts(@Param("teamId") String teamId,
+                                                                @Param("today") LocalDate today);
+
+    /**
+     * 指派给用户的子任务按截止日期分组计数，区间为 [today, end)；includeOverdue 时逾期未完成的子任务归入 stat_date 为 null 的一行
+     */
+    List<DayCountDto> selectDueHistogramOfAssignee(@Param("userId") String userId,
+                                                   @Param("today") LocalDate today,
+                                                   @Param("end") LocalDate end,
+                                                   @Param("includeOverdue") boolean includeOverdue);
+
+    /**
+     * 需要重排排序键的父任务ID：存在排序键为空或长度超过 maxLength 的子任务
+     */
+    List<String> selectTaskIdsNeedingRankRebalance(@Param("maxLength") int maxLength,
+                                                   @Param("limit") int limit);
 }
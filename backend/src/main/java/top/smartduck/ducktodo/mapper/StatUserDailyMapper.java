@@ -0,0 +1,57 @@
+package top.smartduck.ducktodo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import top.smartduck.ducktodo.model.dto.CycleTimeSampleDto;
+import top.smartduck.ducktodo.model.entity.StatUserDaily;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface StatUserDailyMapper extends BaseMapper<StatUserDaily> {
+
+    /**
+     * 已汇总的最大统计日期（无数据返回 null）
+     */
+    LocalDate selectMaxStatDate();
+
+    /**
+     * 已汇总的最小统计日期（无数据返回 null）；首次汇总只回填最近若干天，更早的日期没有汇总行
+     */
+    LocalDate selectMinStatDate();
+
+    /**
+     * 物理删除指定日期的汇总行（重算前清理）
+     */
+    int deleteByStatDate(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 按用户统计区间 [start, end) 内创建的任务数及优先级分布
+     */
+    List<StatUserDaily> selectCreatedStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按用户统计区间 [start, end) 内完成的任务数
+     */
+    List<StatUserDaily> selectCompletedStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按用户统计统计日结束时（`end`）仍未完成的任务：逾期（`dueTime < start`）与进行中数量，补算历史日期时同样按当日口径
+     */
+    List<StatUserDaily> selectOpenStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按用户统计区间 [start, end) 内的审计事件数
+     */
+    List<StatUserDaily> selectAuditStats(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 流式读取区间 [start, end) 内有完成时间的任务（不限当前状态）的周期时间样本（statKey 为用户ID），逐行回调，不在内存中物化结果集
+     */
+    void streamCycleTimeSamples(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                ResultHandler<CycleTimeSampleDto> handler);
+}
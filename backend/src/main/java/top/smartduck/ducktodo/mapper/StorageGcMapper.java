@@ -0,0 +1,25 @@
+package top.smartduck.ducktodo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.smartduck.ducktodo.model.entity.StorageGc;
+
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface StorageGcMapper extends BaseMapper<StorageGc> {
+
+    /**
+     * 批量入队；同名对象已在队列中时忽略
+     *
+     * @return 实际插入的行数
+     */
+    int insertIgnoreBatch(@Param("items") List<StorageGc> items);
+
+    /**
+     * 已删除成功的对象移出队列（物理删除）
+     */
+    int purgeByIds(@Param("ids") Collection<String> ids);
+}
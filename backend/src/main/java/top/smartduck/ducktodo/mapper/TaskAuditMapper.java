@@ -2,8 +2,57 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.smartduck.ducktodo.model.dto.DayCountDto;
 import top.smartduck.ducktodo.model.entity.TaskAudit;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface TaskAuditMapper extends BaseMapper<TaskAudit> {
+
+    /**
+     * 按操作日期分组统计操作人的审计事件数量，区间为 [start, end)
+     */
+    List<DayCountDto> selectDailyCountByOperator(@Param("operatorId") String operatorId,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
+    /**
+     * 按操作日期分组统计团队的审计事件数量（按冗余的 team_id 过滤），区间为 [start, end)
+     */
+    List<DayCountDto> selectDailyCountByTeam(@Param("teamId") String teamId,
+                                             @Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end);
+
+    /**
+     * 多行批量插入审计记录（单条 INSERT ... VALUES (...), (...)），调用方需预先填充主键与创建时间
+     */
+    int insertBatch(@Param("list") List<TaskAudit> list);
+
+    /**
+     * 最早一条审计记录的时间（含已逻辑删除的记录），表为空时返回 null
+     */
+    LocalDateTime selectMinCreateTime();
+
+    /**
+     * 归档导出：按 (create_time, audit_id) 游标顺序读取 [start, end) 内的记录（含已逻辑删除的记录）
+     *
+     * @param afterTime 上一批最后一条的 create_time，首批为 null
+     * @param afterId 上一批最后一条的 audit_id，首批为 null
+     */
+    List<TaskAudit> selectArchiveChunk(@Param("start") LocalDateTime start,
+                                       @Param("end") LocalDateTime end,
+                                       @Param("afterTime") LocalDateTime afterTime,
+                                       @Param("afterId") String afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * 物理删除 [start, end) 内已导出的记录（按导出的 audit_id 分块清理，导出后写入的记录不受影响）
+     */
+    int deleteArchivedByIds(@Param("start") LocalDateTime start,
+                            @Param("end") LocalDateTime end,
+                            @Param("ids") Collection<String> ids);
 }
@@ -2,8 +2,19 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import top.smartduck.ducktodo.model.entity.TaskEdge;
 
+import java.util.List;
+
 @Mapper
 public interface TaskEdgeMapper extends BaseMapper<TaskEdge> {
+
+    /**
+     * 查询团队的全部边（源或目标节点属于该团队），通过与 task_node 连接过滤，避免传入节点ID列表
+     *
+     * @param teamId 团队ID
+     * @return 边列表（仅含ID、源、目标与类型）
+     */
+    List<TaskEdge> selectByTeamId(@Param("teamId") String teamId);
 }
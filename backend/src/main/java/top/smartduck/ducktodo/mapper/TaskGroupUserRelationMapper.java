@@ -2,8 +2,16 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import top.smartduck.ducktodo.model.entity.TaskGroupUserRelation;
 
+import java.util.List;
+
 @Mapper
 public interface TaskGroupUserRelationMapper extends BaseMapper<TaskGroupUserRelation> {
+
+    /**
+     * 需要重排排序键的用户ID：存在排序键为空或长度超过 maxLength 的关系
+     */
+    List<String> selectUserIdsNeedingGroupRankRebalance(@Param("maxLength") int maxLength, @Param("limit") int limit);
 }
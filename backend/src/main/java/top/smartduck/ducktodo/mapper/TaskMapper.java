@@ -1,9 +1,124 @@
 package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+import top.smartduck.ducktodo.model.dto.CycleTimeSampleDto;
+import top.smartduck.ducktodo.model.dto.DayCountDto;
+import top.smartduck.ducktodo.model.dto.KeyCountDto;
+import top.smartduck.ducktodo.model.dto.StatusPriorityCountDto;
+import top.smartduck.ducktodo.model.dto.TaskCursorDto;
+import top.smartduck.ducktodo.model.dto.TaskPageQueryDto;
+import top.smartduck.ducktodo.model.dto.UserOverviewDto;
 import top.smartduck.ducktodo.model.entity.Task;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface TaskMapper extends BaseMapper<Task> {
+
+    /**
+     * 按创建日期分组统计用户相关任务数量，区间为 [start, end)
+     */
+    List<DayCountDto> selectDailyCreatedByUser(@Param("userId") String userId,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
+    /**
+     * 按完成日期分组统计用户相关的已完成任务数量，区间为 [start, end)
+     */
+    List<DayCountDto> selectDailyCompletedByUser(@Param("userId") String userId,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
+    /**
+     * 团队任务按创建日期分组计数；创建于 start 之前的任务归入 stat_date 为 null 的一行（作为累计基数）
+     */
+    List<DayCountDto> selectTeamCreatedHistogram(@Param("teamId") String teamId,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end);
+
+    /**
+     * 团队已完成任务按完成日期分组计数；完成于 start 之前的任务归入 stat_date 为 null 的一行（作为累计基数）
+     */
+    List<DayCountDto> selectTeamCompletedHistogram(@Param("teamId") String teamId,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end);
+
+    /**
+     * 流式读取用户相关任务中区间 [start, end) 内有完成时间的任务（不限当前状态）的周期时间样本
+     */
+    void streamCycleTimeOfUser(@Param("userId") String userId,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end,
+                               ResultHandler<CycleTimeSampleDto> handler);
+
+    /**
+     * 流式读取团队任务中区间 [start, end) 内有完成时间的任务（不限当前状态）的周期时间样本
+     */
+    void streamCycleTimeOfTeam(@Param("teamId") String teamId,
+                               @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end,
+                               ResultHandler<CycleTimeSampleDto> handler);
+
+    /**
+     * 批量查询任务所属团队（仅填充 taskId/teamId；包含已逻辑删除的任务，供审计写入冗余 team_id）
+     */
+    List<Task> selectTeamIdsByTaskIds(@Param("taskIds") Collection<String> taskIds);
+
+    /**
+     * 团队任务按 (状态, 优先级) 分组计数，并附带各组逾期数；只返回聚合元组，不加载任务实体
+     */
+    List<StatusPriorityCountDto> selectTeamStatusPriorityCounts(@Param("teamId") String teamId,
+                                                                @Param("today") LocalDate today);
+
+    /**
+     * 按任务族分组统计团队逾期任务数（未开始/进行中且截止日在 [start, before) 内），未归属任务族的任务归入 stat_key 为 null 的一行
+     */
+    List<KeyCountDto> selectTeamOverdueByGroup(@Param("teamId") String teamId,
+                                               @Param("start") LocalDate start,
+                                               @Param("before") LocalDate before);
+
+    /**
+     * 用户相关任务按截止日期分组计数，区间为 [today, end)；includeOverdue 时逾期未完成的任务归入 stat_date 为 null 的一行
+     */
+    List<DayCountDto> selectDueHistogramOfUser(@Param("userId") String userId,
+                                               @Param("today") LocalDate today,
+                                               @Param("end") LocalDate end,
+                                               @Param("includeOverdue") boolean includeOverdue);
+
+    /**
+     * 个人概览：相关任务一次条件聚合（SUM(CASE ...)），团队/任务族/子任务计数以标量子查询并入同一语句
+     *
+     * @param weekStart 本周起始时间（含）
+     * @param weekEnd 本周结束时间（不含）
+     * @param monthStart 本月起始时间（含）
+     * @param monthEnd 本月结束时间（不含）
+     * @param today 今天（截止日早于今天视为逾期）
+     * @param severeBefore 截止日早于该日视为严重逾期
+     */
+    UserOverviewDto selectUserOverview(@Param("userId") String userId,
+                                       @Param("weekStart") LocalDateTime weekStart,
+                                       @Param("weekEnd") LocalDateTime weekEnd,
+                                       @Param("monthStart") LocalDateTime monthStart,
+                                       @Param("monthEnd") LocalDateTime monthEnd,
+                                       @Param("today") LocalDate today,
+                                       @Param("severeBefore") LocalDate severeBefore);
+
+    /**
+     * 分页查询与用户相关的任务（筛选、排序与 LIMIT 均在数据库侧完成）
+     */
+    IPage<Task> selectRelatedTaskPage(IPage<Task> page, @Param("q") TaskPageQueryDto query);
+
+    /**
+     * 游标分页：按 query.sortByMode 的排序取游标之后的至多 limit 条任务（cursor 为空时从头开始）
+     */
+    List<Task> selectRelatedTaskAfter(@Param("q") TaskPageQueryDto query,
+                                      @Param("c") TaskCursorDto cursor,
+                                      @Param("limit") int limit);
 }
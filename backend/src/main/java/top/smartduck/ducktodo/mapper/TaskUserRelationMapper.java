@@ -2,8 +2,41 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.smartduck.ducktodo.model.dto.KeyCountDto;
+import top.smartduck.ducktodo.model.dto.MemberWorkloadDto;
 import top.smartduck.ducktodo.model.entity.TaskUserRelation;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface TaskUserRelationMapper extends BaseMapper<TaskUserRelation> {
+
+    /**
+     * 按成员分组统计团队内相关任务数量（单条 JOIN 分组查询）
+     *
+     * @param teamId 团队ID
+     * @param userIds 成员ID列表（非空）
+     * @param inProgressOnly 是否仅统计进行中任务（为 true 时不计算总数）
+     */
+    List<MemberWorkloadDto> selectTeamWorkload(@Param("teamId") String teamId,
+                                               @Param("userIds") Collection<String> userIds,
+                                               @Param("inProgressOnly") boolean inProgressOnly);
+
+    /**
+     * 按成员分组统计团队逾期任务数（未开始/进行中且截止日在 [start, before) 内），按数量降序
+     *
+     * @param limit 仅返回前 N 名；为 null 时返回全部
+     */
+    List<KeyCountDto> selectTeamOverdueByMember(@Param("teamId") String teamId,
+                                                @Param("start") LocalDate start,
+                                                @Param("before") LocalDate before,
+                                                @Param("limit") Integer limit);
+
+    /**
+     * 与给定任务相关的全部用户ID（任务关系用户与子任务执行者）；包含已逻辑删除的关系，供统计缓存失效使用
+     */
+    List<String> selectUserIdsByTaskIds(@Param("taskIds") Collection<String> taskIds);
 }
@@ -0,0 +1,39 @@
+package top.smartduck.ducktodo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import top.smartduck.ducktodo.model.entity.TaskFile;
+import top.smartduck.ducktodo.model.entity.TeamDeleteJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 团队删除任务及其分批级联查询：每次只取最多 limit 个尚未删除的主键（或直接按团队索引更新最多 limit 行），
+ * 父表不过滤 is_delete，因此各阶段可重复执行、顺序中断后可从任一阶段继续。
+ */
+@Mapper
+public interface TeamDeleteJobMapper extends BaseMapper<TeamDeleteJob> {
+
+    /**
+     * 认领任务：待执行/失败待重试，或执行中但心跳早于 staleBefore（执行实例已中断）
+     *
+     * @return 1 表示认领成功
+     */
+    int claim(@Param("jobId") String jobId, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    List<String> selectTaskGroupMemberIds(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    List<String> selectTaskNodeIds(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    List<String> selectTaskUserRelationIds(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    List<TaskFile> selectTaskFileChunk(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    List<String> selectChildTaskIds(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    int softDeleteTasks(@Param("teamId") String teamId, @Param("limit") int limit);
+
+    int softDeleteTaskGroups(@Param("teamId") String teamId, @Param("limit") int limit);
+}
@@ -2,8 +2,16 @@ package top.smartduck.ducktodo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import top.smartduck.ducktodo.model.entity.TeamUserRelation;
 
+import java.util.List;
+
 @Mapper
 public interface TeamUserRelationMapper extends BaseMapper<TeamUserRelation> {
+
+    /**
+     * 需要重排排序键的用户ID：存在排序键为空或长度超过 maxLength 的关系
+     */
+    List<String> selectUserIdsNeedingTeamRankRebalance(@Param("maxLength") int maxLength, @Param("limit") int limit);
 }
@@ -0,0 +1,24 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 燃尽序列 DTO：数组以区间起始日为下标 0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurndownSeriesDto {
+
+    /**
+     * 当日结束时仍未完成的任务数（截至当日累计创建 - 截至当日累计完成）
+     */
+    private int[] remaining;
+
+    /**
+     * 当日完成的任务数（按`finishTime`所在日期）
+     */
+    private int[] completed;
+}
@@ -0,0 +1,20 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+/**
+ * 周期时间样本 DTO（一条已完成任务的 开始→完成 耗时，流式读取时逐行回调）
+ */
+@Data
+public class CycleTimeSampleDto {
+
+    /**
+     * 归属键（用户ID或团队ID，按单一对象查询时为 null）
+     */
+    private String statKey;
+
+    /**
+     * 耗时（小时）
+     */
+    private Double hours;
+}
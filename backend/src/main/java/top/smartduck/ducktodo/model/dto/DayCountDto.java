@@ -0,0 +1,22 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 按日分组计数结果 DTO（对应 `GROUP BY DATE(...)` 聚合查询的一行）
+ */
+@Data
+public class DayCountDto {
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 当日计数
+     */
+    private Long statCount;
+}
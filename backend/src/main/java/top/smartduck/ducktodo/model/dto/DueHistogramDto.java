@@ -0,0 +1,24 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 到期直方图 DTO：`daily` 以今天为下标 0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DueHistogramDto {
+
+    /**
+     * 已逾期（截止日早于今天且未开始/进行中）的数量
+     */
+    private int overdue;
+
+    /**
+     * 逐日到期数量：daily[i] 为截止日为 today + i 的数量
+     */
+    private int[] daily;
+}
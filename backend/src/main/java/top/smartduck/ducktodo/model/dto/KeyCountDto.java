@@ -0,0 +1,20 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+/**
+ * 按键分组计数结果 DTO（对应 `GROUP BY 某ID列` 聚合查询的一行）
+ */
+@Data
+public class KeyCountDto {
+
+    /**
+     * 分组键（如用户ID、任务族ID），可能为 null
+     */
+    private String statKey;
+
+    /**
+     * 计数
+     */
+    private Long statCount;
+}
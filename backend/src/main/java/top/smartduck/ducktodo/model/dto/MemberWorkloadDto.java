@@ -0,0 +1,25 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+/**
+ * 团队成员负载聚合结果 DTO（任务关系 ⨝ 任务按成员分组计数）
+ */
+@Data
+public class MemberWorkloadDto {
+
+    /**
+     * 成员用户ID
+     */
+    private String userId;
+
+    /**
+     * 成员在团队内相关的任务总数（仅统计进行中时为 0）
+     */
+    private Long totalCount;
+
+    /**
+     * 成员在团队内相关的进行中任务数
+     */
+    private Long inProgressCount;
+}
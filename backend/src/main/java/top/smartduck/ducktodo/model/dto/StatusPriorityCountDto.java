@@ -0,0 +1,30 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+/**
+ * 按状态与优先级分组计数结果 DTO（对应 `GROUP BY status, priority` 聚合查询的一行）
+ */
+@Data
+public class StatusPriorityCountDto {
+
+    /**
+     * 状态
+     */
+    private Integer taskStatus;
+
+    /**
+     * 优先级（子任务取父任务优先级）
+     */
+    private Integer taskPriority;
+
+    /**
+     * 数量
+     */
+    private Long statCount;
+
+    /**
+     * 其中已逾期（未开始/进行中且截止日早于今天）的数量
+     */
+    private Long overdueCount;
+}
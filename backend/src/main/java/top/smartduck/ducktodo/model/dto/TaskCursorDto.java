@@ -0,0 +1,79 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import top.smartduck.ducktodo.model.entity.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 任务列表游标 DTO（keyset 分页）
+ *
+ * 记录上一页最后一条任务的完整排序键（due_time、task_priority、create_time、task_id），
+ * 对外以不透明字符串传递；排序模式一并编码，换用其他排序模式时旧游标失效。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCursorDto {
+
+    private static final String VERSION = "v1";
+    private static final String SEP = "|";
+
+    /**
+     * 排序模式（与 TaskPageQueryDto.sortByMode 一致，空值记为 -1）
+     */
+    private Integer sortByMode;
+
+    private LocalDate dueTime;
+
+    private Integer taskPriority;
+
+    private LocalDateTime createTime;
+
+    private String taskId;
+
+    /**
+     * 以指定任务为上一页末尾构造游标
+     */
+    public static TaskCursorDto of(Task last, Integer sortByMode) {
+        return new TaskCursorDto(normalizeMode(sortByMode), last.getDueTime(), last.getTaskPriority(),
+                last.getCreateTime(), last.getTaskId());
+    }
+
+    /**
+     * 编码为 URL 安全的不透明字符串
+     */
+    public String encode() {
+        String raw = String.join(SEP, VERSION, String.valueOf(sortByMode), String.valueOf(dueTime),
+                String.valueOf(taskPriority), String.valueOf(createTime), taskId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串；格式非法或排序模式不匹配时返回 null
+     */
+    public static TaskCursorDto decode(String cursor, Integer sortByMode) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) return null;
+            int mode = Integer.parseInt(parts[1]);
+            if (mode != normalizeMode(sortByMode)) return null;
+            TaskCursorDto c = new TaskCursorDto(mode, LocalDate.parse(parts[2]), Integer.valueOf(parts[3]),
+                    LocalDateTime.parse(parts[4]), parts[5]);
+            return c.getTaskId().isEmpty() ? null : c;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int normalizeMode(Integer sortByMode) {
+        return (sortByMode == null || (sortByMode != 0 && sortByMode != 1)) ? -1 : sortByMode;
+    }
+}
@@ -0,0 +1,46 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 团队任务图谱摘要 DTO（由 TaskGraphService 的缓存快照计算）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskGraphSummaryDto {
+
+    /**
+     * 节点数量
+     */
+    private int nodeCount;
+
+    /**
+     * 边数量（源或目标属于团队）
+     */
+    private int edgeCount;
+
+    /**
+     * 节点类型 → 数量
+     */
+    private Map<String, Integer> nodeTypeCounts;
+
+    /**
+     * 边类型 → 数量
+     */
+    private Map<String, Integer> edgeTypeCounts;
+
+    /**
+     * 是否无环
+     */
+    private boolean acyclic;
+
+    /**
+     * 关键路径长度（最长依赖链上的节点数；存在环时为 -1）
+     */
+    private int criticalPathLength;
+}
@@ -0,0 +1,53 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 任务列表查询条件 DTO（供 `TaskMapper` 自定义分页 SQL 使用）
+ */
+@Data
+public class TaskPageQueryDto {
+
+    /**
+     * 当前用户ID（非空时仅返回与该用户存在协助/拥有者关系的任务）
+     */
+    private String userId;
+
+    /**
+     * 任务族ID列表（可选）
+     */
+    private List<String> taskGroupIds;
+
+    /**
+     * 任务名称（模糊匹配）
+     */
+    private String taskName;
+
+    /**
+     * 任务状态筛选
+     */
+    private List<Integer> taskStatusList;
+
+    /**
+     * 任务优先级筛选
+     */
+    private List<Integer> taskPriorityList;
+
+    /**
+     * 截止时间起（含）
+     */
+    private LocalDate startDueTime;
+
+    /**
+     * 截止时间止（含）
+     */
+    private LocalDate endDueTime;
+
+    /**
+     * 排序模式：0=按截止时间；1=按优先级；其他=创建时间倒序
+     */
+    private Integer sortByMode;
+}
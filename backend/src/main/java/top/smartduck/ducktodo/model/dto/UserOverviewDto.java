@@ -0,0 +1,60 @@
+package top.smartduck.ducktodo.model.dto;
+
+import lombok.Data;
+
+/**
+ * 个人概览聚合结果 DTO（单条条件聚合查询一次取得全部计数）
+ */
+@Data
+public class UserOverviewDto {
+
+    /**
+     * 加入且状态正常的团队数量
+     */
+    private Integer teamCount;
+
+    /**
+     * 加入且状态正常的任务族数量
+     */
+    private Integer taskGroupCount;
+
+    /**
+     * 相关主任务中进行中的数量
+     */
+    private Integer tasksInProgress;
+
+    /**
+     * 作为执行者的进行中子任务数量
+     */
+    private Integer childTasksInProgress;
+
+    /**
+     * 本周（周一至周日）完成数量
+     */
+    private Integer completedWeek;
+
+    /**
+     * 本月完成数量
+     */
+    private Integer completedMonth;
+
+    /**
+     * 累计完成数量
+     */
+    private Integer completedTotal;
+
+    /**
+     * 逾期总数（未开始或进行中且截止日早于今天）
+     */
+    private Integer overdueTotal;
+
+    /**
+     * 中度逾期（逾期 1~3 天）
+     */
+    private Integer overdueModerate;
+
+    /**
+     * 严重逾期（逾期超过 3 天）
+     */
+    private Integer overdueSevere;
+}
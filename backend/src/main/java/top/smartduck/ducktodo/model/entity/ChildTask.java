@@ -44,10 +44,15 @@ public class ChildTask implements Serializable {
     private Integer childTaskStatus;
 
     /**
-     * 子任务索引，用于用户界面排序
+     * 子任务索引（创建时的序号），排序以 childTaskRank 为准
      */
     private Integer childTaskIndex;
 
+    /**
+     * 子任务排序键（LexoRank），同一父任务内按字节序升序排列，用于用户界面排序
+     */
+    private String childTaskRank;
+
     /**
      * 子任务指派成员用户id
      */
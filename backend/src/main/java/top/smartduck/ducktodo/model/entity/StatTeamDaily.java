@@ -0,0 +1,113 @@
+package top.smartduck.ducktodo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 团队日统计汇总实体，对应表 `stat_team_daily`。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("stat_team_daily")
+public class StatTeamDaily implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 团队日统计id（UUID）
+     */
+    @TableId(value = "stat_team_daily_id", type = IdType.ASSIGN_UUID)
+    private String statTeamDailyId;
+
+    /**
+     * 团队id（UUID）
+     */
+    private String teamId;
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 当日创建的团队任务数
+     */
+    private Integer createdCount;
+
+    /**
+     * 当日完成的团队任务数
+     */
+    private Integer completedCount;
+
+    /**
+     * 汇总时处于逾期的团队任务数（快照）
+     */
+    private Integer overdueCount;
+
+    /**
+     * 汇总时处于进行中的团队任务数（快照）
+     */
+    private Integer inProgressCount;
+
+    /**
+     * 当日团队任务的审计事件数
+     */
+    private Integer auditCount;
+
+    /**
+     * 当日创建的P0优先级团队任务数
+     */
+    private Integer priorityP0Count;
+
+    /**
+     * 当日创建的P1优先级团队任务数
+     */
+    private Integer priorityP1Count;
+
+    /**
+     * 当日创建的P2优先级团队任务数
+     */
+    private Integer priorityP2Count;
+
+    /**
+     * 当日创建的P3优先级团队任务数
+     */
+    private Integer priorityP3Count;
+
+    /**
+     * 当日创建的P4优先级团队任务数
+     */
+    private Integer priorityP4Count;
+
+    /**
+     * 当日完成的团队任务周期时间分位数草图，格式见 QuantileSketch#serialize
+     */
+    private String cycleTimeSketch;
+
+    /**
+     * 是否删除 0-未删除 1-已删除
+     */
+    @TableLogic
+    private Integer isDelete;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,113 @@
+package top.smartduck.ducktodo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 用户日统计汇总实体，对应表 `stat_user_daily`。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("stat_user_daily")
+public class StatUserDaily implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户日统计id（UUID）
+     */
+    @TableId(value = "stat_user_daily_id", type = IdType.ASSIGN_UUID)
+    private String statUserDailyId;
+
+    /**
+     * 用户id（UUID）
+     */
+    private String userId;
+
+    /**
+     * 统计日期
+     */
+    private LocalDate statDate;
+
+    /**
+     * 当日创建的相关任务数
+     */
+    private Integer createdCount;
+
+    /**
+     * 当日完成的相关任务数
+     */
+    private Integer completedCount;
+
+    /**
+     * 汇总时处于逾期的相关任务数（快照）
+     */
+    private Integer overdueCount;
+
+    /**
+     * 汇总时处于进行中的相关任务数（快照）
+     */
+    private Integer inProgressCount;
+
+    /**
+     * 当日作为操作人的审计事件数
+     */
+    private Integer auditCount;
+
+    /**
+     * 当日创建的P0优先级任务数
+     */
+    private Integer priorityP0Count;
+
+    /**
+     * 当日创建的P1优先级任务数
+     */
+    private Integer priorityP1Count;
+
+    /**
+     * 当日创建的P2优先级任务数
+     */
+    private Integer priorityP2Count;
+
+    /**
+     * 当日创建的P3优先级任务数
+     */
+    private Integer priorityP3Count;
+
+    /**
+     * 当日创建的P4优先级任务数
+     */
+    private Integer priorityP4Count;
+
+    /**
+     * 当日完成的相关任务周期时间分位数草图，格式见 QuantileSketch#serialize
+     */
+    private String cycleTimeSketch;
+
+    /**
+     * 是否删除 0-未删除 1-已删除
+     */
+    @TableLogic
+    private Integer isDelete;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+}
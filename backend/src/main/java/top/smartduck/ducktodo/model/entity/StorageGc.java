@@ -0,0 +1,70 @@
+package top.smartduck.ducktodo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 对象存储待回收实体，对应表 `storage_gc`。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("storage_gc")
+public class StorageGc implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 待回收对象id（UUID）
+     */
+    @TableId(value = "storage_gc_id", type = IdType.ASSIGN_UUID)
+    private String storageGcId;
+
+    /**
+     * 对象存储中的对象名（不含 bucket）
+     */
+    private String objectName;
+
+    /**
+     * 回收状态，0-待回收，1-回收失败（超过最大重试次数）
+     */
+    private Integer gcStatus;
+
+    /**
+     * 已尝试删除次数
+     */
+    private Integer attemptCount;
+
+    /**
+     * 下次尝试删除的时间（失败后按指数退避推迟）
+     */
+    private LocalDateTime nextAttemptTime;
+
+    /**
+     * 最近一次删除失败原因
+     */
+    private String lastError;
+
+    /**
+     * 是否删除 0-未删除 1-已删除
+     */
+    @TableLogic
+    private Integer isDelete;
+
+    /**
+     * 创建时间（即入队时间）
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -32,6 +32,11 @@ public class TaskAudit implements Serializable {
      */
     private String taskId;
 
+    /**
+     * 所属团队id（UUID），写入时冗余自任务
+     */
+    private String teamId;
+
     /**
      * 操作人id（UUID）
      */
@@ -47,6 +47,11 @@ public class TaskFile implements Serializable {
      */
     private String taskFilePath;
 
+    /**
+     * 附件对象存储中的对象名（不含 bucket）
+     */
+    private String taskFileObjectName;
+
     /**
      * 附件类型（MIME类型或分类）
      */
@@ -48,10 +48,15 @@ public class TaskGroupUserRelation implements Serializable {
     private Integer userStatus;
 
     /**
-     * 任务族索引，用于用户界面排序
+     * 任务族索引（加入时的序号），排序以 groupRank 为准
      */
     private Integer groupIndex;
 
+    /**
+     * 任务族排序键（LexoRank），同一用户的任务族按字节序升序排列，用于用户界面排序
+     */
+    private String groupRank;
+
     /**
      * 任务族颜色，用于用户界面显示
      */
@@ -0,0 +1,90 @@
+package top.smartduck.ducktodo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 团队级联删除任务实体，对应表 `team_delete_job`。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("team_delete_job")
+public class TeamDeleteJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 团队删除任务id（UUID）
+     */
+    @TableId(value = "team_delete_job_id", type = IdType.ASSIGN_UUID)
+    private String teamDeleteJobId;
+
+    /**
+     * 被删除的团队id（UUID）
+     */
+    private String teamId;
+
+    /**
+     * 提交删除的用户id（UUID）
+     */
+    private String operatorId;
+
+    /**
+     * 任务状态，0-待执行，1-执行中，2-已完成，3-失败待重试
+     */
+    private Integer jobStatus;
+
+    /**
+     * 当前级联阶段（按阶段顺序推进，重启后从该阶段继续）
+     */
+    private String jobStage;
+
+    /**
+     * 已逻辑删除的行数
+     */
+    private Long deletedRows;
+
+    /**
+     * 执行（认领）次数
+     */
+    private Integer attemptCount;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 最近一次进度写入时间，执行中且心跳过期视为中断，可被重新认领
+     */
+    private LocalDateTime heartbeatTime;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime finishTime;
+
+    /**
+     * 是否删除 0-未删除 1-已删除
+     */
+    @TableLogic
+    private Integer isDelete;
+
+    /**
+     * 创建时间（即提交删除时间）
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -48,10 +48,15 @@ public class TeamUserRelation implements Serializable {
     private Integer userStatus;
 
     /**
-     * 团队索引，用于用户界面排序
+     * 团队索引（加入时的序号），排序以 teamRank 为准
      */
     private Integer teamIndex;
 
+    /**
+     * 团队排序键（LexoRank），同一用户的团队按字节序升序排列，用于用户界面排序
+     */
+    private String teamRank;
+
     /**
      * 团队颜色，用于用户界面显示
      */
@@ -0,0 +1,23 @@
+package top.smartduck.ducktodo.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 新增团队任务图谱依赖边的请求体。
+ * 源节点与目标节点须同属该团队，且新增后不得形成循环依赖。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateTaskEdgeRequest {
+    /** 源节点ID */
+    private String sourceNodeId;
+    /** 目标节点ID */
+    private String targetNodeId;
+    /** 边类型 */
+    private String edgeType;
+    /** 边描述 */
+    private String edgeDescription;
+}
@@ -0,0 +1,22 @@
+package top.smartduck.ducktodo.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 任务列表游标分页响应：
+ * - records：当前页任务摘要
+ * - nextCursor：下一页游标（不透明字符串，无更多数据时为 null）
+ * - hasMore：是否还有下一页
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCursorPageResponse {
+    private List<TaskSummaryResponse> records;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package top.smartduck.ducktodo.model.response.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleTimeResponse {
+    private long sampleSize;
+    private double meanHours;
+    private double p50Hours;
+    private double p75Hours;
+    private double p90Hours;
+    private double p99Hours;
+}
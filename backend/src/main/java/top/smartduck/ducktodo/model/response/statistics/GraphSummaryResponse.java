@@ -14,6 +14,8 @@ public class GraphSummaryResponse {
     private int edgeCount;
     private List<NodeTypeBucket> nodeTypes;
     private List<EdgeTypeBucket> edgeTypes;
+    private boolean acyclic;
+    private int criticalPathLength;
 
     @Data
     @NoArgsConstructor
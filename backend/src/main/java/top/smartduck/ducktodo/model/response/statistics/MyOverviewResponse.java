@@ -0,0 +1,17 @@
+package top.smartduck.ducktodo.model.response.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyOverviewResponse {
+    private JoinedCountResponse joined;
+    private InProgressCountResponse inProgress;
+    private CompletedCountResponse completedWeek;
+    private CompletedCountResponse completedMonth;
+    private CompletedCountResponse completedTotal;
+    private OverdueCountResponse overdue;
+}
@@ -3,5 +3,29 @@ package top.smartduck.ducktodo.modelService;
 import com.baomidou.mybatisplus.extension.service.IService;
 import top.smartduck.ducktodo.model.entity.ChildTask;
 
+import java.util.List;
+
 public interface ChildTaskService extends IService<ChildTask> {
+
+    /**
+     * 该任务子任务列表末尾的新排序键（按索引只读取最后一条子任务）
+     */
+    String nextChildTaskRank(String taskId);
+
+    /**
+     * 将子任务移动到目标顺序：只为不在“最长保序子序列”中的子任务生成新排序键，
+     * 单个子任务移动只写入一行；现有排序键缺失/重复或新键过长时退化为整体重排
+     *
+     * @param taskId 父任务ID
+     * @param orderedChildIds 目标顺序（需与当前子任务集合一致）
+     * @return 按新顺序排列的子任务列表
+     */
+    List<ChildTask> reorder(String taskId, List<String> orderedChildIds);
+
+    /**
+     * 按当前顺序为该任务的子任务重新生成等宽排序键，只写入发生变化的行
+     *
+     * @return 改写的行数
+     */
+    int rebalanceChildTaskRanks(String taskId);
 }
@@ -0,0 +1,7 @@
+package top.smartduck.ducktodo.modelService;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import top.smartduck.ducktodo.model.entity.StatUserDaily;
+
+public interface StatUserDailyService extends IService<StatUserDaily> {
+}
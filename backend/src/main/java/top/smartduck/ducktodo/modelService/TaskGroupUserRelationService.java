@@ -6,4 +6,16 @@ import top.smartduck.ducktodo.model.entity.TaskGroupUserRelation;
 public interface TaskGroupUserRelationService extends IService<TaskGroupUserRelation> {
     int countByUserId(String userId);
     boolean swapGroupOrder(String userId, String relationIdA, String relationIdB);
+
+    /**
+     * 该用户任务族列表末尾的新排序键（按索引只读取最后一条关系）
+     */
+    String nextGroupRank(String userId);
+
+    /**
+     * 按当前顺序为该用户的任务族关系重新生成等宽排序键，只写入发生变化的行
+     *
+     * @return 改写的行数
+     */
+    int rebalanceGroupRanks(String userId);
 }
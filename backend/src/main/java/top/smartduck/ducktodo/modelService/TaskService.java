@@ -1,7 +1,32 @@
 package top.smartduck.ducktodo.modelService;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import top.smartduck.ducktodo.model.dto.TaskCursorDto;
+import top.smartduck.ducktodo.model.dto.TaskPageQueryDto;
 import top.smartduck.ducktodo.model.entity.Task;
 
+import java.util.List;
+
 public interface TaskService extends IService<Task> {
+
+    /**
+     * 分页查询与用户相关的任务（数据库侧完成关联过滤、排序与分页，并返回总数）
+     *
+     * @param query 查询条件（userId 必填）
+     * @param page 页码（从 1 开始）
+     * @param size 每页大小
+     * @return 任务分页
+     */
+    Page<Task> pageRelatedTasks(TaskPageQueryDto query, long page, long size);
+
+    /**
+     * 游标分页查询任务（keyset 定位，不计算总数，开销与页深无关）
+     *
+     * @param query 查询条件（userId 为空时不限制关联关系）
+     * @param cursor 上一页末尾游标，为空表示第一页
+     * @param limit 最多返回条数
+     * @return 按排序模式排列的任务列表
+     */
+    List<Task> listTasksAfter(TaskPageQueryDto query, TaskCursorDto cursor, int limit);
 }
@@ -6,4 +6,16 @@ import top.smartduck.ducktodo.model.entity.TeamUserRelation;
 public interface TeamUserRelationService extends IService<TeamUserRelation> {
     int countByUserId(String userId);
     boolean swapTeamOrder(String userId, String relationIdA, String relationIdB);
+
+    /**
+     * 该用户团队列表末尾的新排序键（按索引只读取最后一条关系）
+     */
+    String nextTeamRank(String userId);
+
+    /**
+     * 按当前顺序为该用户的团队关系重新生成等宽排序键，只写入发生变化的行
+     *
+     * @return 改写的行数
+     */
+    int rebalanceTeamRanks(String userId);
 }
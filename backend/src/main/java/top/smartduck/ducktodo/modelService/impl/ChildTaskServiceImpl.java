@@ -1,11 +1,158 @@
 package top.smartduck.ducktodo.modelService.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import top.smartduck.ducktodo.mapper.ChildTaskMapper;
 import top.smartduck.ducktodo.model.entity.ChildTask;
 import top.smartduck.ducktodo.modelService.ChildTaskService;
+import top.smartduck.ducktodo.util.LexoRank;
+
+import java.util.*;
 
 @Service
 public class ChildTaskServiceImpl extends ServiceImpl<ChildTaskMapper, ChildTask> implements ChildTaskService {
+
+    /**
+     * 子任务展示顺序：排序键升序 → 创建时间降序
+     */
+    private static final Comparator<ChildTask> DISPLAY_ORDER = Comparator
+            .comparing(ChildTask::getChildTaskRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ChildTask::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    @Override
+    public String nextChildTaskRank(String taskId) {
+        ChildTask last = this.getOne(new LambdaQueryWrapper<ChildTask>()
+                .select(ChildTask::getChildTaskRank)
+                .eq(ChildTask::getTaskId, taskId)
+                .isNotNull(ChildTask::getChildTaskRank)
+                .orderByDesc(ChildTask::getChildTaskRank)
+                .last("LIMIT 1"), false);
+        return LexoRank.after(last == null || !LexoRank.isValid(last.getChildTaskRank()) ? null : last.getChildTaskRank());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<ChildTask> reorder(String taskId, List<String> orderedChildIds) {
+        List<ChildTask> current = this.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, taskId));
+        current.sort(DISPLAY_ORDER);
+        Map<String, Integer> position = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) position.put(current.get(i).getChildTaskId(), i);
+
+        int n = orderedChildIds.size();
+        ChildTask[] target = new ChildTask[n];
+        int[] seq = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer p = position.get(orderedChildIds.get(i));
+            if (p == null) throw new IllegalArgumentException("Child task not under task: " + orderedChildIds.get(i));
+            seq[i] = p;
+            target[i] = current.get(p);
+        }
+
+        String[] ranks = new String[n];
+        if (ranksUsable(current)) {
+            // 保序子序列中的子任务保留原键，其余子任务在左右邻居之间取新键
+            boolean[] keep = longestIncreasing(seq);
+            String hi = null;
+            String[] nextKept = new String[n];
+            for (int i = n - 1; i >= 0; i--) {
+                nextKept[i] = hi;
+                if (keep[i]) hi = target[i].getChildTaskRank();
+            }
+            String lo = null;
+            for (int i = 0; i < n; i++) {
+                ranks[i] = keep[i] ? target[i].getChildTaskRank() : LexoRank.between(lo, nextKept[i]);
+                if (ranks[i].length() > LexoRank.MAX_LENGTH) {
+                    ranks = null;
+                    break;
+                }
+                lo = ranks[i];
+            }
+        } else {
+            ranks = null;
+        }
+        if (ranks == null) {
+            ranks = new String[n];
+            for (int i = 0; i < n; i++) ranks[i] = LexoRank.sequence(i + 1);
+        }
+
+        List<ChildTask> changed = new ArrayList<>();
+        List<ChildTask> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ChildTask ct = target[i];
+            if (!ranks[i].equals(ct.getChildTaskRank())) {
+                changed.add(rankUpdate(ct.getChildTaskId(), ranks[i]));
+                ct.setChildTaskRank(ranks[i]);
+            }
+            out.add(ct);
+        }
+        if (!changed.isEmpty() && !this.updateBatchById(changed)) {
+            throw new IllegalStateException("Failed to update child task ranks of task " + taskId);
+        }
+        return out;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int rebalanceChildTaskRanks(String taskId) {
+        List<ChildTask> children = this.list(new LambdaQueryWrapper<ChildTask>().eq(ChildTask::getTaskId, taskId));
+        children.sort(DISPLAY_ORDER);
+        List<ChildTask> changed = new ArrayList<>();
+        for (int i = 0; i < children.size(); i++) {
+            String rank = LexoRank.sequence(i + 1);
+            if (!rank.equals(children.get(i).getChildTaskRank())) {
+                changed.add(rankUpdate(children.get(i).getChildTaskId(), rank));
+            }
+        }
+        if (!changed.isEmpty()) this.updateBatchById(changed);
+        return changed.size();
+    }
+
+    /**
+     * 仅含主键与排序键的更新实体（其余字段为 null，不参与 UPDATE）
+     */
+    private static ChildTask rankUpdate(String childTaskId, String rank) {
+        ChildTask u = new ChildTask();
+        u.setChildTaskId(childTaskId);
+        u.setChildTaskRank(rank);
+        return u;
+    }
+
+    /**
+     * 已按排序键升序排列的列表中，排序键均合法且互不相同
+     */
+    private static boolean ranksUsable(List<ChildTask> sorted) {
+        String prev = null;
+        for (ChildTask ct : sorted) {
+            String rank = ct.getChildTaskRank();
+            if (!LexoRank.isValid(rank) || (prev != null && prev.compareTo(rank) >= 0)) return false;
+            prev = rank;
+        }
+        return true;
+    }
+
+    /**
+     * 最长严格递增子序列（O(n log n)），返回各位置是否属于该子序列
+     */
+    private static boolean[] longestIncreasing(int[] seq) {
+        int n = seq.length;
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        int len = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0, hi = len;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (seq[tails[mid]] < seq[i]) lo = mid + 1;
+                else hi = mid;
+            }
+            parent[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == len) len++;
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = len > 0 ? tails[len - 1] : -1; i >= 0; i = parent[i]) keep[i] = true;
+        return keep;
+    }
 }
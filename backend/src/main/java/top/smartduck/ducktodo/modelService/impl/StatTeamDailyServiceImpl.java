@@ -0,0 +1,11 @@
+package top.smartduck.ducktodo.modelService.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.StatTeamDailyMapper;
+import top.smartduck.ducktodo.model.entity.StatTeamDaily;
+import top.smartduck.ducktodo.modelService.StatTeamDailyService;
+
+@Service
+public class StatTeamDailyServiceImpl extends ServiceImpl<StatTeamDailyMapper, StatTeamDaily> implements StatTeamDailyService {
+}
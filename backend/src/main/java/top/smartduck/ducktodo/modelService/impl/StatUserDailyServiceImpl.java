@@ -0,0 +1,11 @@
+package top.smartduck.ducktodo.modelService.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.StatUserDailyMapper;
+import top.smartduck.ducktodo.model.entity.StatUserDaily;
+import top.smartduck.ducktodo.modelService.StatUserDailyService;
+
+@Service
+public class StatUserDailyServiceImpl extends ServiceImpl<StatUserDailyMapper, StatUserDaily> implements StatUserDailyService {
+}
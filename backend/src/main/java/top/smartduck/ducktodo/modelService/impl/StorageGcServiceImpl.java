@@ -0,0 +1,11 @@
+package top.smartduck.ducktodo.modelService.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.StorageGcMapper;
+import top.smartduck.ducktodo.model.entity.StorageGc;
+import top.smartduck.ducktodo.modelService.StorageGcService;
+
+@Service
+public class StorageGcServiceImpl extends ServiceImpl<StorageGcMapper, StorageGc> implements StorageGcService {
+}
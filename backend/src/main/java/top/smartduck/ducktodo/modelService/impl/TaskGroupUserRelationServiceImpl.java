@@ -8,9 +8,24 @@ import top.smartduck.ducktodo.common.enums.UserStatusEnum;
 import top.smartduck.ducktodo.mapper.TaskGroupUserRelationMapper;
 import top.smartduck.ducktodo.model.entity.TaskGroupUserRelation;
 import top.smartduck.ducktodo.modelService.TaskGroupUserRelationService;
+import top.smartduck.ducktodo.util.LexoRank;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 public class TaskGroupUserRelationServiceImpl extends ServiceImpl<TaskGroupUserRelationMapper, TaskGroupUserRelation> implements TaskGroupUserRelationService {
+
+    /**
+     * 用户维度的任务族顺序：排序键升序 → 索引升序 → 加入时间升序
+     */
+    private static final Comparator<TaskGroupUserRelation> DISPLAY_ORDER = Comparator
+            .comparing(TaskGroupUserRelation::getGroupRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskGroupUserRelation::getGroupIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskGroupUserRelation::getJoinTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
     @Override
     public int countByUserId(String userId) {
         return (int) this.count(new LambdaQueryWrapper<TaskGroupUserRelation>()
@@ -18,6 +33,9 @@ public class TaskGroupUserRelationServiceImpl extends ServiceImpl<TaskGroupUserR
                 .eq(TaskGroupUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
     }
 
+    /**
+     * 交换两个关系的排序键（只写这两行）；任一键缺失或两键相同时先整体重排该用户的列表
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean swapGroupOrder(String userId, String relationIdA, String relationIdB) {
@@ -29,41 +47,51 @@ public class TaskGroupUserRelationServiceImpl extends ServiceImpl<TaskGroupUserR
         if (relA == null || relB == null) return false;
         if (!userId.equals(relA.getUserId()) || !userId.equals(relB.getUserId())) return false;
 
-        Integer idxA = relA.getGroupIndex();
-        Integer idxB = relB.getGroupIndex();
+        String rankA = relA.getGroupRank();
+        String rankB = relB.getGroupRank();
+        if (!LexoRank.isValid(rankA) || !LexoRank.isValid(rankB) || Objects.equals(rankA, rankB)) {
+            rebalanceGroupRanks(userId);
+            rankA = this.getById(relationIdA).getGroupRank();
+            rankB = this.getById(relationIdB).getGroupRank();
+        }
 
-        if (idxA == null && idxB == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
-                    .eq(TaskGroupUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TaskGroupUserRelation::getGroupIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxA = max + 1;
-            idxB = max + 2;
-        } else if (idxA == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
-                    .eq(TaskGroupUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TaskGroupUserRelation::getGroupIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxA = max + 1;
-        } else if (idxB == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TaskGroupUserRelation>()
-                    .eq(TaskGroupUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TaskGroupUserRelation::getGroupIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxB = max + 1;
+        return this.updateById(rankUpdate(relationIdA, rankB)) && this.updateById(rankUpdate(relationIdB, rankA));
+    }
+
+    @Override
+    public String nextGroupRank(String userId) {
+        TaskGroupUserRelation last = this.getOne(new LambdaQueryWrapper<TaskGroupUserRelation>()
+                .select(TaskGroupUserRelation::getGroupRank)
+                .eq(TaskGroupUserRelation::getUserId, userId)
+                .isNotNull(TaskGroupUserRelation::getGroupRank)
+                .orderByDesc(TaskGroupUserRelation::getGroupRank)
+                .last("LIMIT 1"), false);
+        return LexoRank.after(last == null || !LexoRank.isValid(last.getGroupRank()) ? null : last.getGroupRank());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int rebalanceGroupRanks(String userId) {
+        List<TaskGroupUserRelation> rels = this.list(new LambdaQueryWrapper<TaskGroupUserRelation>().eq(TaskGroupUserRelation::getUserId, userId));
+        rels.sort(DISPLAY_ORDER);
+        List<TaskGroupUserRelation> changed = new ArrayList<>();
+        for (int i = 0; i < rels.size(); i++) {
+            String rank = LexoRank.sequence(i + 1);
+            if (!rank.equals(rels.get(i).getGroupRank())) {
+                changed.add(rankUpdate(rels.get(i).getTaskGroupUserRelationId(), rank));
+            }
         }
+        if (!changed.isEmpty()) this.updateBatchById(changed);
+        return changed.size();
+    }
 
-        relA.setGroupIndex(idxB);
-        relB.setGroupIndex(idxA);
-        return this.updateById(relA) && this.updateById(relB);
+    /**
+     * 仅含主键与排序键的更新实体（其余字段为 null，不参与 UPDATE）
+     */
+    private static TaskGroupUserRelation rankUpdate(String relationId, String rank) {
+        TaskGroupUserRelation u = new TaskGroupUserRelation();
+        u.setTaskGroupUserRelationId(relationId);
+        u.setGroupRank(rank);
+        return u;
     }
 }
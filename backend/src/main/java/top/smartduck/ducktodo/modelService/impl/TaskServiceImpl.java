@@ -1,11 +1,28 @@
 package top.smartduck.ducktodo.modelService.impl;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import org.springframework.stereotype.Service;
 import top.smartduck.ducktodo.mapper.TaskMapper;
+import top.smartduck.ducktodo.model.dto.TaskCursorDto;
+import top.smartduck.ducktodo.model.dto.TaskPageQueryDto;
 import top.smartduck.ducktodo.model.entity.Task;
 import top.smartduck.ducktodo.modelService.TaskService;
 
+import java.util.List;
+
 @Service
 public class TaskServiceImpl extends ServiceImpl<TaskMapper, Task> implements TaskService {
+
+    @Override
+    public Page<Task> pageRelatedTasks(TaskPageQueryDto query, long page, long size) {
+        Page<Task> p = new Page<>(page, size);
+        baseMapper.selectRelatedTaskPage(p, query);
+        return p;
+    }
+
+    @Override
+    public List<Task> listTasksAfter(TaskPageQueryDto query, TaskCursorDto cursor, int limit) {
+        return baseMapper.selectRelatedTaskAfter(query, cursor, limit);
+    }
 }
@@ -0,0 +1,11 @@
+package top.smartduck.ducktodo.modelService.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.TeamDeleteJobMapper;
+import top.smartduck.ducktodo.model.entity.TeamDeleteJob;
+import top.smartduck.ducktodo.modelService.TeamDeleteJobService;
+
+@Service
+public class TeamDeleteJobServiceImpl extends ServiceImpl<TeamDeleteJobMapper, TeamDeleteJob> implements TeamDeleteJobService {
+}
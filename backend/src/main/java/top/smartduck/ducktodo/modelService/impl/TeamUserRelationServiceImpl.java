@@ -8,9 +8,24 @@ import top.smartduck.ducktodo.common.enums.UserStatusEnum;
 import top.smartduck.ducktodo.mapper.TeamUserRelationMapper;
 import top.smartduck.ducktodo.model.entity.TeamUserRelation;
 import top.smartduck.ducktodo.modelService.TeamUserRelationService;
+import top.smartduck.ducktodo.util.LexoRank;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 public class TeamUserRelationServiceImpl extends ServiceImpl<TeamUserRelationMapper, TeamUserRelation> implements TeamUserRelationService {
+
+    /**
+     * 用户维度的团队顺序：排序键升序 → 索引升序 → 加入时间升序
+     */
+    private static final Comparator<TeamUserRelation> DISPLAY_ORDER = Comparator
+            .comparing(TeamUserRelation::getTeamRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TeamUserRelation::getTeamIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TeamUserRelation::getJoinTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
     @Override
     public int countByUserId(String userId) {
         return (int) this.count(new LambdaQueryWrapper<TeamUserRelation>()
@@ -18,6 +33,9 @@ public class TeamUserRelationServiceImpl extends ServiceImpl<TeamUserRelationMap
                 .eq(TeamUserRelation::getUserStatus, UserStatusEnum.NORMAL.getCode()));
     }
 
+    /**
+     * 交换两个关系的排序键（只写这两行）；任一键缺失或两键相同时先整体重排该用户的列表
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean swapTeamOrder(String userId, String relationIdA, String relationIdB) {
@@ -29,41 +47,51 @@ public class TeamUserRelationServiceImpl extends ServiceImpl<TeamUserRelationMap
         if (relA == null || relB == null) return false;
         if (!userId.equals(relA.getUserId()) || !userId.equals(relB.getUserId())) return false;
 
-        Integer idxA = relA.getTeamIndex();
-        Integer idxB = relB.getTeamIndex();
+        String rankA = relA.getTeamRank();
+        String rankB = relB.getTeamRank();
+        if (!LexoRank.isValid(rankA) || !LexoRank.isValid(rankB) || Objects.equals(rankA, rankB)) {
+            rebalanceTeamRanks(userId);
+            rankA = this.getById(relationIdA).getTeamRank();
+            rankB = this.getById(relationIdB).getTeamRank();
+        }
 
-        if (idxA == null && idxB == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TeamUserRelation>()
-                    .eq(TeamUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TeamUserRelation::getTeamIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxA = max + 1;
-            idxB = max + 2;
-        } else if (idxA == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TeamUserRelation>()
-                    .eq(TeamUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TeamUserRelation::getTeamIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxA = max + 1;
-        } else if (idxB == null) {
-            Integer max = this.list(new LambdaQueryWrapper<TeamUserRelation>()
-                    .eq(TeamUserRelation::getUserId, userId))
-                    .stream()
-                    .map(TeamUserRelation::getTeamIndex)
-                    .filter(i -> i != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-            idxB = max + 1;
+        return this.updateById(rankUpdate(relationIdA, rankB)) && this.updateById(rankUpdate(relationIdB, rankA));
+    }
+
+    @Override
+    public String nextTeamRank(String userId) {
+        TeamUserRelation last = this.getOne(new LambdaQueryWrapper<TeamUserRelation>()
+                .select(TeamUserRelation::getTeamRank)
+                .eq(TeamUserRelation::getUserId, userId)
+                .isNotNull(TeamUserRelation::getTeamRank)
+                .orderByDesc(TeamUserRelation::getTeamRank)
+                .last("LIMIT 1"), false);
+        return LexoRank.after(last == null || !LexoRank.isValid(last.getTeamRank()) ? null : last.getTeamRank());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int rebalanceTeamRanks(String userId) {
+        List<TeamUserRelation> rels = this.list(new LambdaQueryWrapper<TeamUserRelation>().eq(TeamUserRelation::getUserId, userId));
+        rels.sort(DISPLAY_ORDER);
+        List<TeamUserRelation> changed = new ArrayList<>();
+        for (int i = 0; i < rels.size(); i++) {
+            String rank = LexoRank.sequence(i + 1);
+            if (!rank.equals(rels.get(i).getTeamRank())) {
+                changed.add(rankUpdate(rels.get(i).getTeamUserRelationId(), rank));
+            }
         }
+        if (!changed.isEmpty()) this.updateBatchById(changed);
+        return changed.size();
+    }
 
-        relA.setTeamIndex(idxB);
-        relB.setTeamIndex(idxA);
-        return this.updateById(relA) && this.updateById(relB);
+    /**
+     * 仅含主键与排序键的更新实体（其余字段为 null，不参与 UPDATE）
+     */
+    private static TeamUserRelation rankUpdate(String relationId, String rank) {
+        TeamUserRelation u = new TeamUserRelation();
+        u.setTeamUserRelationId(relationId);
+        u.setTeamRank(rank);
+        return u;
     }
 }
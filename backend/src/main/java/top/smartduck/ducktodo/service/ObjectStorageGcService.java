@@ -0,0 +1,50 @@
+package top.smartduck.ducktodo.service;
+
+import top.smartduck.ducktodo.model.entity.TaskFile;
+
+import java.util.Collection;
+
+/**
+ * 对象存储回收服务：业务删除附件时只将对象名写入 storage_gc 队列（与业务数据在同一事务内提交，回滚时不会误删对象），
+ * 由后台按批调用多对象删除，失败的对象按指数退避重试；对账任务定期扫描附件前缀，将无附件记录引用的孤儿对象入队。
+ */
+public interface ObjectStorageGcService {
+
+    /**
+     * 对象入队等待删除（在调用方事务内执行，重复入队忽略）
+     *
+     * @param objectNames 对象名（空值忽略）
+     * @return 实际入队的数量
+     */
+    int enqueue(Collection<String> objectNames);
+
+    /**
+     * 附件对象入队等待删除（在调用方事务内执行）；无法解析对象名的附件跳过并记录日志
+     *
+     * @param files 附件记录（需包含 taskFileObjectName 与 taskFilePath）
+     * @return 实际入队的数量
+     */
+    int enqueueTaskFiles(Collection<TaskFile> files);
+
+    /**
+     * 解析附件的对象名：优先取记录的对象名，早期未记录时从直链 URL 解析
+     *
+     * @param file 附件记录
+     * @return 对象名；无法解析时返回 null
+     */
+    String objectNameOf(TaskFile file);
+
+    /**
+     * 删除到期的待回收对象，直到队列中没有到期对象或达到单轮批次上限
+     *
+     * @return 本轮删除成功的对象数
+     */
+    int drain();
+
+    /**
+     * 对账：扫描一段附件对象，将超过宽限期且没有有效附件记录引用的对象入队
+     *
+     * @return 本轮入队的孤儿对象数
+     */
+    int reconcile();
+}
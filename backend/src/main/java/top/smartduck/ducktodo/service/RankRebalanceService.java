@@ -0,0 +1,19 @@
+package top.smartduck.ducktodo.service;
+
+/**
+ * 排序键重排服务：子任务（按父任务）、任务族与团队（按用户）的 LexoRank 排序键在同一位置反复插入后会变长，
+ * 由后台按当前顺序为整个列表重新生成等宽键；排序键缺失的列表同样在此补齐。
+ *
+ * 重排不改变任何列表的顺序，只写入键发生变化的行。
+ */
+public interface RankRebalanceService {
+
+    /**
+     * 重排一批需要处理的列表（每类最多 batchSize 个）
+     *
+     * @param maxLength 排序键长度超过该值的列表需要重排
+     * @param batchSize 每类列表本轮最多处理的数量
+     * @return 改写的行数
+     */
+    int rebalance(int maxLength, int batchSize);
+}
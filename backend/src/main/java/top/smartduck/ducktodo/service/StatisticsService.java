@@ -0,0 +1,168 @@
+package top.smartduck.ducktodo.service;
+
+import top.smartduck.ducktodo.model.dto.BurndownSeriesDto;
+import top.smartduck.ducktodo.model.dto.DueHistogramDto;
+import top.smartduck.ducktodo.model.dto.KeyCountDto;
+import top.smartduck.ducktodo.model.dto.MemberWorkloadDto;
+import top.smartduck.ducktodo.model.dto.StatusPriorityCountDto;
+import top.smartduck.ducktodo.model.dto.UserOverviewDto;
+import top.smartduck.ducktodo.util.QuantileSketch;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计聚合服务：以单条分组查询计算整个日期区间的逐日指标，再在内存中补零。
+ *
+ * 返回的 int[] 以区间起始日为下标 0，长度为 `end - start + 1`（end 早于 start 时为空数组）。
+ * 已由定时任务汇总的历史日期直接读取 `stat_user_daily` / `stat_team_daily`，其余日期（通常仅今天）实时计算。
+ */
+public interface StatisticsService {
+
+    /**
+     * 按日统计用户相关任务的创建数量
+     *
+     * @param userId 用户ID
+     * @param start 起始日期（含）
+     * @param end 结束日期（含）
+     * @return 逐日创建数量
+     */
+    int[] dailyCreatedOfUser(String userId, LocalDate start, LocalDate end);
+
+    /**
+     * 按日统计用户相关任务的完成数量（按`finishTime`）
+     *
+     * @param userId 用户ID
+     * @param start 起始日期（含）
+     * @param end 结束日期（含）
+     * @return 逐日完成数量
+     */
+    int[] dailyCompletedOfUser(String userId, LocalDate start, LocalDate end);
+
+    /**
+     * 按日统计操作人的审计事件数量
+     *
+     * @param operatorId 操作人ID
+     * @param start 起始日期（含）
+     * @param end 结束日期（含）
+     * @return 逐日事件数量
+     */
+    int[] dailyActivityOfOperator(String operatorId, LocalDate start, LocalDate end);
+
+    /**
+     * 按日统计团队任务的审计事件数量
+     *
+     * @param teamId 团队ID
+     * @param start 起始日期（含）
+     * @param end 结束日期（含）
+     * @return 逐日事件数量
+     */
+    int[] dailyActivityOfTeam(String teamId, LocalDate start, LocalDate end);
+
+    /**
+     * 团队燃尽序列：两条分组查询取得创建/完成直方图（含区间前基数），再以前缀和得到逐日剩余量
+     *
+     * @param teamId 团队ID
+     * @param start 起始日期（含）
+     * @param end 结束日期（含）
+     * @return 逐日剩余与完成数量
+     */
+    BurndownSeriesDto burndownOfTeam(String teamId, LocalDate start, LocalDate end);
+
+    /**
+     * 批量统计团队成员负载（单条分组查询，不逐成员查询）
+     *
+     * @param teamId 团队ID
+     * @param userIds 成员ID集合
+     * @param inProgressOnly 是否仅统计进行中任务（为 true 时总数恒为 0）
+     * @return 成员ID → 负载；无相关任务的成员不在结果中
+     */
+    Map<String, MemberWorkloadDto> workloadOfTeamMembers(String teamId, Collection<String> userIds, boolean inProgressOnly);
+
+    /**
+     * 团队任务（或子任务）按 (状态, 优先级) 分组计数，附带逾期数
+     *
+     * @param teamId 团队ID
+     * @param childTasks 为 true 时统计团队任务下的子任务（优先级取父任务）
+     * @return 分组元组
+     */
+    List<StatusPriorityCountDto> statusPriorityCountsOfTeam(String teamId, boolean childTasks);
+
+    /**
+     * 团队逾期任务按成员分组计数（单条 JOIN 分组查询），按数量降序
+     *
+     * @param teamId 团队ID
+     * @param start 截止日起始（含）
+     * @param end 截止日结束（含），实际上界不晚于昨天
+     * @param limit 仅返回前 N 名；为 null 时返回全部
+     * @return 成员ID → 逾期任务数
+     */
+    List<KeyCountDto> overdueByMemberOfTeam(String teamId, LocalDate start, LocalDate end, Integer limit);
+
+    /**
+     * 团队逾期任务按任务族分组计数，按数量降序；未归属任务族的任务在 statKey 为 null 的一行
+     *
+     * @param teamId 团队ID
+     * @param start 截止日起始（含）
+     * @param end 截止日结束（含），实际上界不晚于昨天
+     * @return 任务族ID → 逾期任务数
+     */
+    List<KeyCountDto> overdueByGroupOfTeam(String teamId, LocalDate start, LocalDate end);
+
+    /**
+     * 用户到期直方图：单条分组查询取得今天起 days 天内逐日到期数量（及逾期未完成数量）
+     *
+     * @param userId 用户ID
+     * @param childTasks 为 true 时统计指派给用户的子任务，否则统计用户相关的主任务
+     * @param days 天数（daily 长度）
+     * @param includeOverdue 是否统计逾期未完成数量
+     * @return 到期直方图
+     */
+    DueHistogramDto dueHistogramOfUser(String userId, boolean childTasks, int days, boolean includeOverdue);
+
+    /**
+     * 个人概览：加入数、进行中、本周/本月/累计完成与逾期分桶，单条条件聚合查询一次取得
+     *
+     * @param userId 用户ID
+     * @return 概览计数（无相关数据时各项为 0）
+     */
+    UserOverviewDto overviewOfUser(String userId);
+
+    /**
+     * 用户相关任务的周期时间（开始→完成，小时）分位数草图：已汇总日期合并逐日草图，其余日期流式读取样本
+     *
+     * @param userId 用户ID
+     * @param start 完成日期起始（含）
+     * @param end 完成日期结束（含）
+     * @return 合并后的草图（无样本时为空草图）
+     */
+    QuantileSketch cycleTimeOfUser(String userId, LocalDate start, LocalDate end);
+
+    /**
+     * 团队任务的周期时间（开始→完成，小时）分位数草图：已汇总日期合并逐日草图，其余日期流式读取样本
+     *
+     * @param teamId 团队ID
+     * @param start 完成日期起始（含）
+     * @param end 完成日期结束（含）
+     * @return 合并后的草图（无样本时为空草图）
+     */
+    QuantileSketch cycleTimeOfTeam(String teamId, LocalDate start, LocalDate end);
+
+    /**
+     * 日统计汇总已覆盖到的最后日期（不晚于昨天）
+     *
+     * @return 最后汇总日期；尚未汇总过返回 null
+     */
+    LocalDate rolledUpUntil();
+
+    /**
+     * 汇总指定日期的用户/团队日统计（覆盖写入，可重复执行）
+     *
+     * 说明：创建/完成/审计/周期时间草图为当日发生量；逾期/进行中为执行汇总时的快照。
+     *
+     * @param day 统计日期
+     */
+    void rollupDay(LocalDate day);
+}
@@ -0,0 +1,66 @@
+package top.smartduck.ducktodo.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 统计结果缓存：进程内有界 LRU，条目以 (接口, 用户或团队, 参数) 为键，带短 TTL。
+ *
+ * 每个用户/团队维护一个失效代数：写路径调用 invalidate* 使该用户/团队的全部条目立即失效，
+ * 加载期间发生的失效不会被旧结果回填。处于事务中时提交后再失效一次，与 {@link TaskGraphService} 一致。
+ * 未命中时同一键的并发请求合并为一次计算（缓存关闭时同样合并），缓存值与合并结果均被多个请求共享，调用方不得修改。
+ */
+public interface StatsCacheService {
+
+    /**
+     * 读取用户维度的统计结果，未命中时调用 loader 计算并缓存（loader 返回 null 时不缓存）
+     *
+     * @param endpoint 接口标识（如 `me.overview`）
+     * @param userId 用户ID
+     * @param params 规范化后的参数串（同一接口内唯一确定结果）
+     * @param loader 计算函数
+     * @return 统计结果
+     */
+    <T> T getOfUser(String endpoint, String userId, String params, Supplier<T> loader);
+
+    /**
+     * 读取团队维度的统计结果，语义同 {@link #getOfUser}
+     *
+     * @param endpoint 接口标识（如 `team.overview`）
+     * @param teamId 团队ID
+     * @param params 规范化后的参数串
+     * @param loader 计算函数
+     * @return 统计结果
+     */
+    <T> T getOfTeam(String endpoint, String teamId, String params, Supplier<T> loader);
+
+    /**
+     * 失效指定用户的全部统计缓存
+     *
+     * @param userId 用户ID
+     */
+    void invalidateUser(String userId);
+
+    /**
+     * 失效指定团队的全部统计缓存
+     *
+     * @param teamId 团队ID
+     */
+    void invalidateTeam(String teamId);
+
+    /**
+     * 批量失效用户与团队（用于审计批次、团队删除等一次涉及多个对象的写入）
+     *
+     * @param userIds 用户ID，可为 null
+     * @param teamIds 团队ID，可为 null
+     */
+    void invalidate(Collection<String> userIds, Collection<String> teamIds);
+
+    /**
+     * 运行指标：条目数/容量、TTL、命中/未命中次数与命中率、容量淘汰/过期/失效次数
+     *
+     * @return 指标快照
+     */
+    Map<String, Object> metrics();
+}
@@ -0,0 +1,28 @@
+package top.smartduck.ducktodo.service;
+
+import java.time.LocalDate;
+
+/**
+ * 任务审计存储维护服务：按月 RANGE 分区管理与冷数据归档。
+ *
+ * - 分区（可选）：`task_audit` 以 `create_time` 按月分区，主键调整为 (audit_id, create_time)；
+ *   带 `create_time` 区间条件的查询只访问相关分区
+ * - 归档：早于截止日期的记录按自然月导出为 gzip 压缩的 JSON Lines 文件（本地目录或 MinIO），导出成功后从热表物理删除
+ */
+public interface TaskAuditArchiveService {
+
+    /**
+     * 分区维护：未分区时转换为按月分区表；预建未来若干月的分区；删除已归档清空的历史分区
+     *
+     * @param cutoff 归档截止日期（早于该日期的分区在为空时可删除），为 null 时不删除分区
+     */
+    void maintainPartitions(LocalDate cutoff);
+
+    /**
+     * 归档并清理早于截止日期的审计记录
+     *
+     * @param cutoff 截止日期（不含）
+     * @return 归档的记录数
+     */
+    long archiveBefore(LocalDate cutoff);
+}
@@ -0,0 +1,28 @@
+package top.smartduck.ducktodo.service;
+
+import top.smartduck.ducktodo.model.entity.TaskAudit;
+
+import java.util.Map;
+
+/**
+ * 任务审计异步写入器：请求线程只负责入队，后台线程按批量大小/等待时间聚合后以多行 INSERT 落库。
+ *
+ * 队列已满（超过入队等待时间）或写入器已停止时，在调用线程同步写入，既不丢审计也对调用方形成背压。
+ */
+public interface TaskAuditWriter {
+
+    /**
+     * 提交一条审计记录
+     *
+     * @param audit 审计记录（taskId 可为兜底值）
+     * @param childTaskId 待解析的子任务ID：若能查到对应子任务，则以其父任务ID覆盖 audit.taskId；为 null 表示无需解析
+     */
+    void submit(TaskAudit audit, String childTaskId);
+
+    /**
+     * 运行指标：队列深度/容量/高水位、入队数、写入数、批次数、同步兜底次数、失败数等
+     *
+     * @return 指标快照
+     */
+    Map<String, Object> metrics();
+}
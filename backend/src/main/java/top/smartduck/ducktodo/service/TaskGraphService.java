@@ -0,0 +1,94 @@
+package top.smartduck.ducktodo.service;
+
+import top.smartduck.ducktodo.model.dto.TaskGraphSummaryDto;
+import top.smartduck.ducktodo.model.entity.TaskEdge;
+import top.smartduck.ducktodo.model.entity.TaskNode;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 团队任务图谱服务：按团队懒加载 task_node / task_edge 为紧凑的整型邻接表（CSR）并缓存，
+ * 在此基础上提供拓扑排序、加边环检测、下游影响集与关键路径等计算。
+ *
+ * 本服务内的节点/边写入后须调用 {@link #invalidate(String)}；处于事务中时在提交后失效，避免并发读取回填旧快照。
+ * 其他进程（如 ai-backend）直接写库不会触发失效，快照按写入时间过期（graph.cache.ttl-seconds）兜底。
+ * 仅两端均属于同一团队的边参与图计算，跨团队的边只计入摘要数量。
+ */
+public interface TaskGraphService {
+
+    /**
+     * 团队图谱摘要（节点/边数量与类型分布、是否无环、关键路径长度）
+     *
+     * @param teamId 团队ID
+     * @return 摘要
+     */
+    TaskGraphSummaryDto summarize(String teamId);
+
+    /**
+     * 拓扑序（Kahn 算法）；位于环上或依赖环上节点的节点不会出现在结果中
+     *
+     * @param teamId 团队ID
+     * @return 节点ID列表
+     */
+    List<String> topologicalOrder(String teamId);
+
+    /**
+     * 团队图谱是否存在环
+     *
+     * @param teamId 团队ID
+     * @return 存在环返回 true
+     */
+    boolean hasCycle(String teamId);
+
+    /**
+     * 判断新增边 source → target 是否会形成环（即 target 已可到达 source）
+     *
+     * @param teamId 团队ID
+     * @param sourceNodeId 源节点ID
+     * @param targetNodeId 目标节点ID
+     * @return 会形成环返回 true
+     */
+    boolean wouldCreateCycle(String teamId, String sourceNodeId, String targetNodeId);
+
+    /**
+     * 下游影响集：从指定节点出发沿边可到达的全部节点（不含自身）
+     *
+     * @param teamId 团队ID
+     * @param nodeId 节点ID
+     * @return 节点ID集合；节点不存在时为空
+     */
+    Set<String> downstreamOf(String teamId, String nodeId);
+
+    /**
+     * 关键路径长度：最长依赖链上的节点数
+     *
+     * @param teamId 团队ID
+     * @return 节点数；空图为 0，存在环时为 -1
+     */
+    int criticalPathLength(String teamId);
+
+    /**
+     * 新增一条边：两端须为同一团队的节点，且不得形成环；成功后失效该团队缓存
+     *
+     * @param teamId 团队ID
+     * @param edge 待新增的边（需包含源、目标节点ID）
+     * @return 已保存的边
+     */
+    TaskEdge addEdge(String teamId, TaskEdge edge);
+
+    /**
+     * 失效指定团队的图谱缓存
+     *
+     * @param teamId 团队ID
+     */
+    void invalidate(String teamId);
+
+    /**
+     * 失效给定节点所属团队的图谱缓存（用于节点/边的级联删除）
+     *
+     * @param nodes 被写入或删除的节点
+     */
+    void invalidateNodes(Collection<TaskNode> nodes);
+}
@@ -0,0 +1,37 @@
+package top.smartduck.ducktodo.service;
+
+import top.smartduck.ducktodo.model.entity.TeamDeleteJob;
+
+/**
+ * 团队异步级联删除服务：请求内只将团队标记为删除中、移除团队成员关系并登记删除任务，
+ * 任务族、任务、子任务、关系、节点、链与附件由后台按阶段分批逻辑删除。
+ *
+ * 每批最多处理 chunk-size 行且各自提交，不长时间持有行锁；进度（阶段、已删除行数、心跳）在每批后落库，
+ * 实例中断后任务可被重新认领并从记录的阶段继续（各阶段语句可重复执行）。
+ */
+public interface TeamDeleteService {
+
+    /**
+     * 提交团队删除（在调用方事务内执行）：团队状态置为删除中，逻辑删除全部团队成员关系，登记待执行的删除任务
+     *
+     * @param teamId 团队ID
+     * @param operatorId 提交删除的用户ID
+     * @return 删除任务
+     */
+    TeamDeleteJob submit(String teamId, String operatorId);
+
+    /**
+     * 执行待处理的删除任务，直到没有可认领的任务或用尽单轮执行预算；未完成的任务保留进度等待下一轮
+     *
+     * @return 本轮处理（认领）的任务数
+     */
+    int runPending();
+
+    /**
+     * 查询团队最近一次删除任务
+     *
+     * @param teamId 团队ID
+     * @return 删除任务；不存在时返回 null
+     */
+    TeamDeleteJob progress(String teamId);
+}
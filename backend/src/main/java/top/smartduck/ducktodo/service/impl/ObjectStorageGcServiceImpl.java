@@ -0,0 +1,268 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.common.enums.StorageGcStatusEnum;
+import top.smartduck.ducktodo.mapper.StorageGcMapper;
+import top.smartduck.ducktodo.model.entity.StorageGc;
+import top.smartduck.ducktodo.model.entity.TaskFile;
+import top.smartduck.ducktodo.modelService.StorageGcService;
+import top.smartduck.ducktodo.modelService.TaskFileService;
+import top.smartduck.ducktodo.service.ObjectStorageGcService;
+import top.smartduck.ducktodo.util.MinioUtil;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class ObjectStorageGcServiceImpl implements ObjectStorageGcService {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectStorageGcServiceImpl.class);
+
+    /**
+     * 任务附件的对象名前缀：`tasks/{taskId}/attachments/{uuid}{ext}`
+     */
+    private static final String TASK_PREFIX = "tasks/";
+    private static final String ATTACHMENT_SEGMENT = "/attachments/";
+
+    /**
+     * 单批入队/删除的最大对象数（与 S3 多对象删除单次请求上限一致）
+     */
+    private static final int MAX_BATCH = 1000;
+
+    @Autowired
+    private StorageGcMapper storageGcMapper;
+
+    @Autowired
+    private StorageGcService storageGcService;
+
+    @Autowired
+    private TaskFileService taskFileService;
+
+    @Autowired
+    private MinioUtil minioUtil;
+
+    /**
+     * 每批删除的对象数
+     */
+    @Value("${storage.gc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 单轮最多执行的批次数
+     */
+    @Value("${storage.gc.max-batches:20}")
+    private int maxBatches;
+
+    /**
+     * 最大删除尝试次数，超过后标记为回收失败，不再重试
+     */
+    @Value("${storage.gc.max-attempts:8}")
+    private int maxAttempts;
+
+    /**
+     * 首次重试间隔（秒），之后每次翻倍，最长 1 小时
+     */
+    @Value("${storage.gc.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    /**
+     * 对账宽限期（小时）：最后修改时间在宽限期内的对象可能是上传中、尚未写入附件记录的对象，不视为孤儿
+     */
+    @Value("${storage.gc.reconcile.grace-hours:24}")
+    private long graceHours;
+
+    /**
+     * 对账单轮最多扫描的对象数，未扫完的部分下一轮从断点继续
+     */
+    @Value("${storage.gc.reconcile.max-objects:10000}")
+    private int reconcileMaxObjects;
+
+    /**
+     * 对账扫描断点（对象名），列到末尾后重置为 null
+     */
+    private volatile String reconcileCursor;
+
+    @Override
+    public int enqueue(Collection<String> objectNames) {
+        if (objectNames == null || objectNames.isEmpty()) return 0;
+        Set<String> names = new LinkedHashSet<>();
+        for (String n : objectNames) {
+            if (n != null && !n.trim().isEmpty()) names.add(n.trim());
+        }
+        if (names.isEmpty()) return 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<StorageGc> batch = new ArrayList<>();
+        int inserted = 0;
+        for (String name : names) {
+            batch.add(StorageGc.builder()
+                    .storageGcId(IdWorker.get32UUID())
+                    .objectName(name)
+                    .gcStatus(StorageGcStatusEnum.PENDING.getCode())
+                    .attemptCount(0)
+                    .nextAttemptTime(now)
+                    .createTime(now)
+                    .updateTime(now)
+                    .build());
+            if (batch.size() >= MAX_BATCH) {
+                inserted += storageGcMapper.insertIgnoreBatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) inserted += storageGcMapper.insertIgnoreBatch(batch);
+        return inserted;
+    }
+
+    @Override
+    public int enqueueTaskFiles(Collection<TaskFile> files) {
+        if (files == null || files.isEmpty()) return 0;
+        List<String> names = new ArrayList<>();
+        for (TaskFile tf : files) {
+            if (tf == null) continue;
+            String name = objectNameOf(tf);
+            if (name == null) {
+                log.warn("[Storage-GC] Cannot resolve object name of task file '{}'; object left in storage.", tf.getTaskFileId());
+                continue;
+            }
+            names.add(name);
+        }
+        return enqueue(names);
+    }
+
+    @Override
+    public String objectNameOf(TaskFile file) {
+        if (file == null) return null;
+        String name = file.getTaskFileObjectName();
+        if (name != null && !name.trim().isEmpty()) return name.trim();
+        return minioUtil.extractObjectName(file.getTaskFilePath());
+    }
+
+    @Override
+    public int drain() {
+        int limit = Math.max(1, Math.min(batchSize, MAX_BATCH));
+        int removed = 0;
+        for (int i = 0; i < Math.max(1, maxBatches); i++) {
+            List<StorageGc> due = storageGcService.list(new LambdaQueryWrapper<StorageGc>()
+                    .eq(StorageGc::getGcStatus, StorageGcStatusEnum.PENDING.getCode())
+                    .le(StorageGc::getNextAttemptTime, LocalDateTime.now())
+                    .orderByAsc(StorageGc::getNextAttemptTime)
+                    .last("LIMIT " + limit));
+            if (due.isEmpty()) break;
+
+            Map<String, String> failed;
+            try {
+                failed = minioUtil.removeAll(due.stream().map(StorageGc::getObjectName).toList());
+            } catch (Exception e) {
+                // 整批请求失败（如对象存储不可用）：整批推迟重试，并结束本轮
+                log.warn("[Storage-GC] Batch remove of {} objects failed: {}", due.size(), e.getMessage());
+                for (StorageGc g : due) markFailure(g, e.getMessage());
+                break;
+            }
+
+            List<String> doneIds = new ArrayList<>();
+            for (StorageGc g : due) {
+                String error = failed.get(g.getObjectName());
+                if (error == null) {
+                    doneIds.add(g.getStorageGcId());
+                } else {
+                    markFailure(g, error);
+                }
+            }
+            if (!doneIds.isEmpty()) {
+                storageGcMapper.purgeByIds(doneIds);
+                removed += doneIds.size();
+            }
+            if (due.size() < limit) break;
+        }
+        return removed;
+    }
+
+    @Override
+    public int reconcile() {
+        Instant graceBefore = Instant.now().minusSeconds(Math.max(0, graceHours) * 3600);
+        int budget = Math.max(1, reconcileMaxObjects);
+        int scanned = 0;
+        int orphans = 0;
+        String cursor = reconcileCursor;
+        while (scanned < budget) {
+            int page = Math.min(MAX_BATCH, budget - scanned);
+            List<MinioUtil.StoredObject> objects = minioUtil.listObjects(TASK_PREFIX, cursor, page);
+            scanned += objects.size();
+
+            // 按任务分组，一次查询本页涉及任务的全部附件记录
+            Map<String, List<String>> candidatesByTask = new HashMap<>();
+            for (MinioUtil.StoredObject o : objects) {
+                String name = o.getObjectName();
+                int seg = name.indexOf(ATTACHMENT_SEGMENT);
+                if (seg <= TASK_PREFIX.length()) continue;
+                if (o.getLastModified() == null || !o.getLastModified().isBefore(graceBefore)) continue;
+                String taskId = name.substring(TASK_PREFIX.length(), seg);
+                if (taskId.contains("/")) continue;
+                candidatesByTask.computeIfAbsent(taskId, k -> new ArrayList<>()).add(name);
+            }
+            if (!candidatesByTask.isEmpty()) {
+                Set<String> referenced = new HashSet<>();
+                // 存在无法解析对象名的附件记录的任务整体跳过，避免把仍被引用的对象误判为孤儿
+                Set<String> unresolvedTasks = new HashSet<>();
+                for (TaskFile tf : taskFileService.list(new LambdaQueryWrapper<TaskFile>()
+                        .select(TaskFile::getTaskId, TaskFile::getTaskFilePath, TaskFile::getTaskFileObjectName)
+                        .in(TaskFile::getTaskId, candidatesByTask.keySet()))) {
+                    String name = objectNameOf(tf);
+                    if (name == null) {
+                        unresolvedTasks.add(tf.getTaskId());
+                    } else {
+                        referenced.add(name);
+                    }
+                }
+                List<String> orphanNames = new ArrayList<>();
+                for (Map.Entry<String, List<String>> e : candidatesByTask.entrySet()) {
+                    if (unresolvedTasks.contains(e.getKey())) continue;
+                    for (String name : e.getValue()) {
+                        if (!referenced.contains(name)) orphanNames.add(name);
+                    }
+                }
+                if (!unresolvedTasks.isEmpty()) {
+                    log.warn("[Storage-GC] Reconcile skipped {} tasks with unresolvable attachment paths.", unresolvedTasks.size());
+                }
+                if (!orphanNames.isEmpty()) {
+                    orphans += enqueue(orphanNames);
+                    log.info("[Storage-GC] Reconcile found {} orphaned attachment objects.", orphanNames.size());
+                }
+            }
+
+            if (objects.size() < page) {
+                cursor = null;
+                break;
+            }
+            cursor = objects.get(objects.size() - 1).getObjectName();
+        }
+        reconcileCursor = cursor;
+        return orphans;
+    }
+
+    /**
+     * 记录一次删除失败：按指数退避推迟下次尝试，超过最大次数后标记为回收失败
+     */
+    private void markFailure(StorageGc g, String error) {
+        int attempts = (g.getAttemptCount() == null ? 0 : g.getAttemptCount()) + 1;
+        long delay = Math.min(3600L, Math.max(1, retryBaseSeconds) << Math.min(attempts - 1, 20));
+        LocalDateTime now = LocalDateTime.now();
+        String msg = error == null ? "unknown" : (error.length() > 1024 ? error.substring(0, 1024) : error);
+        storageGcService.update(new LambdaUpdateWrapper<StorageGc>()
+                .eq(StorageGc::getStorageGcId, g.getStorageGcId())
+                .set(StorageGc::getAttemptCount, attempts)
+                .set(StorageGc::getNextAttemptTime, now.plusSeconds(delay))
+                .set(StorageGc::getLastError, msg)
+                .set(StorageGc::getGcStatus, attempts >= Math.max(1, maxAttempts)
+                        ? StorageGcStatusEnum.FAILED.getCode()
+                        : StorageGcStatusEnum.PENDING.getCode())
+                .set(StorageGc::getUpdateTime, now));
+    }
+}
@@ -0,0 +1,68 @@
+package top.smartduck.ducktodo.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.ChildTaskMapper;
+import top.smartduck.ducktodo.mapper.TaskGroupUserRelationMapper;
+import top.smartduck.ducktodo.mapper.TeamUserRelationMapper;
+import top.smartduck.ducktodo.modelService.ChildTaskService;
+import top.smartduck.ducktodo.modelService.TaskGroupUserRelationService;
+import top.smartduck.ducktodo.modelService.TeamUserRelationService;
+import top.smartduck.ducktodo.service.RankRebalanceService;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@Service
+public class RankRebalanceServiceImpl implements RankRebalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankRebalanceServiceImpl.class);
+
+    @Autowired
+    private ChildTaskMapper childTaskMapper;
+
+    @Autowired
+    private TaskGroupUserRelationMapper taskGroupUserRelationMapper;
+
+    @Autowired
+    private TeamUserRelationMapper teamUserRelationMapper;
+
+    @Autowired
+    private ChildTaskService childTaskService;
+
+    @Autowired
+    private TaskGroupUserRelationService taskGroupUserRelationService;
+
+    @Autowired
+    private TeamUserRelationService teamUserRelationService;
+
+    @Override
+    public int rebalance(int maxLength, int batchSize) {
+        int limit = Math.max(1, batchSize);
+        int rows = 0;
+        rows += rebalanceEach("child_task", childTaskMapper.selectTaskIdsNeedingRankRebalance(maxLength, limit),
+                childTaskService::rebalanceChildTaskRanks);
+        rows += rebalanceEach("task_group_user_relation", taskGroupUserRelationMapper.selectUserIdsNeedingGroupRankRebalance(maxLength, limit),
+                taskGroupUserRelationService::rebalanceGroupRanks);
+        rows += rebalanceEach("team_user_relation", teamUserRelationMapper.selectUserIdsNeedingTeamRankRebalance(maxLength, limit),
+                teamUserRelationService::rebalanceTeamRanks);
+        return rows;
+    }
+
+    /**
+     * 逐个列表重排（每个列表独立事务），单个列表失败不影响其余列表
+     */
+    private int rebalanceEach(String table, List<String> scopeIds, ToIntFunction<String> rebalancer) {
+        int rows = 0;
+        for (String scopeId : scopeIds) {
+            try {
+                rows += rebalancer.applyAsInt(scopeId);
+            } catch (Exception e) {
+                log.warn("[Rank-Rebalance] Failed to rebalance {} of '{}': {}", table, scopeId, e.getMessage());
+            }
+        }
+        return rows;
+    }
+}
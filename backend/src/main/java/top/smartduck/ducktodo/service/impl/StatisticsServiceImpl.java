@@ -0,0 +1,495 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import top.smartduck.ducktodo.mapper.ChildTaskMapper;
+import top.smartduck.ducktodo.mapper.StatTeamDailyMapper;
+import top.smartduck.ducktodo.mapper.StatUserDailyMapper;
+import top.smartduck.ducktodo.mapper.TaskAuditMapper;
+import top.smartduck.ducktodo.mapper.TaskMapper;
+import top.smartduck.ducktodo.mapper.TaskUserRelationMapper;
+import top.smartduck.ducktodo.model.dto.BurndownSeriesDto;
+import top.smartduck.ducktodo.model.dto.CycleTimeSampleDto;
+import top.smartduck.ducktodo.model.dto.DayCountDto;
+import top.smartduck.ducktodo.model.dto.DueHistogramDto;
+import top.smartduck.ducktodo.model.dto.KeyCountDto;
+import top.smartduck.ducktodo.model.dto.MemberWorkloadDto;
+import top.smartduck.ducktodo.model.dto.StatusPriorityCountDto;
+import top.smartduck.ducktodo.model.dto.UserOverviewDto;
+import top.smartduck.ducktodo.model.entity.StatTeamDaily;
+import top.smartduck.ducktodo.model.entity.StatUserDaily;
+import top.smartduck.ducktodo.modelService.StatTeamDailyService;
+import top.smartduck.ducktodo.modelService.StatUserDailyService;
+import top.smartduck.ducktodo.service.StatisticsService;
+import top.smartduck.ducktodo.util.QuantileSketch;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+@Service
+public class StatisticsServiceImpl implements StatisticsService {
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskAuditMapper taskAuditMapper;
+
+    @Autowired
+    private TaskUserRelationMapper taskUserRelationMapper;
+
+    @Autowired
+    private ChildTaskMapper childTaskMapper;
+
+    @Autowired
+    private StatUserDailyMapper statUserDailyMapper;
+
+    @Autowired
+    private StatTeamDailyMapper statTeamDailyMapper;
+
+    @Autowired
+    private StatUserDailyService statUserDailyService;
+
+    @Autowired
+    private StatTeamDailyService statTeamDailyService;
+
+    @Override
+    public int[] dailyCreatedOfUser(String userId, LocalDate start, LocalDate end) {
+        if (userId == null || end.isBefore(start)) return new int[0];
+        int[] counts = newRange(start, end);
+        for (LocalDate[] r : fillFromUserRollup(counts, userId, start, end, StatUserDaily::getCreatedCount)) {
+            fill(counts, start, taskMapper.selectDailyCreatedByUser(userId,
+                    r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay()));
+        }
+        return counts;
+    }
+
+    @Override
+    public int[] dailyCompletedOfUser(String userId, LocalDate start, LocalDate end) {
+        if (userId == null || end.isBefore(start)) return new int[0];
+        int[] counts = newRange(start, end);
+        for (LocalDate[] r : fillFromUserRollup(counts, userId, start, end, StatUserDaily::getCompletedCount)) {
+            fill(counts, start, taskMapper.selectDailyCompletedByUser(userId,
+                    r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay()));
+        }
+        return counts;
+    }
+
+    @Override
+    public int[] dailyActivityOfOperator(String operatorId, LocalDate start, LocalDate end) {
+        if (operatorId == null || end.isBefore(start)) return new int[0];
+        int[] counts = newRange(start, end);
+        for (LocalDate[] r : fillFromUserRollup(counts, operatorId, start, end, StatUserDaily::getAuditCount)) {
+            fill(counts, start, taskAuditMapper.selectDailyCountByOperator(operatorId,
+                    r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay()));
+        }
+        return counts;
+    }
+
+    @Override
+    public int[] dailyActivityOfTeam(String teamId, LocalDate start, LocalDate end) {
+        if (teamId == null || end.isBefore(start)) return new int[0];
+        int[] counts = newRange(start, end);
+        // 未汇总的日期（通常仅剩今天，或早于首个汇总日）：按冗余的 team_id 单次范围扫描分组
+        for (LocalDate[] r : fillFromTeamRollup(counts, teamId, start, end, StatTeamDaily::getAuditCount)) {
+            fill(counts, start, taskAuditMapper.selectDailyCountByTeam(teamId, r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay()));
+        }
+        return counts;
+    }
+
+    @Override
+    public BurndownSeriesDto burndownOfTeam(String teamId, LocalDate start, LocalDate end) {
+        if (teamId == null || end.isBefore(start)) return new BurndownSeriesDto(new int[0], new int[0]);
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = end.plusDays(1).atStartOfDay();
+        List<DayCountDto> createdRows = taskMapper.selectTeamCreatedHistogram(teamId, from, to);
+        List<DayCountDto> completedRows = taskMapper.selectTeamCompletedHistogram(teamId, from, to);
+
+        int[] created = newRange(start, end);
+        int[] completed = newRange(start, end);
+        fill(created, start, createdRows);
+        fill(completed, start, completedRows);
+
+        // 前缀和：remaining[i] = 基数 + Σ(created - completed)[0..i]
+        int open = baseline(createdRows) - baseline(completedRows);
+        int[] remaining = new int[created.length];
+        for (int i = 0; i < created.length; i++) {
+            open += created[i] - completed[i];
+            remaining[i] = Math.max(0, open);
+        }
+        return new BurndownSeriesDto(remaining, completed);
+    }
+
+    @Override
+    public Map<String, MemberWorkloadDto> workloadOfTeamMembers(String teamId, Collection<String> userIds, boolean inProgressOnly) {
+        Map<String, MemberWorkloadDto> out = new HashMap<>();
+        if (teamId == null || userIds == null || userIds.isEmpty()) return out;
+        for (MemberWorkloadDto row : taskUserRelationMapper.selectTeamWorkload(teamId, userIds, inProgressOnly)) {
+            if (row != null && row.getUserId() != null) out.put(row.getUserId(), row);
+        }
+        return out;
+    }
+
+    @Override
+    public List<StatusPriorityCountDto> statusPriorityCountsOfTeam(String teamId, boolean childTasks) {
+        if (teamId == null) return new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        return childTasks
+                ? childTaskMapper.selectTeamStatusPriorityCounts(teamId, today)
+                : taskMapper.selectTeamStatusPriorityCounts(teamId, today);
+    }
+
+    @Override
+    public List<KeyCountDto> overdueByMemberOfTeam(String teamId, LocalDate start, LocalDate end, Integer limit) {
+        LocalDate before = overdueBefore(end);
+        if (teamId == null || !start.isBefore(before)) return new ArrayList<>();
+        return taskUserRelationMapper.selectTeamOverdueByMember(teamId, start, before, limit);
+    }
+
+    @Override
+    public List<KeyCountDto> overdueByGroupOfTeam(String teamId, LocalDate start, LocalDate end) {
+        LocalDate before = overdueBefore(end);
+        if (teamId == null || !start.isBefore(before)) return new ArrayList<>();
+        return taskMapper.selectTeamOverdueByGroup(teamId, start, before);
+    }
+
+    @Override
+    public DueHistogramDto dueHistogramOfUser(String userId, boolean childTasks, int days, boolean includeOverdue) {
+        LocalDate today = LocalDate.now();
+        int n = Math.max(days, 1);
+        LocalDate end = today.plusDays(n);
+        List<DayCountDto> rows = childTasks
+                ? childTaskMapper.selectDueHistogramOfAssignee(userId, today, end, includeOverdue)
+                : taskMapper.selectDueHistogramOfUser(userId, today, end, includeOverdue);
+        int[] daily = new int[n];
+        fill(daily, today, rows);
+        return new DueHistogramDto(includeOverdue ? baseline(rows) : 0, daily);
+    }
+
+    @Override
+    public UserOverviewDto overviewOfUser(String userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        YearMonth ym = YearMonth.from(today);
+        UserOverviewDto dto = taskMapper.selectUserOverview(userId,
+                weekStart.atStartOfDay(), weekStart.plusDays(7).atStartOfDay(),
+                ym.atDay(1).atStartOfDay(), ym.plusMonths(1).atDay(1).atStartOfDay(),
+                today, today.minusDays(3));
+        if (dto == null) dto = new UserOverviewDto();
+        dto.setTeamCount(nz(dto.getTeamCount()));
+        dto.setTaskGroupCount(nz(dto.getTaskGroupCount()));
+        dto.setTasksInProgress(nz(dto.getTasksInProgress()));
+        dto.setChildTasksInProgress(nz(dto.getChildTasksInProgress()));
+        dto.setCompletedWeek(nz(dto.getCompletedWeek()));
+        dto.setCompletedMonth(nz(dto.getCompletedMonth()));
+        dto.setCompletedTotal(nz(dto.getCompletedTotal()));
+        dto.setOverdueTotal(nz(dto.getOverdueTotal()));
+        dto.setOverdueModerate(nz(dto.getOverdueModerate()));
+        dto.setOverdueSevere(nz(dto.getOverdueSevere()));
+        return dto;
+    }
+
+    @Override
+    public QuantileSketch cycleTimeOfUser(String userId, LocalDate start, LocalDate end) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (userId == null || end.isBefore(start)) return sketch;
+        LocalDate[] rolled = rolledUpWithin(start, end);
+        LocalDate mergedUntil = null;
+        if (rolled != null) {
+            List<StatUserDaily> rows = statUserDailyService.list(new LambdaQueryWrapper<StatUserDaily>()
+                    .select(StatUserDaily::getStatDate, StatUserDaily::getCycleTimeSketch)
+                    .eq(StatUserDaily::getUserId, userId)
+                    .between(StatUserDaily::getStatDate, rolled[0], rolled[1]));
+            mergedUntil = mergeRolledUp(sketch, rows, StatUserDaily::getStatDate, StatUserDaily::getCycleTimeSketch, rolled[1]).minusDays(1);
+        }
+        for (LocalDate[] r : liveRanges(start, end, rolled == null ? null : rolled[0], mergedUntil)) {
+            taskMapper.streamCycleTimeOfUser(userId, r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay(),
+                    ctx -> addSample(sketch, ctx.getResultObject()));
+        }
+        return sketch;
+    }
+
+    @Override
+    public QuantileSketch cycleTimeOfTeam(String teamId, LocalDate start, LocalDate end) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (teamId == null || end.isBefore(start)) return sketch;
+        LocalDate[] rolled = rolledUpWithin(start, end);
+        LocalDate mergedUntil = null;
+        if (rolled != null) {
+            List<StatTeamDaily> rows = statTeamDailyService.list(new LambdaQueryWrapper<StatTeamDaily>()
+                    .select(StatTeamDaily::getStatDate, StatTeamDaily::getCycleTimeSketch)
+                    .eq(StatTeamDaily::getTeamId, teamId)
+                    .between(StatTeamDaily::getStatDate, rolled[0], rolled[1]));
+            mergedUntil = mergeRolledUp(sketch, rows, StatTeamDaily::getStatDate, StatTeamDaily::getCycleTimeSketch, rolled[1]).minusDays(1);
+        }
+        for (LocalDate[] r : liveRanges(start, end, rolled == null ? null : rolled[0], mergedUntil)) {
+            taskMapper.streamCycleTimeOfTeam(teamId, r[0].atStartOfDay(), r[1].plusDays(1).atStartOfDay(),
+                    ctx -> addSample(sketch, ctx.getResultObject()));
+        }
+        return sketch;
+    }
+
+    @Override
+    public LocalDate rolledUpUntil() {
+        LocalDate max = statUserDailyMapper.selectMaxStatDate();
+        if (max == null) return null;
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        return max.isAfter(yesterday) ? yesterday : max;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void rollupDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. 用户维度：每个指标一次分组查询，按用户合并为一行
+        Map<String, StatUserDaily> users = new HashMap<>();
+        for (StatUserDaily r : statUserDailyMapper.selectCreatedStats(start, end)) {
+            StatUserDaily row = userRow(users, r.getUserId(), day, now);
+            if (row == null) continue;
+            row.setCreatedCount(nz(r.getCreatedCount()));
+            row.setPriorityP0Count(nz(r.getPriorityP0Count()));
+            row.setPriorityP1Count(nz(r.getPriorityP1Count()));
+            row.setPriorityP2Count(nz(r.getPriorityP2Count()));
+            row.setPriorityP3Count(nz(r.getPriorityP3Count()));
+            row.setPriorityP4Count(nz(r.getPriorityP4Count()));
+        }
+        for (StatUserDaily r : statUserDailyMapper.selectCompletedStats(start, end)) {
+            StatUserDaily row = userRow(users, r.getUserId(), day, now);
+            if (row != null) row.setCompletedCount(nz(r.getCompletedCount()));
+        }
+        for (StatUserDaily r : statUserDailyMapper.selectOpenStats(start, end)) {
+            StatUserDaily row = userRow(users, r.getUserId(), day, now);
+            if (row == null) continue;
+            row.setOverdueCount(nz(r.getOverdueCount()));
+            row.setInProgressCount(nz(r.getInProgressCount()));
+        }
+        for (StatUserDaily r : statUserDailyMapper.selectAuditStats(start, end)) {
+            StatUserDaily row = userRow(users, r.getUserId(), day, now);
+            if (row != null) row.setAuditCount(nz(r.getAuditCount()));
+        }
+
+        // 2. 团队维度
+        Map<String, StatTeamDaily> teams = new HashMap<>();
+        for (StatTeamDaily r : statTeamDailyMapper.selectCreatedStats(start, end)) {
+            StatTeamDaily row = teamRow(teams, r.getTeamId(), day, now);
+            if (row == null) continue;
+            row.setCreatedCount(nz(r.getCreatedCount()));
+            row.setPriorityP0Count(nz(r.getPriorityP0Count()));
+            row.setPriorityP1Count(nz(r.getPriorityP1Count()));
+            row.setPriorityP2Count(nz(r.getPriorityP2Count()));
+            row.setPriorityP3Count(nz(r.getPriorityP3Count()));
+            row.setPriorityP4Count(nz(r.getPriorityP4Count()));
+        }
+        for (StatTeamDaily r : statTeamDailyMapper.selectCompletedStats(start, end)) {
+            StatTeamDaily row = teamRow(teams, r.getTeamId(), day, now);
+            if (row != null) row.setCompletedCount(nz(r.getCompletedCount()));
+        }
+        for (StatTeamDaily r : statTeamDailyMapper.selectOpenStats(start, end)) {
+            StatTeamDaily row = teamRow(teams, r.getTeamId(), day, now);
+            if (row == null) continue;
+            row.setOverdueCount(nz(r.getOverdueCount()));
+            row.setInProgressCount(nz(r.getInProgressCount()));
+        }
+        for (StatTeamDaily r : statTeamDailyMapper.selectAuditStats(start, end)) {
+            StatTeamDaily row = teamRow(teams, r.getTeamId(), day, now);
+            if (row != null) row.setAuditCount(nz(r.getAuditCount()));
+        }
+
+        // 3. 周期时间：流式读取当日完成任务的耗时样本，按用户/团队写入草图
+        Map<String, QuantileSketch> userSketches = new HashMap<>();
+        statUserDailyMapper.streamCycleTimeSamples(start, end, ctx -> collectSample(userSketches, ctx.getResultObject()));
+        for (Map.Entry<String, QuantileSketch> e : userSketches.entrySet()) {
+            StatUserDaily row = userRow(users, e.getKey(), day, now);
+            if (row != null) row.setCycleTimeSketch(e.getValue().serialize());
+        }
+        Map<String, QuantileSketch> teamSketches = new HashMap<>();
+        statTeamDailyMapper.streamCycleTimeSamples(start, end, ctx -> collectSample(teamSketches, ctx.getResultObject()));
+        for (Map.Entry<String, QuantileSketch> e : teamSketches.entrySet()) {
+            StatTeamDaily row = teamRow(teams, e.getKey(), day, now);
+            if (row != null) row.setCycleTimeSketch(e.getValue().serialize());
+        }
+
+        // 无样本的行写入空草图，与未计算草图（空值，查询时回退为实时计算）区分
+        String emptySketch = new QuantileSketch().serialize();
+        for (StatUserDaily row : users.values()) {
+            if (row.getCycleTimeSketch() == null) row.setCycleTimeSketch(emptySketch);
+        }
+        for (StatTeamDaily row : teams.values()) {
+            if (row.getCycleTimeSketch() == null) row.setCycleTimeSketch(emptySketch);
+        }
+
+        // 4. 覆盖写入（先清理当日旧数据，保证重跑幂等）
+        statUserDailyMapper.deleteByStatDate(day);
+        statTeamDailyMapper.deleteByStatDate(day);
+        if (!users.isEmpty()) statUserDailyService.saveBatch(users.values());
+        if (!teams.isEmpty()) statTeamDailyService.saveBatch(teams.values());
+    }
+
+    /**
+     * 用已汇总的用户日统计填充已汇总的日期，返回仍需实时计算的日期段（汇总区间之前与之后）
+     */
+    private List<LocalDate[]> fillFromUserRollup(int[] counts, String userId, LocalDate start, LocalDate end,
+                                               ToIntFunction<StatUserDaily> metric) {
+        LocalDate[] rolled = rolledUpWithin(start, end);
+        if (rolled == null) return liveRanges(start, end, null, null);
+        List<StatUserDaily> rows = statUserDailyService.list(new LambdaQueryWrapper<StatUserDaily>()
+                .eq(StatUserDaily::getUserId, userId)
+                .between(StatUserDaily::getStatDate, rolled[0], rolled[1]));
+        for (StatUserDaily row : rows) {
+            if (row == null || row.getStatDate() == null) continue;
+            counts[(int) ChronoUnit.DAYS.between(start, row.getStatDate())] = metric.applyAsInt(row);
+        }
+        return liveRanges(start, end, rolled[0], rolled[1]);
+    }
+
+    /**
+     * 用已汇总的团队日统计填充已汇总的日期，返回仍需实时计算的日期段（汇总区间之前与之后）
+     */
+    private List<LocalDate[]> fillFromTeamRollup(int[] counts, String teamId, LocalDate start, LocalDate end,
+                                               ToIntFunction<StatTeamDaily> metric) {
+        LocalDate[] rolled = rolledUpWithin(start, end);
+        if (rolled == null) return liveRanges(start, end, null, null);
+        List<StatTeamDaily> rows = statTeamDailyService.list(new LambdaQueryWrapper<StatTeamDaily>()
+                .eq(StatTeamDaily::getTeamId, teamId)
+                .between(StatTeamDaily::getStatDate, rolled[0], rolled[1]));
+        for (StatTeamDaily row : rows) {
+            if (row == null || row.getStatDate() == null) continue;
+            counts[(int) ChronoUnit.DAYS.between(start, row.getStatDate())] = metric.applyAsInt(row);
+        }
+        return liveRanges(start, end, rolled[0], rolled[1]);
+    }
+
+    /**
+     * 区间 [start, end] 内被日汇总覆盖的子区间 {from, to}；无交集返回 null。
+     * 汇总从首次运行起按日连续推进，覆盖范围为 [最早汇总日, 最后汇总日]，之外的日期没有汇总行，须实时计算
+     */
+    private LocalDate[] rolledUpWithin(LocalDate start, LocalDate end) {
+        LocalDate until = rolledUpUntil();
+        if (until == null || until.isBefore(start)) return null;
+        LocalDate from = statUserDailyMapper.selectMinStatDate();
+        if (from == null || from.isAfter(end)) return null;
+        LocalDate lo = from.isAfter(start) ? from : start;
+        LocalDate hi = until.isBefore(end) ? until : end;
+        return lo.isAfter(hi) ? null : new LocalDate[]{lo, hi};
+    }
+
+    /**
+     * [start, end] 中不在 [coveredFrom, coveredTo] 内的日期段（至多两段）；coveredFrom 为 null 或区间为空时返回整个区间
+     */
+    private static List<LocalDate[]> liveRanges(LocalDate start, LocalDate end, LocalDate coveredFrom, LocalDate coveredTo) {
+        List<LocalDate[]> out = new ArrayList<>(2);
+        if (coveredFrom == null || coveredTo == null || coveredFrom.isAfter(coveredTo)) {
+            out.add(new LocalDate[]{start, end});
+            return out;
+        }
+        if (start.isBefore(coveredFrom)) out.add(new LocalDate[]{start, coveredFrom.minusDays(1)});
+        if (coveredTo.isBefore(end)) out.add(new LocalDate[]{coveredTo.plusDays(1), end});
+        return out;
+    }
+
+    private static StatUserDaily userRow(Map<String, StatUserDaily> rows, String userId, LocalDate day, LocalDateTime now) {
+        if (userId == null) return null;
+        return rows.computeIfAbsent(userId, k -> StatUserDaily.builder()
+                .userId(k).statDate(day)
+                .createdCount(0).completedCount(0).overdueCount(0).inProgressCount(0).auditCount(0)
+                .priorityP0Count(0).priorityP1Count(0).priorityP2Count(0).priorityP3Count(0).priorityP4Count(0)
+                .isDelete(0).createTime(now).updateTime(now)
+                .build());
+    }
+
+    private static StatTeamDaily teamRow(Map<String, StatTeamDaily> rows, String teamId, LocalDate day, LocalDateTime now) {
+        if (teamId == null) return null;
+        return rows.computeIfAbsent(teamId, k -> StatTeamDaily.builder()
+                .teamId(k).statDate(day)
+                .createdCount(0).completedCount(0).overdueCount(0).inProgressCount(0).auditCount(0)
+                .priorityP0Count(0).priorityP1Count(0).priorityP2Count(0).priorityP3Count(0).priorityP4Count(0)
+                .isDelete(0).createTime(now).updateTime(now)
+                .build());
+    }
+
+    /**
+     * 合并汇总覆盖区间内各日的草图，返回该区间内仍需实时计算的起始日期；汇总时每行都写入草图（无样本时为空草图），
+     * 草图为空值说明该日按旧口径汇总或汇总于迁移前，从最早缺失日起回退为实时计算
+     */
+    private static <T> LocalDate mergeRolledUp(QuantileSketch sketch, List<T> rows, Function<T, LocalDate> date,
+                                               Function<T, String> text, LocalDate histEnd) {
+        LocalDate missingFrom = null;
+        Map<LocalDate, QuantileSketch> parsed = new HashMap<>();
+        for (T row : rows) {
+            LocalDate d = row == null ? null : date.apply(row);
+            if (d == null) continue;
+            QuantileSketch s = QuantileSketch.deserialize(text.apply(row));
+            if (s != null) {
+                parsed.put(d, s);
+            } else if (missingFrom == null || d.isBefore(missingFrom)) {
+                missingFrom = d;
+            }
+        }
+        for (Map.Entry<LocalDate, QuantileSketch> e : parsed.entrySet()) {
+            if (missingFrom == null || e.getKey().isBefore(missingFrom)) sketch.merge(e.getValue());
+        }
+        return missingFrom != null ? missingFrom : histEnd.plusDays(1);
+    }
+
+    private static void addSample(QuantileSketch sketch, CycleTimeSampleDto sample) {
+        if (sample != null && sample.getHours() != null) sketch.add(sample.getHours());
+    }
+
+    private static void collectSample(Map<String, QuantileSketch> sketches, CycleTimeSampleDto sample) {
+        if (sample == null || sample.getStatKey() == null || sample.getHours() == null) return;
+        sketches.computeIfAbsent(sample.getStatKey(), k -> new QuantileSketch()).add(sample.getHours());
+    }
+
+    private static int nz(Integer v) {
+        return v == null ? 0 : v;
+    }
+
+    /**
+     * 逾期区间的开上界：截止日 ≤ end 且早于今天
+     */
+    private static LocalDate overdueBefore(LocalDate end) {
+        LocalDate today = LocalDate.now();
+        LocalDate after = end.plusDays(1);
+        return after.isAfter(today) ? today : after;
+    }
+
+    private static int[] newRange(LocalDate start, LocalDate end) {
+        return new int[(int) ChronoUnit.DAYS.between(start, end) + 1];
+    }
+
+    /**
+     * 直方图中 stat_date 为 null 的基数行（区间之前的累计量）
+     */
+    private static int baseline(List<DayCountDto> rows) {
+        if (rows == null) return 0;
+        int sum = 0;
+        for (DayCountDto row : rows) {
+            if (row != null && row.getStatDate() == null && row.getStatCount() != null) sum += row.getStatCount().intValue();
+        }
+        return sum;
+    }
+
+    /**
+     * 将分组查询结果按日期偏移累加到数组，缺失的日期保持为 0
+     */
+    private static void fill(int[] counts, LocalDate start, List<DayCountDto> rows) {
+        if (rows == null) return;
+        for (DayCountDto row : rows) {
+            if (row == null || row.getStatDate() == null || row.getStatCount() == null) continue;
+            long offset = ChronoUnit.DAYS.between(start, row.getStatDate());
+            if (offset < 0 || offset >= counts.length) continue;
+            counts[(int) offset] += row.getStatCount().intValue();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package top.smartduck.ducktodo.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.util.SingleFlight;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Service
+public class StatsCacheServiceImpl implements StatsCacheService {
+
+    private static final String USER_SCOPE = "u:";
+    private static final String TEAM_SCOPE = "t:";
+
+    @Value("${stats.cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 条目存活时间（秒）；写路径会主动失效，TTL 只兜底未覆盖的写入（如用户改名）
+     */
+    @Value("${stats.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    /**
+     * 最多缓存的条目数（按访问顺序淘汰最久未使用的条目）
+     */
+    @Value("${stats.cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * 缓存键 → 条目（access-order LRU，读写均在 this 锁内完成，计算在锁外进行）
+     */
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * 作用域（u:用户ID / t:团队ID）→ 失效代数：条目记录写入时的代数，代数变化即视为失效。
+     * 作用域数超过 2 × maxEntries 时移除没有缓存条目的作用域，避免随访问过的用户/团队无限增长
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 代数发号器：所有代数取自同一递增序列，作用域被移除后重建时不会与旧条目记录的代数相同
+     */
+    private final AtomicLong generationSeq = new AtomicLong();
+
+    /**
+     * 未命中时的请求合并：同一键、同一失效代数的并发请求只计算一次
+     */
+    private final SingleFlight flights = new SingleFlight();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Override
+    public <T> T getOfUser(String endpoint, String userId, String params, Supplier<T> loader) {
+        return get(endpoint, userId == null ? null : USER_SCOPE + userId, params, loader);
+    }
+
+    @Override
+    public <T> T getOfTeam(String endpoint, String teamId, String params, Supplier<T> loader) {
+        return get(endpoint, teamId == null ? null : TEAM_SCOPE + teamId, params, loader);
+    }
+
+    @Override
+    public void invalidateUser(String userId) {
+        if (userId != null) invalidateScope(USER_SCOPE + userId);
+    }
+
+    @Override
+    public void invalidateTeam(String teamId) {
+        if (teamId != null) invalidateScope(TEAM_SCOPE + teamId);
+    }
+
+    @Override
+    public void invalidate(Collection<String> userIds, Collection<String> teamIds) {
+        if (userIds != null) {
+            for (String userId : new HashSet<>(userIds)) invalidateUser(userId);
+        }
+        if (teamIds != null) {
+            for (String teamId : new HashSet<>(teamIds)) invalidateTeam(teamId);
+        }
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long h = hits.get();
+        long m = misses.get();
+        int size;
+        synchronized (this) {
+            size = cache.size();
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        out.put("size", size);
+        out.put("maxEntries", maxEntries);
+        out.put("ttlSeconds", ttlSeconds);
+        out.put("hits", h);
+        out.put("misses", m);
+        out.put("hitRate", h + m == 0 ? 0.0 : (double) h / (double) (h + m));
+        out.put("loads", flights.executions());
+        out.put("coalesced", flights.shared());
+        out.put("inFlight", flights.inFlight());
+        out.put("evictions", evictions.get());
+        out.put("expirations", expirations.get());
+        out.put("invalidations", invalidations.get());
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String endpoint, String scope, String params, Supplier<T> loader) {
+        if (scope == null) return loader.get();
+        String key = endpoint + '|' + scope + '|' + (params == null ? "" : params);
+        if (!enabled) return flights.execute(key, loader);
+        AtomicLong generation = generationOf(scope);
+        synchronized (this) {
+            Entry e = cache.get(key);
+            if (e != null) {
+                if (e.generation == generation.get() && System.nanoTime() - e.expiresAt < 0) {
+                    hits.incrementAndGet();
+                    return (T) e.value;
+                }
+                cache.remove(key);
+                if (e.generation == generation.get()) expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        // 计算前记录代数：计算期间若发生失效，结果只返回给已加入的请求而不写入缓存；
+        // 代数计入合并键，失效之后到达的请求不会加入失效前开始的计算
+        long gen = generation.get();
+        return flights.execute(key + '#' + gen, () -> {
+            T value = loader.get();
+            if (value != null) put(key, scope, value, gen, generation);
+            return value;
+        });
+    }
+
+    private synchronized void put(String key, String scope, Object value, long gen, AtomicLong generation) {
+        if (generation.get() != gen) return;
+        cache.put(key, new Entry(value, scope, gen, System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds))));
+        int limit = Math.max(1, maxEntries);
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() > limit && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void invalidateScope(String scope) {
+        bump(scope);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务提交（或回滚）后再失效一次，清除事务期间其他线程读到旧数据后回填的条目
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(scope);
+                }
+            });
+        }
+    }
+
+    private void bump(String scope) {
+        generationOf(scope).set(generationSeq.incrementAndGet());
+        invalidations.incrementAndGet();
+    }
+
+    private AtomicLong generationOf(String scope) {
+        AtomicLong generation = generations.get(scope);
+        if (generation != null) return generation;
+        generation = generations.computeIfAbsent(scope, k -> new AtomicLong(generationSeq.incrementAndGet()));
+        if (generations.size() > 2 * Math.max(1, maxEntries)) pruneGenerations();
+        return generation;
+    }
+
+    /**
+     * 移除没有缓存条目的作用域；被移除作用域上进行中的计算写回的条目代数与重建后的代数不同，不会被命中
+     */
+    private synchronized void pruneGenerations() {
+        Set<String> live = new HashSet<>();
+        for (Entry e : cache.values()) live.add(e.scope);
+        generations.keySet().retainAll(live);
+    }
+
+    private static final class Entry {
+        final Object value;
+        final String scope;
+        final long generation;
+        final long expiresAt;
+
+        Entry(Object value, String scope, long generation, long expiresAt) {
+            this.value = value;
+            this.scope = scope;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
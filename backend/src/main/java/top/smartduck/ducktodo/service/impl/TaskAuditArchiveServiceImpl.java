@@ -0,0 +1,302 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.TaskAuditMapper;
+import top.smartduck.ducktodo.model.entity.TaskAudit;
+import top.smartduck.ducktodo.service.TaskAuditArchiveService;
+import top.smartduck.ducktodo.util.MinioUtil;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TaskAuditArchiveServiceImpl implements TaskAuditArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskAuditArchiveServiceImpl.class);
+
+    private static final String TABLE = "task_audit";
+    private static final String HISTORY_PARTITION = "p_history";
+    private static final String MAX_PARTITION = "pmax";
+    /** 仅操作本服务生成的分区名（pYYYYMM / p_history），拼接到 DDL 前均经此校验 */
+    private static final Pattern MONTH_PARTITION = Pattern.compile("^p\\d{6}$");
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter DAY_NAME = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskAuditMapper taskAuditMapper;
+
+    @Autowired
+    private MinioUtil minioUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${audit.partition.ahead-months:3}")
+    private int aheadMonths;
+
+    @Value("${audit.archive.target:local}")
+    private String target;
+
+    @Value("${audit.archive.local-dir:./data/audit-archive}")
+    private String localDir;
+
+    @Value("${audit.archive.minio-prefix:audit-archive}")
+    private String minioPrefix;
+
+    @Value("${audit.archive.chunk-size:5000}")
+    private int chunkSize;
+
+    @Override
+    public void maintainPartitions(LocalDate cutoff) {
+        try (Connection conn = dataSource.getConnection()) {
+            Map<String, LocalDateTime> parts = listPartitions(conn);
+            YearMonth current = YearMonth.now();
+            if (parts.isEmpty()) {
+                convertToPartitioned(conn, current);
+                parts = listPartitions(conn);
+            }
+
+            // 预建分区：从已有最大月份（或当前月）起补齐到 current + aheadMonths
+            YearMonth last = null;
+            for (String name : parts.keySet()) {
+                if (MONTH_PARTITION.matcher(name).matches()) {
+                    YearMonth m = YearMonth.parse(name.substring(1), MONTH_NAME);
+                    if (last == null || m.isAfter(last)) last = m;
+                }
+            }
+            YearMonth from = last == null ? current : last.plusMonths(1);
+            YearMonth until = current.plusMonths(Math.max(0, aheadMonths));
+            for (YearMonth m = from; !m.isAfter(until); m = m.plusMonths(1)) {
+                execute(conn, String.format(
+                        "ALTER TABLE `%s` REORGANIZE PARTITION %s INTO (PARTITION %s VALUES LESS THAN ('%s'), PARTITION %s VALUES LESS THAN (MAXVALUE))",
+                        TABLE, MAX_PARTITION, partitionName(m), bound(m.plusMonths(1)), MAX_PARTITION));
+                log.info("[Audit-Partition] Partition {} added.", partitionName(m));
+            }
+
+            // 删除上界不晚于截止日且已清空的历史分区（数据已归档）
+            if (cutoff != null) {
+                LocalDateTime limit = cutoff.atStartOfDay();
+                for (Map.Entry<String, LocalDateTime> e : parts.entrySet()) {
+                    String name = e.getKey();
+                    boolean managed = HISTORY_PARTITION.equals(name) || MONTH_PARTITION.matcher(name).matches();
+                    if (!managed || e.getValue() == null || e.getValue().isAfter(limit)) continue;
+                    if (!isPartitionEmpty(conn, name)) continue;
+                    execute(conn, String.format("ALTER TABLE `%s` DROP PARTITION %s", TABLE, name));
+                    log.info("[Audit-Partition] Empty partition {} dropped.", name);
+                }
+            }
+        } catch (Exception e) {
+            log.error("[Audit-Partition] Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public long archiveBefore(LocalDate cutoff) {
+        LocalDateTime end = cutoff.atStartOfDay();
+        LocalDateTime min = taskAuditMapper.selectMinCreateTime();
+        if (min == null || !min.isBefore(end)) return 0;
+        long total = 0;
+        // 按自然月分段，每段一个归档文件；某段失败即停止，未归档的数据保留在热表中
+        for (YearMonth m = YearMonth.from(min); m.atDay(1).atStartOfDay().isBefore(end); m = m.plusMonths(1)) {
+            LocalDateTime segStart = m.atDay(1).atStartOfDay();
+            LocalDateTime monthEnd = m.plusMonths(1).atDay(1).atStartOfDay();
+            LocalDateTime segEnd = monthEnd.isBefore(end) ? monthEnd : end;
+            long n = archiveSegment(segStart, segEnd);
+            if (n < 0) break;
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * 导出一个时间段到压缩文件并落地，成功后按导出的 audit_id 分块物理删除
+     *
+     * 导出期间仍可能有 create_time 落在该时间段内的记录写入（异步审计写入器延迟落库），
+     * 因此只删除已导出的主键（暂存于临时文件，不占用堆内存），不按时间范围删除。
+     *
+     * @return 归档条数；失败或删除条数与导出条数不一致时返回 -1
+     */
+    private long archiveSegment(LocalDateTime start, LocalDateTime end) {
+        int size = Math.max(100, chunkSize);
+        Path tmp = null;
+        Path idFile = null;
+        long count = 0;
+        try {
+            tmp = Files.createTempFile("task_audit_", ".jsonl.gz");
+            idFile = Files.createTempFile("task_audit_ids_", ".txt");
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8));
+                 Writer ids = Files.newBufferedWriter(idFile, StandardCharsets.UTF_8)) {
+                LocalDateTime afterTime = null;
+                String afterId = null;
+                while (true) {
+                    List<TaskAudit> rows = taskAuditMapper.selectArchiveChunk(start, end, afterTime, afterId, size);
+                    if (rows == null || rows.isEmpty()) break;
+                    for (TaskAudit a : rows) {
+                        w.write(objectMapper.writeValueAsString(a));
+                        w.write('\n');
+                        ids.write(a.getAuditId());
+                        ids.write('\n');
+                    }
+                    count += rows.size();
+                    TaskAudit last = rows.get(rows.size() - 1);
+                    afterTime = last.getCreateTime();
+                    afterId = last.getAuditId();
+                    if (rows.size() < size) break;
+                }
+            }
+            if (count == 0) return 0;
+
+            String fileName = String.format("task_audit_%s_%s_%d.jsonl.gz",
+                    start.format(DAY_NAME), end.format(DAY_NAME), System.currentTimeMillis());
+            String subDir = start.getYear() + "/" + String.format("%02d", start.getMonthValue());
+            if ("minio".equalsIgnoreCase(target)) {
+                String objectName = minioPrefix + "/" + subDir + "/" + fileName;
+                minioUtil.uploadFile(objectName, tmp, "application/gzip");
+                log.info("[Audit-Archive] {} audits in [{}, {}) uploaded to MinIO object {}", count, start, end, objectName);
+            } else {
+                Path dir = Paths.get(localDir, subDir);
+                Files.createDirectories(dir);
+                Path dest = dir.resolve(fileName);
+                Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING);
+                tmp = null;
+                log.info("[Audit-Archive] {} audits in [{}, {}) written to {}", count, start, end, dest);
+            }
+
+            long deleted = 0;
+            try (BufferedReader r = Files.newBufferedReader(idFile, StandardCharsets.UTF_8)) {
+                List<String> batch = new ArrayList<>(size);
+                String line;
+                while (true) {
+                    line = r.readLine();
+                    if (line != null && !line.isEmpty()) batch.add(line);
+                    if (batch.size() < size && line != null) continue;
+                    if (batch.isEmpty()) break;
+                    int n = taskAuditMapper.deleteArchivedByIds(start, end, batch);
+                    deleted += n;
+                    if (n != batch.size()) {
+                        // 已导出的记录被他处删除或修改了 create_time，停止后续删除与归档，待人工核对归档文件
+                        log.error("[Audit-Archive] Deleted {} of {} exported audits in a chunk of [{}, {}), aborting ({} of {} deleted)",
+                                n, batch.size(), start, end, deleted, count);
+                        return -1;
+                    }
+                    batch.clear();
+                    if (line == null) break;
+                }
+            }
+            if (deleted != count) {
+                log.error("[Audit-Archive] Archived {} but deleted {} audits in [{}, {}), aborting", count, deleted, start, end);
+                return -1;
+            }
+            return count;
+        } catch (Exception e) {
+            log.error("[Audit-Archive] Archive of [{}, {}) failed, rows kept: {}", start, end, e.getMessage());
+            return -1;
+        } finally {
+            for (Path p : new Path[]{tmp, idFile}) {
+                if (p == null) continue;
+                try {
+                    Files.deleteIfExists(p);
+                } catch (Exception ignore) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前分区：分区名 → 上界（pmax 或无法解析时为 null）；未分区返回空
+     */
+    private Map<String, LocalDateTime> listPartitions(Connection conn) throws Exception {
+        Map<String, LocalDateTime> out = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT partition_name, partition_description FROM information_schema.partitions " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL ORDER BY partition_ordinal_position")) {
+            ps.setString(1, TABLE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.put(rs.getString(1), parseBound(rs.getString(2)));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 转换为按月分区表：当前月之前的数据归入 p_history（由归档逐步清空），当前月起按月分区，末尾为 pmax
+     */
+    private void convertToPartitioned(Connection conn, YearMonth current) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ALTER TABLE `").append(TABLE).append("` DROP PRIMARY KEY, ADD PRIMARY KEY (`audit_id`, `create_time`) ")
+                .append("PARTITION BY RANGE COLUMNS(`create_time`) (")
+                .append("PARTITION ").append(HISTORY_PARTITION).append(" VALUES LESS THAN ('").append(bound(current)).append("')");
+        YearMonth until = current.plusMonths(Math.max(0, aheadMonths));
+        for (YearMonth m = current; !m.isAfter(until); m = m.plusMonths(1)) {
+            sb.append(", PARTITION ").append(partitionName(m))
+                    .append(" VALUES LESS THAN ('").append(bound(m.plusMonths(1))).append("')");
+        }
+        sb.append(", PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+        log.info("[Audit-Partition] Converting {} to monthly range partitions...", TABLE);
+        execute(conn, sb.toString());
+        log.info("[Audit-Partition] {} partitioned.", TABLE);
+    }
+
+    private boolean isPartitionEmpty(Connection conn, String name) throws Exception {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT 1 FROM `" + TABLE + "` PARTITION (" + name + ") LIMIT 1")) {
+            return !rs.next();
+        }
+    }
+
+    private static void execute(Connection conn, String sql) throws Exception {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static String partitionName(YearMonth m) {
+        return "p" + m.format(MONTH_NAME);
+    }
+
+    private static String bound(YearMonth m) {
+        return m.atDay(1).atStartOfDay().format(BOUND);
+    }
+
+    private static LocalDateTime parseBound(String description) {
+        if (description == null) return null;
+        String v = description.replace("'", "").trim();
+        if (v.isEmpty() || "MAXVALUE".equalsIgnoreCase(v)) return null;
+        try {
+            return LocalDateTime.parse(v, BOUND);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
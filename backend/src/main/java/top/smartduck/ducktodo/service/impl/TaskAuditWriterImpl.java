@@ -0,0 +1,295 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.mapper.ChildTaskMapper;
+import top.smartduck.ducktodo.mapper.TaskAuditMapper;
+import top.smartduck.ducktodo.mapper.TaskMapper;
+import top.smartduck.ducktodo.mapper.TaskUserRelationMapper;
+import top.smartduck.ducktodo.model.entity.ChildTask;
+import top.smartduck.ducktodo.model.entity.Task;
+import top.smartduck.ducktodo.model.entity.TaskAudit;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskAuditWriter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TaskAuditWriterImpl implements TaskAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskAuditWriterImpl.class);
+
+    @Autowired
+    private TaskAuditMapper taskAuditMapper;
+
+    @Autowired
+    private ChildTaskMapper childTaskMapper;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskUserRelationMapper taskUserRelationMapper;
+
+    @Autowired
+    private StatsCacheService statsCacheService;
+
+    @Value("${audit.writer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.writer.linger-ms:200}")
+    private long lingerMs;
+
+    @Value("${audit.writer.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    @Value("${audit.writer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<PendingAudit> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong syncFallbacks = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong highWatermark = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("[Audit-Writer] Disabled; audits are written synchronously.");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        running = true;
+        worker = new Thread(this::runLoop, "task-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("[Audit-Writer] Started: capacity={}, batchSize={}, lingerMs={}", queueCapacity, batchSize, lingerMs);
+    }
+
+    /**
+     * 停机排空：停止接收新批次，等待后台线程写完队列；超时后由当前线程同步写入剩余记录
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (worker == null) return;
+        running = false;
+        try {
+            worker.join(Math.max(0, shutdownTimeoutMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingAudit> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            log.warn("[Audit-Writer] Draining {} audits on shutdown thread.", rest.size());
+            for (int i = 0; i < rest.size(); i += Math.max(1, batchSize)) {
+                flush(rest.subList(i, Math.min(rest.size(), i + Math.max(1, batchSize))));
+            }
+        }
+        log.info("[Audit-Writer] Stopped: {}", metrics());
+    }
+
+    @Override
+    public void submit(TaskAudit audit, String childTaskId) {
+        if (audit == null) return;
+        if (audit.getCreateTime() == null) audit.setCreateTime(LocalDateTime.now());
+        PendingAudit p = new PendingAudit(audit, childTaskId);
+        if (running) {
+            try {
+                if (queue.offer(p, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    // 入队与停机排空竞争：停机已开始且记录仍在队列中（排空已结束或尚未取走）时撤回并同步写入；
+                    // remove 与 drainTo 在同一把队列锁内互斥，记录只会被其中一方处理
+                    if (!running && queue.remove(p)) {
+                        flush(Collections.singletonList(p));
+                        return;
+                    }
+                    enqueued.incrementAndGet();
+                    long depth = queue.size();
+                    highWatermark.accumulateAndGet(depth, Math::max);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            syncFallbacks.incrementAndGet();
+        }
+        // 未启用、已停止或队列持续已满：在调用线程同步写入
+        flush(Collections.singletonList(p));
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("running", running);
+        m.put("queueSize", queue == null ? 0 : queue.size());
+        m.put("queueCapacity", queueCapacity);
+        m.put("highWatermark", highWatermark.get());
+        m.put("enqueued", enqueued.get());
+        m.put("written", written.get());
+        m.put("batches", batches.get());
+        m.put("syncFallbacks", syncFallbacks.get());
+        m.put("failed", failed.get());
+        m.put("lastFlushMillis", lastFlushMillis);
+        return m;
+    }
+
+    private void runLoop() {
+        int size = Math.max(1, batchSize);
+        List<PendingAudit> batch = new ArrayList<>(size);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAudit first = queue.poll(Math.max(1, lingerMs), TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // 攒批：最多等待 linger 时间或攒满 batchSize
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < size) {
+                    queue.drainTo(batch, size - batch.size());
+                    if (batch.size() >= size) break;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) break;
+                    PendingAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[Audit-Writer] Unexpected error in writer loop: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 写入一批：批量解析子任务ID → 父任务ID、任务ID → 团队ID，再以单条多行 INSERT 落库；失败时逐条重试以隔离坏记录
+     */
+    private void flush(List<PendingAudit> batch) {
+        if (batch == null || batch.isEmpty()) return;
+        long begin = System.currentTimeMillis();
+        Set<String> childIds = new HashSet<>();
+        for (PendingAudit p : batch) {
+            if (p.childTaskId != null && !p.childTaskId.isEmpty()) childIds.add(p.childTaskId);
+        }
+        Map<String, String> parentOf = new HashMap<>();
+        if (!childIds.isEmpty()) {
+            try {
+                for (ChildTask ct : childTaskMapper.selectBatchIds(childIds)) {
+                    if (ct != null && ct.getTaskId() != null && !ct.getTaskId().isEmpty()) {
+                        parentOf.put(ct.getChildTaskId(), ct.getTaskId());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("[Audit-Writer] Resolve child task ids failed: {}", e.getMessage());
+            }
+        }
+        List<TaskAudit> rows = new ArrayList<>(batch.size());
+        for (PendingAudit p : batch) {
+            TaskAudit a = p.audit;
+            String parent = p.childTaskId == null ? null : parentOf.get(p.childTaskId);
+            if (parent != null) a.setTaskId(parent);
+            if (a.getTaskId() == null || a.getTaskId().isEmpty()) continue;
+            if (a.getAuditId() == null) a.setAuditId(IdWorker.get32UUID());
+            rows.add(a);
+        }
+        if (rows.isEmpty()) return;
+        resolveTeamIds(rows);
+        try {
+            taskAuditMapper.insertBatch(rows);
+            written.addAndGet(rows.size());
+        } catch (Exception e) {
+            log.warn("[Audit-Writer] Batch insert of {} audits failed, retrying one by one: {}", rows.size(), e.getMessage());
+            for (TaskAudit a : rows) {
+                try {
+                    taskAuditMapper.insertBatch(Collections.singletonList(a));
+                    written.incrementAndGet();
+                } catch (Exception ex) {
+                    failed.incrementAndGet();
+                    log.error("[Audit-Writer] Drop audit for task {}: {}", a.getTaskId(), ex.getMessage());
+                }
+            }
+        }
+        invalidateStats(rows);
+        batches.incrementAndGet();
+        lastFlushMillis = System.currentTimeMillis() - begin;
+    }
+
+    /**
+     * 冗余 team_id：整批任务ID一次查询；解析失败时保持为空，不影响审计写入
+     */
+    private void resolveTeamIds(List<TaskAudit> rows) {
+        Set<String> taskIds = new HashSet<>();
+        for (TaskAudit a : rows) {
+            if (a.getTeamId() == null) taskIds.add(a.getTaskId());
+        }
+        if (taskIds.isEmpty()) return;
+        Map<String, String> teamOf = new HashMap<>();
+        try {
+            for (Task t : taskMapper.selectTeamIdsByTaskIds(taskIds)) {
+                if (t != null && t.getTeamId() != null) teamOf.put(t.getTaskId(), t.getTeamId());
+            }
+        } catch (Exception e) {
+            log.warn("[Audit-Writer] Resolve team ids failed: {}", e.getMessage());
+            return;
+        }
+        for (TaskAudit a : rows) {
+            if (a.getTeamId() == null) a.setTeamId(teamOf.get(a.getTaskId()));
+        }
+    }
+
+    /**
+     * 统计缓存失效：整批涉及的团队与相关用户（任务关系用户、子任务执行者）一次查询后统一失效
+     */
+    private void invalidateStats(List<TaskAudit> rows) {
+        Set<String> taskIds = new HashSet<>();
+        Set<String> teamIds = new HashSet<>();
+        for (TaskAudit a : rows) {
+            taskIds.add(a.getTaskId());
+            if (a.getTeamId() != null) teamIds.add(a.getTeamId());
+        }
+        List<String> userIds = Collections.emptyList();
+        try {
+            userIds = taskUserRelationMapper.selectUserIdsByTaskIds(taskIds);
+        } catch (Exception e) {
+            log.warn("[Audit-Writer] Resolve related users for stats invalidation failed: {}", e.getMessage());
+        }
+        statsCacheService.invalidate(userIds, teamIds);
+    }
+
+    private static final class PendingAudit {
+        final TaskAudit audit;
+        final String childTaskId;
+
+        PendingAudit(TaskAudit audit, String childTaskId) {
+            this.audit = audit;
+            this.childTaskId = childTaskId;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import top.smartduck.ducktodo.common.enums.ResultCode;
+import top.smartduck.ducktodo.common.exception.BusinessException;
+import top.smartduck.ducktodo.mapper.TaskEdgeMapper;
+import top.smartduck.ducktodo.model.dto.TaskGraphSummaryDto;
+import top.smartduck.ducktodo.model.entity.TaskEdge;
+import top.smartduck.ducktodo.model.entity.TaskNode;
+import top.smartduck.ducktodo.modelService.TaskEdgeService;
+import top.smartduck.ducktodo.modelService.TaskNodeService;
+import top.smartduck.ducktodo.service.TaskGraphService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TaskGraphServiceImpl implements TaskGraphService {
+
+    @Autowired
+    private TaskNodeService taskNodeService;
+
+    @Autowired
+    private TaskEdgeService taskEdgeService;
+
+    @Autowired
+    private TaskEdgeMapper taskEdgeMapper;
+
+    /**
+     * 最多缓存的团队图谱数量（按访问顺序淘汰最久未使用的团队）
+     */
+    @Value("${graph.cache.max-teams:256}")
+    private int maxTeams;
+
+    /**
+     * 快照自加载起的存活时间（秒）：ai-backend 等其他进程直接写 task_node / task_edge 不经过失效，过期后重新加载
+     */
+    @Value("${graph.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    /**
+     * 团队ID → 图谱快照（access-order LRU，读写均在 this 锁内完成，加载在锁外进行）
+     */
+    private final LinkedHashMap<String, CachedGraph> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 团队ID → 失效代数：加载前记录代数，写回时代数未变才缓存，避免加载期间发生的写入被旧快照覆盖。
+     * 团队数超过 2 × maxTeams 时移除没有缓存快照的团队，避免随访问过的团队无限增长
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 代数发号器：所有代数取自同一递增序列，团队被移除后重建时不会与进行中加载记录的代数相同
+     */
+    private final AtomicLong generationSeq = new AtomicLong();
+
+    @Override
+    public TaskGraphSummaryDto summarize(String teamId) {
+        TeamGraph g = graphOf(teamId);
+        int longest = g.longestPath();
+        return new TaskGraphSummaryDto(g.nodeIds.length, g.edgeCount, g.nodeTypeCounts, g.edgeTypeCounts,
+                longest >= 0, longest);
+    }
+
+    @Override
+    public List<String> topologicalOrder(String teamId) {
+        TeamGraph g = graphOf(teamId);
+        int[] order = g.topoOrder();
+        List<String> out = new ArrayList<>(order.length);
+        for (int v : order) out.add(g.nodeIds[v]);
+        return out;
+    }
+
+    @Override
+    public boolean hasCycle(String teamId) {
+        TeamGraph g = graphOf(teamId);
+        return g.topoOrder().length < g.nodeIds.length;
+    }
+
+    @Override
+    public boolean wouldCreateCycle(String teamId, String sourceNodeId, String targetNodeId) {
+        if (sourceNodeId == null || targetNodeId == null) return false;
+        if (sourceNodeId.equals(targetNodeId)) return true;
+        TeamGraph g = graphOf(teamId);
+        Integer s = g.index.get(sourceNodeId);
+        Integer t = g.index.get(targetNodeId);
+        if (s == null || t == null) return false;
+        return g.reachable(t)[s];
+    }
+
+    @Override
+    public Set<String> downstreamOf(String teamId, String nodeId) {
+        TeamGraph g = graphOf(teamId);
+        Integer start = nodeId == null ? null : g.index.get(nodeId);
+        if (start == null) return Collections.emptySet();
+        boolean[] seen = g.reachable(start);
+        Set<String> out = new LinkedHashSet<>();
+        for (int v = 0; v < seen.length; v++) {
+            if (seen[v] && v != start) out.add(g.nodeIds[v]);
+        }
+        return out;
+    }
+
+    @Override
+    public int criticalPathLength(String teamId) {
+        return graphOf(teamId).longestPath();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public TaskEdge addEdge(String teamId, TaskEdge edge) {
+        if (edge == null || edge.getSourceNodeId() == null || edge.getTargetNodeId() == null) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "缺少源节点或目标节点");
+        }
+        // 校验基于库内最新数据而非缓存快照：快照可能滞后于 ai-backend 等其他进程的写入
+        TeamGraph g = load(teamId);
+        Integer s = g.index.get(edge.getSourceNodeId());
+        Integer t = g.index.get(edge.getTargetNodeId());
+        if (s == null || t == null) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "源节点与目标节点须属于该团队");
+        }
+        if (s.equals(t) || g.reachable(t)[s]) {
+            throw new BusinessException(ResultCode.BAD_REQUEST, "新增该依赖会形成循环依赖");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        edge.setCreateTime(now);
+        edge.setUpdateTime(now);
+        if (!taskEdgeService.save(edge)) {
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "保存任务边失败");
+        }
+        invalidate(teamId);
+        return edge;
+    }
+
+    @Override
+    public void invalidate(String teamId) {
+        if (teamId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 立即失效一次阻止本事务内读取旧快照，提交后再失效一次清除事务期间其他线程回填的快照
+            evict(teamId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(teamId);
+                }
+            });
+        } else {
+            evict(teamId);
+        }
+    }
+
+    @Override
+    public void invalidateNodes(Collection<TaskNode> nodes) {
+        if (nodes == null || nodes.isEmpty()) return;
+        Set<String> teamIds = new HashSet<>();
+        for (TaskNode n : nodes) {
+            if (n != null && n.getTeamId() != null) teamIds.add(n.getTeamId());
+        }
+        for (String teamId : teamIds) invalidate(teamId);
+    }
+
+    private void evict(String teamId) {
+        generationOf(teamId).set(generationSeq.incrementAndGet());
+        synchronized (this) {
+            cache.remove(teamId);
+        }
+    }
+
+    private TeamGraph graphOf(String teamId) {
+        if (teamId == null) return TeamGraph.EMPTY;
+        synchronized (this) {
+            CachedGraph cached = cache.get(teamId);
+            if (cached != null) {
+                if (System.nanoTime() - cached.expiresAt < 0) return cached.graph;
+                cache.remove(teamId);
+            }
+        }
+        long gen = generationOf(teamId).get();
+        TeamGraph loaded = load(teamId);
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        synchronized (this) {
+            AtomicLong current = generations.get(teamId);
+            if (current != null && current.get() == gen) {
+                cache.put(teamId, new CachedGraph(loaded, expiresAt));
+                if (cache.size() > Math.max(1, maxTeams)) {
+                    Iterator<String> it = cache.keySet().iterator();
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private AtomicLong generationOf(String teamId) {
+        AtomicLong generation = generations.get(teamId);
+        if (generation != null) return generation;
+        generation = generations.computeIfAbsent(teamId, k -> new AtomicLong(generationSeq.incrementAndGet()));
+        if (generations.size() > 2 * Math.max(1, maxTeams)) pruneGenerations();
+        return generation;
+    }
+
+    /**
+     * 移除没有缓存快照的团队；被移除团队上进行中的加载在写回时找不到原代数，不会被缓存
+     */
+    private synchronized void pruneGenerations() {
+        generations.keySet().retainAll(new HashSet<>(cache.keySet()));
+    }
+
+    private TeamGraph load(String teamId) {
+        List<TaskNode> nodes = taskNodeService.list(new LambdaQueryWrapper<TaskNode>()
+                .select(TaskNode::getTaskNodeId, TaskNode::getNodeType)
+                .eq(TaskNode::getTeamId, teamId));
+        List<TaskEdge> edges = taskEdgeMapper.selectByTeamId(teamId);
+        return TeamGraph.build(nodes == null ? Collections.emptyList() : nodes,
+                edges == null ? Collections.emptyList() : edges);
+    }
+
+    /**
+     * 缓存条目：快照与过期时刻（System.nanoTime 基准）
+     */
+    private static final class CachedGraph {
+        final TeamGraph graph;
+        final long expiresAt;
+
+        CachedGraph(TeamGraph graph, long expiresAt) {
+            this.graph = graph;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 不可变的团队图谱快照：节点以 0..n-1 编号，出边以 CSR（offset + targets）存储
+     */
+    static final class TeamGraph {
+
+        static final TeamGraph EMPTY = build(Collections.emptyList(), Collections.emptyList());
+
+        final String[] nodeIds;
+        final Map<String, Integer> index;
+        /** 节点 v 的出边为 outTargets[outOffsets[v] .. outOffsets[v + 1]) */
+        final int[] outOffsets;
+        final int[] outTargets;
+        final int[] inDegree;
+        final int edgeCount;
+        final Map<String, Integer> nodeTypeCounts;
+        final Map<String, Integer> edgeTypeCounts;
+
+        private TeamGraph(String[] nodeIds, Map<String, Integer> index, int[] outOffsets, int[] outTargets,
+                          int[] inDegree, int edgeCount, Map<String, Integer> nodeTypeCounts,
+                          Map<String, Integer> edgeTypeCounts) {
+            this.nodeIds = nodeIds;
+            this.index = index;
+            this.outOffsets = outOffsets;
+            this.outTargets = outTargets;
+            this.inDegree = inDegree;
+            this.edgeCount = edgeCount;
+            this.nodeTypeCounts = nodeTypeCounts;
+            this.edgeTypeCounts = edgeTypeCounts;
+        }
+
+        static TeamGraph build(List<TaskNode> nodes, List<TaskEdge> edges) {
+            Map<String, Integer> index = new HashMap<>(nodes.size() * 2);
+            List<String> ids = new ArrayList<>(nodes.size());
+            Map<String, Integer> nodeTypes = new HashMap<>();
+            for (TaskNode n : nodes) {
+                if (n == null || n.getTaskNodeId() == null || index.containsKey(n.getTaskNodeId())) continue;
+                index.put(n.getTaskNodeId(), ids.size());
+                ids.add(n.getTaskNodeId());
+                if (n.getNodeType() != null) nodeTypes.merge(n.getNodeType(), 1, Integer::sum);
+            }
+            int n = ids.size();
+
+            // 两遍构建 CSR：先按源节点计数，再按前缀和偏移写入目标
+            Map<String, Integer> edgeTypes = new HashMap<>();
+            int[] src = new int[edges.size()];
+            int[] dst = new int[edges.size()];
+            int m = 0;
+            int[] outOffsets = new int[n + 1];
+            int[] inDegree = new int[n];
+            for (TaskEdge e : edges) {
+                if (e == null) continue;
+                if (e.getEdgeType() != null) edgeTypes.merge(e.getEdgeType(), 1, Integer::sum);
+                Integer s = e.getSourceNodeId() == null ? null : index.get(e.getSourceNodeId());
+                Integer t = e.getTargetNodeId() == null ? null : index.get(e.getTargetNodeId());
+                if (s == null || t == null) continue;
+                src[m] = s;
+                dst[m] = t;
+                m++;
+                outOffsets[s + 1]++;
+                inDegree[t]++;
+            }
+            for (int v = 0; v < n; v++) outOffsets[v + 1] += outOffsets[v];
+            int[] cursor = Arrays.copyOf(outOffsets, n);
+            int[] outTargets = new int[m];
+            for (int i = 0; i < m; i++) outTargets[cursor[src[i]]++] = dst[i];
+
+            int edgeCount = 0;
+            for (TaskEdge e : edges) if (e != null) edgeCount++;
+            return new TeamGraph(ids.toArray(new String[0]), index, outOffsets, outTargets, inDegree, edgeCount,
+                    Collections.unmodifiableMap(nodeTypes), Collections.unmodifiableMap(edgeTypes));
+        }
+
+        /**
+         * Kahn 拓扑排序；返回长度小于节点数说明存在环
+         */
+        int[] topoOrder() {
+            int n = nodeIds.length;
+            int[] indeg = Arrays.copyOf(inDegree, n);
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            for (int v = 0; v < n; v++) if (indeg[v] == 0) queue[tail++] = v;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    int w = outTargets[i];
+                    if (--indeg[w] == 0) queue[tail++] = w;
+                }
+            }
+            return tail == n ? queue : Arrays.copyOf(queue, tail);
+        }
+
+        /**
+         * 从 start 出发的可达标记（含 start 自身），迭代 DFS 避免深链栈溢出
+         */
+        boolean[] reachable(int start) {
+            boolean[] seen = new boolean[nodeIds.length];
+            int[] stack = new int[nodeIds.length];
+            int top = 0;
+            stack[top++] = start;
+            seen[start] = true;
+            while (top > 0) {
+                int v = stack[--top];
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    int w = outTargets[i];
+                    if (!seen[w]) {
+                        seen[w] = true;
+                        stack[top++] = w;
+                    }
+                }
+            }
+            return seen;
+        }
+
+        /**
+         * 按拓扑序做最长路 DP（以节点数计）；存在环返回 -1
+         */
+        int longestPath() {
+            int n = nodeIds.length;
+            int[] order = topoOrder();
+            if (order.length < n) return -1;
+            int[] depth = new int[n];
+            int best = 0;
+            for (int v : order) {
+                if (depth[v] == 0) depth[v] = 1;
+                best = Math.max(best, depth[v]);
+                for (int i = outOffsets[v]; i < outOffsets[v + 1]; i++) {
+                    int w = outTargets[i];
+                    if (depth[v] + 1 > depth[w]) depth[w] = depth[v] + 1;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package top.smartduck.ducktodo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import top.smartduck.ducktodo.common.enums.ResultCode;
+import top.smartduck.ducktodo.common.enums.TeamDeleteJobStatusEnum;
+import top.smartduck.ducktodo.common.enums.TeamStatusEnum;
+import top.smartduck.ducktodo.common.exception.BusinessException;
+import top.smartduck.ducktodo.mapper.TeamDeleteJobMapper;
+import top.smartduck.ducktodo.model.entity.TaskEdge;
+import top.smartduck.ducktodo.model.entity.TaskFile;
+import top.smartduck.ducktodo.model.entity.Team;
+import top.smartduck.ducktodo.model.entity.TeamDeleteJob;
+import top.smartduck.ducktodo.model.entity.TeamUserRelation;
+import top.smartduck.ducktodo.modelService.ChildTaskService;
+import top.smartduck.ducktodo.modelService.TaskEdgeService;
+import top.smartduck.ducktodo.modelService.TaskFileService;
+import top.smartduck.ducktodo.modelService.TaskGroupUserRelationService;
+import top.smartduck.ducktodo.modelService.TaskNodeService;
+import top.smartduck.ducktodo.modelService.TaskUserRelationService;
+import top.smartduck.ducktodo.modelService.TeamDeleteJobService;
+import top.smartduck.ducktodo.modelService.TeamService;
+import top.smartduck.ducktodo.modelService.TeamUserRelationService;
+import top.smartduck.ducktodo.service.ObjectStorageGcService;
+import top.smartduck.ducktodo.service.StatsCacheService;
+import top.smartduck.ducktodo.service.TaskGraphService;
+import top.smartduck.ducktodo.service.TeamDeleteService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+@Service
+public class TeamDeleteServiceImpl implements TeamDeleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamDeleteServiceImpl.class);
+
+    /**
+     * 最后阶段：逻辑删除团队记录并完成任务
+     */
+    private static final String STAGE_TEAM = "TEAM";
+
+    @Autowired
+    private TeamDeleteJobMapper teamDeleteJobMapper;
+
+    @Autowired
+    private TeamDeleteJobService teamDeleteJobService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamUserRelationService teamUserRelationService;
+
+    @Autowired
+    private TaskGraphService taskGraphService;
+
+    @Autowired
+    private StatsCacheService statsCacheService;
+
+    @Autowired
+    private TaskFileService taskFileService;
+
+    @Autowired
+    private TaskGroupUserRelationService taskGroupUserRelationService;
+
+    @Autowired
+    private TaskNodeService taskNodeService;
+
+    @Autowired
+    private TaskEdgeService taskEdgeService;
+
+    @Autowired
+    private TaskUserRelationService taskUserRelationService;
+
+    @Autowired
+    private ChildTaskService childTaskService;
+
+    @Autowired
+    private ObjectStorageGcService objectStorageGcService;
+
+    /**
+     * 单条分批语句最多处理的行数
+     */
+    @Value("${team.delete.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 两批之间的停顿，给其他写入让出锁与 IO
+     */
+    @Value("${team.delete.chunk-pause-ms:20}")
+    private long chunkPauseMs;
+
+    /**
+     * 单轮执行预算，用尽后保留进度，任务回到待执行
+     */
+    @Value("${team.delete.run-budget-seconds:20}")
+    private long runBudgetSeconds;
+
+    /**
+     * 执行中任务的心跳超过该时长未更新，视为执行实例已中断，可被重新认领
+     */
+    @Value("${team.delete.stale-seconds:120}")
+    private long staleSeconds;
+
+    /**
+     * 失败任务的最大执行次数
+     */
+    @Value("${team.delete.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * 级联阶段（按顺序执行）：先移除关系与图数据，再删除任务与任务族，最后删除团队记录
+     */
+    private Map<String, BiFunction<String, Integer, Integer>> stages() {
+        Map<String, BiFunction<String, Integer, Integer>> stages = new LinkedHashMap<>();
+        stages.put("TASK_GROUP_MEMBER", (teamId, limit) -> removeByIds(
+                teamDeleteJobMapper.selectTaskGroupMemberIds(teamId, limit), taskGroupUserRelationService::removeByIds));
+        stages.put("TASK_NODE", this::deleteTaskNodeChunk);
+        stages.put("TASK_USER_RELATION", (teamId, limit) -> removeByIds(
+                teamDeleteJobMapper.selectTaskUserRelationIds(teamId, limit), taskUserRelationService::removeByIds));
+        stages.put("TASK_FILE", this::deleteTaskFileChunk);
+        stages.put("CHILD_TASK", (teamId, limit) -> removeByIds(
+                teamDeleteJobMapper.selectChildTaskIds(teamId, limit), childTaskService::removeByIds));
+        stages.put("TASK", teamDeleteJobMapper::softDeleteTasks);
+        stages.put("TASK_GROUP", teamDeleteJobMapper::softDeleteTaskGroups);
+        return stages;
+    }
+
+    @Override
+    public TeamDeleteJob submit(String teamId, String operatorId) {
+        LocalDateTime now = LocalDateTime.now();
+        Team patch = new Team();
+        patch.setTeamId(teamId);
+        patch.setTeamStatus(TeamStatusEnum.DELETING.getCode());
+        patch.setUpdateTime(now);
+        if (!teamService.updateById(patch)) {
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "标记团队删除中失败");
+        }
+        // 成员关系在请求内移除，团队立即从所有成员的团队列表中消失
+        teamUserRelationService.remove(new LambdaQueryWrapper<TeamUserRelation>().eq(TeamUserRelation::getTeamId, teamId));
+
+        TeamDeleteJob job = TeamDeleteJob.builder()
+                .teamId(teamId)
+                .operatorId(operatorId)
+                .jobStatus(TeamDeleteJobStatusEnum.PENDING.getCode())
+                .jobStage(stages().keySet().iterator().next())
+                .deletedRows(0L)
+                .attemptCount(0)
+                .isDelete(0)
+                .createTime(now)
+                .updateTime(now)
+                .build();
+        if (!teamDeleteJobService.save(job)) {
+            throw new BusinessException(ResultCode.INTERNAL_ERROR, "登记团队删除任务失败");
+        }
+        return job;
+    }
+
+    @Override
+    public int runPending() {
+        long deadline = System.nanoTime() + Math.max(1, runBudgetSeconds) * 1_000_000_000L;
+        int claimed = 0;
+        while (System.nanoTime() < deadline) {
+            LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(Math.max(1, staleSeconds));
+            List<TeamDeleteJob> candidates = teamDeleteJobService.list(new LambdaQueryWrapper<TeamDeleteJob>()
+                    .and(w -> w
+                            .and(p -> p.in(TeamDeleteJob::getJobStatus,
+                                            TeamDeleteJobStatusEnum.PENDING.getCode(), TeamDeleteJobStatusEnum.FAILED.getCode())
+                                    .lt(TeamDeleteJob::getAttemptCount, Math.max(1, maxAttempts)))
+                            .or(r -> r.eq(TeamDeleteJob::getJobStatus, TeamDeleteJobStatusEnum.RUNNING.getCode())
+                                    .lt(TeamDeleteJob::getHeartbeatTime, staleBefore)))
+                    .orderByAsc(TeamDeleteJob::getCreateTime)
+                    .last("LIMIT 10"));
+            boolean progressed = false;
+            for (TeamDeleteJob job : candidates) {
+                if (System.nanoTime() >= deadline) break;
+                // 条件更新认领，多实例部署时同一任务只会被一个实例执行
+                if (teamDeleteJobMapper.claim(job.getTeamDeleteJobId(), LocalDateTime.now(), staleBefore) != 1) continue;
+                claimed++;
+                progressed = true;
+                run(teamDeleteJobService.getById(job.getTeamDeleteJobId()), deadline);
+            }
+            if (!progressed) break;
+        }
+        return claimed;
+    }
+
+    @Override
+    public TeamDeleteJob progress(String teamId) {
+        return teamDeleteJobService.getOne(new LambdaQueryWrapper<TeamDeleteJob>()
+                .eq(TeamDeleteJob::getTeamId, teamId)
+                .orderByDesc(TeamDeleteJob::getCreateTime)
+                .last("LIMIT 1"), false);
+    }
+
+    /**
+     * 从任务记录的阶段继续执行，直到完成或用尽预算
+     */
+    private void run(TeamDeleteJob job, long deadline) {
+        if (job == null) return;
+        String teamId = job.getTeamId();
+        long deleted = job.getDeletedRows() == null ? 0L : job.getDeletedRows();
+        String stage = job.getJobStage();
+        try {
+            Map<String, BiFunction<String, Integer, Integer>> stages = stages();
+            boolean reached = stage == null || !stages.containsKey(stage);
+            for (Map.Entry<String, BiFunction<String, Integer, Integer>> entry : stages.entrySet()) {
+                if (!reached && !entry.getKey().equals(stage)) continue;
+                reached = true;
+                stage = entry.getKey();
+                int limit = Math.max(1, chunkSize);
+                int rows;
+                do {
+                    if (System.nanoTime() >= deadline) {
+                        // 预算用尽：保存进度并交还任务，下一轮从当前阶段继续
+                        saveProgress(job, stage, deleted, TeamDeleteJobStatusEnum.PENDING, null);
+                        return;
+                    }
+                    rows = entry.getValue().apply(teamId, limit);
+                    deleted += rows;
+                    saveProgress(job, stage, deleted, TeamDeleteJobStatusEnum.RUNNING, null);
+                    if (rows >= limit) pause();
+                } while (rows >= limit);
+                if ("TASK_NODE".equals(stage)) taskGraphService.invalidate(teamId);
+            }
+
+            stage = STAGE_TEAM;
+            if (teamService.removeById(teamId)) deleted++;
+            job.setFinishTime(LocalDateTime.now());
+            saveProgress(job, stage, deleted, TeamDeleteJobStatusEnum.FINISHED, null);
+            taskGraphService.invalidate(teamId);
+            statsCacheService.invalidateTeam(teamId);
+            log.info("[Team-Delete] Team '{}' deleted, {} rows in {} attempt(s).", teamId, deleted, job.getAttemptCount());
+        } catch (Exception e) {
+            log.warn("[Team-Delete] Job '{}' of team '{}' failed at stage {}: {}", job.getTeamDeleteJobId(), teamId, stage, e.getMessage());
+            String msg = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+            saveProgress(job, stage, deleted, TeamDeleteJobStatusEnum.FAILED, msg.length() > 1024 ? msg.substring(0, 1024) : msg);
+        }
+    }
+
+    /**
+     * 节点分批删除：先删除与本批节点相连的任务链，再删除节点（中断后重跑时本批节点会被重新选中）
+     */
+    private Integer deleteTaskNodeChunk(String teamId, Integer limit) {
+        List<String> nodeIds = teamDeleteJobMapper.selectTaskNodeIds(teamId, limit);
+        if (nodeIds.isEmpty()) return 0;
+        // 源/目标节点各自走索引（index merge），只锁定本批节点相连的链
+        taskEdgeService.remove(new LambdaQueryWrapper<TaskEdge>()
+                .in(TaskEdge::getSourceNodeId, nodeIds)
+                .or()
+                .in(TaskEdge::getTargetNodeId, nodeIds));
+        taskNodeService.removeByIds(nodeIds);
+        return nodeIds.size();
+    }
+
+    /**
+     * 按主键逻辑删除一批记录
+     */
+    private Integer removeByIds(List<String> ids, Consumer<List<String>> remover) {
+        if (ids.isEmpty()) return 0;
+        remover.accept(ids);
+        return ids.size();
+    }
+
+    /**
+     * 附件分批删除：对象名先写入回收队列，再逻辑删除记录（中断后重跑时重复入队会被忽略）
+     */
+    private Integer deleteTaskFileChunk(String teamId, Integer limit) {
+        List<TaskFile> files = teamDeleteJobMapper.selectTaskFileChunk(teamId, limit);
+        if (files.isEmpty()) return 0;
+        List<String> ids = new ArrayList<>();
+        for (TaskFile tf : files) ids.add(tf.getTaskFileId());
+        objectStorageGcService.enqueueTaskFiles(files);
+        taskFileService.removeByIds(ids);
+        return files.size();
+    }
+
+    private void saveProgress(TeamDeleteJob job, String stage, long deleted, TeamDeleteJobStatusEnum status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        LambdaUpdateWrapper<TeamDeleteJob> uw = new LambdaUpdateWrapper<TeamDeleteJob>()
+                .eq(TeamDeleteJob::getTeamDeleteJobId, job.getTeamDeleteJobId())
+                .set(TeamDeleteJob::getJobStage, stage)
+                .set(TeamDeleteJob::getDeletedRows, deleted)
+                .set(TeamDeleteJob::getJobStatus, status.getCode())
+                .set(TeamDeleteJob::getHeartbeatTime, now)
+                .set(TeamDeleteJob::getUpdateTime, now);
+        if (error != null) uw.set(TeamDeleteJob::getLastError, error);
+        if (job.getFinishTime() != null) uw.set(TeamDeleteJob::getFinishTime, job.getFinishTime());
+        teamDeleteJobService.update(uw);
+    }
+
+    private void pause() {
+        if (chunkPauseMs <= 0) return;
+        try {
+            Thread.sleep(chunkPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Team delete interrupted", e);
+        }
+    }
+}
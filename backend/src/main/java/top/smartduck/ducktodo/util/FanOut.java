@@ -0,0 +1,127 @@
+package top.smartduck.ducktodo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 请求内的并行查询扇出（结构化并发）：子任务在虚拟线程上并发执行，共享同一截止时间；
+ * 任一子任务失败、超时或调用线程被中断时取消其余子任务，作用域（try-with-resources）结束时取消全部未完成的子任务。
+ * 取消不中断已在执行的子任务：虚拟线程在套接字读写中被中断会关闭 JDBC 连接，导致连接池反复重建连接；
+ * 已开始的查询执行完毕后结果被丢弃，连接正常归还连接池。
+ *
+ * 可传入跨请求共享的信号量限制同时在虚拟线程上执行的子任务数（每个子任务通常占用一个数据库连接）：
+ * 取不到许可的子任务直接在调用线程内执行，不排队等待，因此单个请求额外占用的连接数与全局并发均有上限。
+ *
+ * 关闭并行时子任务在调用线程内依次执行，调用方代码与结果不变，便于对比与回退。
+ * 子任务不继承调用线程的事务与 ThreadLocal 上下文（如 SecurityContext），只应执行与请求上下文无关的只读查询。
+ * 非线程安全：fork/join 只应由创建者线程调用。
+ */
+public final class FanOut implements AutoCloseable {
+
+    /** 为 null 表示顺序执行 */
+    private final ExecutorService executor;
+    private final long deadline;
+    /** 跨请求共享的并行许可，为 null 表示不限制 */
+    private final Semaphore permits;
+    private final List<Future<?>> forked = new ArrayList<>();
+
+    /**
+     * @param parallel 是否在虚拟线程上并行执行
+     * @param timeoutMillis 整个扇出的截止时间（自创建起计算）
+     */
+    public FanOut(boolean parallel, long timeoutMillis) {
+        this(parallel, timeoutMillis, null);
+    }
+
+    /**
+     * @param parallel 是否在虚拟线程上并行执行
+     * @param timeoutMillis 整个扇出的截止时间（自创建起计算）
+     * @param permits 跨请求共享的并行许可；取不到许可的子任务在调用线程内执行
+     */
+    public FanOut(boolean parallel, long timeoutMillis, Semaphore permits) {
+        this.permits = permits;
+        this.executor = parallel ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, timeoutMillis));
+    }
+
+    /**
+     * 提交一个子任务；顺序执行或取不到并行许可时在调用线程内立即执行
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        Future<T> f;
+        if (executor == null || (permits != null && !permits.tryAcquire())) {
+            CompletableFuture<T> done = new CompletableFuture<>();
+            try {
+                done.complete(task.call());
+            } catch (Exception e) {
+                done.completeExceptionally(e);
+            }
+            f = done;
+        } else if (permits == null) {
+            f = executor.submit(task);
+        } else {
+            // 许可在执行线程退出时归还（取消不中断执行，查询结束前连接仍被占用）；
+            // 未开始即被取消的任务 run() 仍会被执行器调用并立即返回，许可同样归还
+            FutureTask<T> ft = new FutureTask<>(task) {
+                @Override
+                public void run() {
+                    try {
+                        super.run();
+                    } finally {
+                        permits.release();
+                    }
+                }
+            };
+            try {
+                executor.execute(ft);
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+            f = ft;
+        }
+        forked.add(f);
+        return f;
+    }
+
+    /**
+     * 在截止时间内等待子任务结果；失败时先取消其余子任务
+     *
+     * @throws TimeoutException 超过截止时间
+     * @throws RuntimeException 子任务抛出的运行时异常原样抛出，受检异常包装为 IllegalStateException
+     */
+    public <T> T join(Future<T> future) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new IllegalStateException("Fan-out interrupted", e);
+        } catch (ExecutionException e) {
+            cancelAll();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 取消未开始的子任务并释放执行器；不等待、也不中断已在执行的子任务
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        if (executor != null) executor.shutdown();
+    }
+
+    private void cancelAll() {
+        for (Future<?> f : forked) {
+            if (!f.isDone()) f.cancel(false);
+        }
+    }
+}
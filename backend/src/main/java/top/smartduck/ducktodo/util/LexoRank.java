@@ -0,0 +1,143 @@
+package top.smartduck.ducktodo.util;
+
+/**
+ * 字符串排序键（LexoRank 风格的分数索引）：键按字节序比较，任意两个相邻键之间总能生成新键，
+ * 移动一个元素只需改写该元素自身的键，无需重排其余元素。
+ *
+ * 键格式：
+ * - 字符集 `0-9a-z`（ASCII 升序，数据库列需使用二进制排序规则，如 `ascii_bin`）
+ * - 非空且不以 `0` 结尾（保证任意键之前仍可插入）
+ * - 批量生成的键为 5 位 36 进制序号 + `i`，自中点 `i0000` 起编号，首尾两侧均留有约 3000 万个追加/前插空间
+ *
+ * 在同一位置反复插入会使键逐步变长，超过 {@link #REBALANCE_LENGTH} 后由后台重排任务按当前顺序重新生成等宽键。
+ */
+public final class LexoRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int WIDTH = 5;
+    private static final char SUFFIX = 'i';
+    /**
+     * 序号起点（36 进制 `i0000`），批量生成的键位于键空间中部
+     */
+    private static final long ORIGIN = 18L * BASE * BASE * BASE * BASE;
+    private static final long LIMIT = (long) BASE * BASE * BASE * BASE * BASE;
+
+    /**
+     * 排序键列的最大长度（与表结构 varchar(64) 一致）
+     */
+    public static final int MAX_LENGTH = 64;
+
+    /**
+     * 建议重排的键长度阈值（{@code rank.rebalance.max-length} 的默认值）
+     */
+    public static final int REBALANCE_LENGTH = 24;
+
+    private LexoRank() {
+    }
+
+    /**
+     * 批量生成第 ordinal 个键（从 1 开始，等宽且严格递增）
+     */
+    public static String sequence(int ordinal) {
+        long n = ORIGIN + ordinal;
+        if (ordinal < 1 || n >= LIMIT) throw new IllegalArgumentException("Rank ordinal out of range: " + ordinal);
+        return encode(n) + SUFFIX;
+    }
+
+    /**
+     * 生成位于 last 之后的键（last 为 null 时返回首个键）；追加时序号递增，键长度保持不变
+     */
+    public static String after(String last) {
+        if (last == null) return sequence(1);
+        check(last);
+        long n = decode(last);
+        if (n + 1 < LIMIT) return encode(n + 1) + SUFFIX;
+        return between(last, null);
+    }
+
+    /**
+     * 生成位于 first 之前的键（first 为 null 时返回首个键）
+     */
+    public static String before(String first) {
+        if (first == null) return sequence(1);
+        check(first);
+        long n = decode(first);
+        if (n - 1 > 0) return encode(n - 1) + SUFFIX;
+        return between(null, first);
+    }
+
+    /**
+     * 生成严格位于 lo 与 hi 之间的键，null 表示无界
+     *
+     * @throws IllegalArgumentException 键格式非法或 lo ≥ hi
+     */
+    public static String between(String lo, String hi) {
+        if (lo == null && hi == null) return sequence(1);
+        if (lo != null) check(lo);
+        if (hi != null) check(hi);
+        if (lo != null && hi != null && lo.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Rank lower bound must be less than upper bound: " + lo + " >= " + hi);
+        }
+        return midpoint(lo == null ? "" : lo, hi);
+    }
+
+    /**
+     * 是否为合法的排序键
+     */
+    public static boolean isValid(String key) {
+        if (key == null || key.isEmpty() || key.length() > MAX_LENGTH) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) return false;
+        }
+        return key.charAt(key.length() - 1) != '0';
+    }
+
+    /**
+     * 中点算法：a 可为空串（负无穷），b 为 null 表示正无穷；要求 a < b 且均不以 `0` 结尾
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // 去掉公共前缀（a 较短时按 0 补齐比较）
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : '0') == b.charAt(n)) n++;
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.substring(Math.min(n, a.length())), b.substring(n));
+            }
+        }
+        int da = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int db = b == null ? BASE : DIGITS.indexOf(b.charAt(0));
+        if (db - da > 1) {
+            return String.valueOf(DIGITS.charAt((da + db) / 2));
+        }
+        // 首位相邻：b 多于一位时取其首位即可，否则保留 a 的首位并在其后继续取中点
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(da) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    /**
+     * 取键的前 5 位（不足补 0）作为序号
+     */
+    private static long decode(String key) {
+        long n = 0;
+        for (int i = 0; i < WIDTH; i++) {
+            n = n * BASE + (i < key.length() ? DIGITS.indexOf(key.charAt(i)) : 0);
+        }
+        return n;
+    }
+
+    private static String encode(long n) {
+        char[] out = new char[WIDTH];
+        for (int i = WIDTH - 1; i >= 0; i--) {
+            out[i] = DIGITS.charAt((int) (n % BASE));
+            n /= BASE;
+        }
+        return new String(out);
+    }
+
+    private static void check(String key) {
+        if (!isValid(key)) throw new IllegalArgumentException("Invalid rank key: " + key);
+    }
+}
@@ -3,27 +3,42 @@ package top.smartduck.ducktodo.util;
 import io.minio.*;
 import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
 import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 /**
  * MinIO 工具类
  * 提供对象存储的基本操作：上传、下载、删除、获取链接等。
+ * 已知大小的上传统一经由本地文件流式上传，单个请求的内存占用不随文件大小增长。
  */
 @Component
 public class MinioUtil {
 
     private static final Logger log = LoggerFactory.getLogger(MinioUtil.class);
 
+    /**
+     * 分片大小：MinIO 要求分片至少 5MB，这里设为 10MB
+     */
+    private static final long PART_SIZE = 10L * 1024 * 1024;
+
     @Value("${minio.endpoint}")
     private String endpoint;
 
@@ -39,6 +54,18 @@ public class MinioUtil {
     @Value("${minio.ensure-bucket:true}")
     private boolean ensureBucketEnabled;
 
+    /**
+     * 上传遇到网络重置错误时的最大尝试次数（从文件重新读取，不在内存中缓冲）
+     */
+    @Value("${minio.upload.max-attempts:3}")
+    private int uploadMaxAttempts;
+
+    /**
+     * 上传暂存目录，为空时使用系统临时目录
+     */
+    @Value("${minio.upload.spool-dir:}")
+    private String spoolDir;
+
     private MinioClient client;
 
 
@@ -92,7 +119,7 @@ public class MinioUtil {
                     PutObjectArgs.builder()
                             .bucket(bucket)
                             .object(objectName)
-                            .stream(stream, -1, 10 * 1024 * 1024) // 分片大小 10MB
+                            .stream(stream, -1, PART_SIZE)
                             .contentType(contentType)
                             .build()
             );
@@ -103,52 +130,61 @@ public class MinioUtil {
     }
 
     /**
-     * 上传文件（已知大小模式，优化网络传输）
+     * 上传本地文件（流式，内存占用与文件大小无关）
      * <p>
-     * 针对小文件（<=10MB）会尝试内存缓冲，遇到网络重置错误时可自动降级为文件上传模式。
+     * 由 SDK 直接从文件分片读取上传；遇到网络重置错误时重新读取文件重试，最多 {@code minio.upload.max-attempts} 次。
      * </p>
      *
-     * @param objectName 对象名
-     * @param stream     输入流
+     * @param objectName  对象名
+     * @param file        本地文件
      * @param contentType MIME 类型
-     * @param size       文件大小（字节）
      * @return 对象访问 URL（直链）
      */
-    public String uploadKnownSize(String objectName, InputStream stream, String contentType, long size) {
-        try {
-            // 内存缓冲阈值：10MB
-            final long maxBuffer = 10L * 1024 * 1024;
-            byte[] buffer = null;
-
-            // 若文件较小，先读入内存，以便在网络异常时重试
-            if (size >= 0 && size <= maxBuffer) {
-                buffer = stream.readAllBytes(); // JDK 9+ 方法
-            }
-
-            // MinIO 要求分片至少 5MB，这里设为 10MB
-            long partSize = 10 * 1024 * 1024;
-
+    public String uploadFile(String objectName, Path file, String contentType) {
+        int attempts = Math.max(1, uploadMaxAttempts);
+        for (int attempt = 1; ; attempt++) {
             try {
-                InputStream in = (buffer != null) ? new ByteArrayInputStream(buffer) : stream;
-                client.putObject(
-                        PutObjectArgs.builder()
+                client.uploadObject(
+                        UploadObjectArgs.builder()
                                 .bucket(bucket)
                                 .object(objectName)
-                                .stream(in, size, partSize)
+                                .filename(file.toAbsolutePath().toString(), PART_SIZE)
                                 .contentType(contentType)
                                 .build()
                 );
                 return getObjectUrl(objectName);
             } catch (Exception e) {
-                // 针对“连接重置”等网络错误，且有缓冲区的情况下，尝试降级到临时文件上传
-                if (buffer != null && isNetworkResetError(e)) {
-                    log.warn("MinIO stream upload failed ({}), falling back to file upload for object: {}", e.getMessage(), objectName);
-                    return uploadViaTempFile(objectName, buffer, contentType);
+                if (attempt < attempts && isNetworkResetError(e)) {
+                    log.warn("MinIO upload attempt {} failed ({}), retrying from file for object: {}", attempt, e.getMessage(), objectName);
+                    continue;
                 }
-                throw e;
+                throw new RuntimeException("MinIO Upload failed: " + e.getMessage(), e);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("MinIO Upload (KnownSize) failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 上传 multipart 文件（流式）
+     * <p>
+     * 请求体已由容器落盘为临时文件（{@code spring.servlet.multipart.file-size-threshold}），这里将其转移到暂存文件
+     * （同一文件系统时为改名，不复制内容）后按文件上传，重试时重新读取暂存文件。
+     * </p>
+     *
+     * @param objectName  对象名
+     * @param file        multipart 文件
+     * @param contentType MIME 类型
+     * @return 对象访问 URL（直链）
+     */
+    public String uploadMultipart(String objectName, MultipartFile file, String contentType) {
+        Path spool = null;
+        try {
+            spool = createSpoolFile();
+            file.transferTo(spool.toFile());
+            return uploadFile(objectName, spool, contentType);
+        } catch (IOException e) {
+            throw new RuntimeException("MinIO Upload (Multipart) failed: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(spool);
         }
     }
 
@@ -189,6 +225,76 @@ public class MinioUtil {
         }
     }
 
+    /**
+     * 批量删除对象（S3 多对象删除，SDK 按每批 1000 个拆分请求）
+     * <p>
+     * 对象不存在视为删除成功；单个对象删除失败不影响其余对象，整批请求失败时抛出异常。
+     * </p>
+     *
+     * @param objectNames 对象名
+     * @return 删除失败的对象名 → 失败原因
+     */
+    public Map<String, String> removeAll(Collection<String> objectNames) {
+        Map<String, String> failed = new LinkedHashMap<>();
+        if (objectNames == null || objectNames.isEmpty()) return failed;
+        List<DeleteObject> objects = new ArrayList<>(objectNames.size());
+        for (String name : objectNames) objects.add(new DeleteObject(name));
+        try {
+            // 结果为惰性迭代，必须遍历才会真正发出删除请求
+            for (Result<DeleteError> r : client.removeObjects(RemoveObjectsArgs.builder().bucket(bucket).objects(objects).build())) {
+                DeleteError err = r.get();
+                if ("NoSuchKey".equals(err.code())) continue;
+                failed.put(err.objectName(), err.code() + ": " + err.message());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("MinIO RemoveObjects failed: " + e.getMessage(), e);
+        }
+        return failed;
+    }
+
+    /**
+     * 按对象名顺序列出前缀下的对象（递归，不含目录）
+     *
+     * @param prefix     对象名前缀
+     * @param startAfter 从该对象名之后开始列出，为 null 时从头开始
+     * @param limit      最多返回的数量
+     * @return 对象列表；数量小于 limit 表示已列到末尾
+     */
+    public List<StoredObject> listObjects(String prefix, String startAfter, int limit) {
+        List<StoredObject> out = new ArrayList<>();
+        ListObjectsArgs.Builder args = ListObjectsArgs.builder().bucket(bucket).prefix(prefix).recursive(true);
+        if (startAfter != null) args.startAfter(startAfter);
+        try {
+            for (Result<Item> r : client.listObjects(args.build())) {
+                Item item = r.get();
+                if (item.isDir()) continue;
+                Instant modified = item.lastModified() == null ? null : item.lastModified().toInstant();
+                out.add(new StoredObject(item.objectName(), modified, item.size()));
+                if (out.size() >= limit) break;
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("MinIO ListObjects failed: " + e.getMessage(), e);
+        }
+        return out;
+    }
+
+    /**
+     * 从对象直链 URL（{@link #getObjectUrl} 的返回值）中解析对象名
+     * <p>
+     * 直链中的对象名未做 URL 编码（可能含空格、`#`、`?` 等），因此按字符串去掉当前 `endpoint/bucket/` 前缀，不做 URI 解析；
+     * 前缀不匹配（如 endpoint 已变更）时返回 null，调用方不得据此认为对象未被引用。
+     * </p>
+     *
+     * @param url 直链 URL
+     * @return 对象名；无法解析时返回 null
+     */
+    public String extractObjectName(String url) {
+        if (url == null || url.isEmpty()) return null;
+        String prefix = objectUrlBase() + "/";
+        if (!url.startsWith(prefix) || url.length() == prefix.length()) return null;
+        return url.substring(prefix.length());
+    }
+
     /**
      * 获取对象直链 URL（不含签名，适合公开读的 Bucket）
      *
@@ -197,11 +303,17 @@ public class MinioUtil {
      */
     public String getObjectUrl(String objectName) {
         if (objectName == null || objectName.isEmpty()) return null;
-        // 去除 endpoint 末尾斜杠
-        String base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
         // 确保 objectName 不以斜杠开头（避免双斜杠）
         String cleanName = objectName.startsWith("/") ? objectName.substring(1) : objectName;
-        return base + "/" + bucket + "/" + cleanName;
+        return objectUrlBase() + "/" + cleanName;
+    }
+
+    /**
+     * 直链前缀 `endpoint/bucket`（去除 endpoint 末尾斜杠）
+     */
+    private String objectUrlBase() {
+        String base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        return base + "/" + bucket;
     }
 
     /**
@@ -277,29 +389,36 @@ public class MinioUtil {
     }
 
     /**
-     * 降级方案：写入临时文件后上传
+     * 在暂存目录创建上传用的临时文件
      */
-    private String uploadViaTempFile(String objectName, byte[] data, String contentType) throws Exception {
-        File tmp = File.createTempFile("ducktodo-minio-", ".upload");
-        try (FileOutputStream fos = new FileOutputStream(tmp)) {
-            fos.write(data);
-            fos.flush();
-        }
+    private Path createSpoolFile() throws IOException {
+        Path dir = (spoolDir == null || spoolDir.trim().isEmpty())
+                ? Paths.get(System.getProperty("java.io.tmpdir"))
+                : Paths.get(spoolDir.trim());
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "ducktodo-minio-", ".upload");
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) return;
         try {
-            client.uploadObject(
-                    UploadObjectArgs.builder()
-                            .bucket(bucket)
-                            .object(objectName)
-                            .filename(tmp.getAbsolutePath())
-                            .contentType(contentType)
-                            .build()
-            );
-            return getObjectUrl(objectName);
-        } finally {
-            // 尝试删除临时文件，失败则标记退出时删除
-            if (!tmp.delete()) {
-                tmp.deleteOnExit();
-            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file {}: {}", file, e.getMessage());
         }
     }
+
+    /**
+     * 对象列表项
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StoredObject {
+        /** 对象名 */
+        private final String objectName;
+        /** 最后修改时间 */
+        private final Instant lastModified;
+        /** 对象大小（字节） */
+        private final long size;
+    }
 }
@@ -0,0 +1,138 @@
+package top.smartduck.ducktodo.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 可合并的分位数草图（对数分桶，相对误差约 1%）。
+ *
+ * 非负样本按 `ceil(log_γ(x))` 落入桶中，γ = (1 + α) / (1 - α)，α = 0.01；
+ * 分位数估计值与真实值的相对误差不超过 α。两个草图按桶计数相加即可合并（结果与一次性写入全部样本完全相同），
+ * 因此可按日持久化后在查询时合并任意日期区间，而无需重新读取原始数据。
+ *
+ * 同时精确记录样本数、总和、最小值与最大值，均值为精确值。非线程安全。
+ */
+public final class QuantileSketch {
+
+    private static final double ALPHA = 0.01;
+    private static final double GAMMA = (1 + ALPHA) / (1 - ALPHA);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    /** 小于该值的样本计入零桶（单位与样本一致，小时口径下约 3.6 秒） */
+    private static final double MIN_INDEXABLE = 1e-3;
+    private static final String VERSION = "1";
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * 写入一个样本；负数与非有限值被忽略
+     */
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || value < 0) return;
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+        } else {
+            buckets.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+        }
+        count++;
+        sum += value;
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+    }
+
+    /**
+     * 合并另一个草图（为 null 或空时不变）
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || other.count == 0) return;
+        for (Map.Entry<Integer, Long> e : other.buckets.entrySet()) {
+            buckets.merge(e.getKey(), e.getValue(), Long::sum);
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Double.isNaN(min) ? other.min : Math.min(min, other.min);
+        max = Double.isNaN(max) ? other.max : Math.max(max, other.max);
+    }
+
+    /**
+     * 估计 q 分位数（0 ≤ q ≤ 1）；空草图返回 0
+     */
+    public double quantile(double q) {
+        if (count == 0) return 0.0;
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) return Math.max(min, 0.0);
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> e : buckets.entrySet()) {
+            seen += e.getValue();
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(GAMMA, e.getKey()) / (GAMMA + 1);
+                return Math.min(max, Math.max(min, estimate));
+            }
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    public double mean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * 序列化为紧凑文本：`版本|样本数|总和|最小值|最大值|零桶|桶下标:计数,...`
+     */
+    public String serialize() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(VERSION).append('|').append(count).append('|').append(sum).append('|')
+                .append(count == 0 ? 0.0 : min).append('|').append(count == 0 ? 0.0 : max).append('|')
+                .append(zeroCount).append('|');
+        boolean first = true;
+        for (Map.Entry<Integer, Long> e : buckets.entrySet()) {
+            if (!first) sb.append(',');
+            sb.append(e.getKey()).append(':').append(e.getValue());
+            first = false;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 反序列化；文本为空或格式不可识别时返回 null
+     */
+    public static QuantileSketch deserialize(String text) {
+        if (text == null || text.isEmpty()) return null;
+        String[] parts = text.split("\\|", -1);
+        if (parts.length != 7 || !VERSION.equals(parts[0])) return null;
+        try {
+            QuantileSketch s = new QuantileSketch();
+            s.count = Long.parseLong(parts[1]);
+            s.sum = Double.parseDouble(parts[2]);
+            if (s.count > 0) {
+                s.min = Double.parseDouble(parts[3]);
+                s.max = Double.parseDouble(parts[4]);
+            }
+            s.zeroCount = Long.parseLong(parts[5]);
+            if (!parts[6].isEmpty()) {
+                for (String pair : parts[6].split(",")) {
+                    int colon = pair.indexOf(':');
+                    s.buckets.put(Integer.parseInt(pair.substring(0, colon)), Long.parseLong(pair.substring(colon + 1)));
+                }
+            }
+            return s;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package top.smartduck.ducktodo.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并（single-flight）：同一键的并发调用只有首个调用者（leader）执行计算，
+ * 其余调用者等待并共享其结果或异常；计算结束即移除，之后的调用重新执行，不做缓存。
+ *
+ * 共享结果会被多个请求同时读取，调用方不得修改返回对象；需要修改时先复制。
+ */
+public final class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * 执行或加入同一键的进行中计算
+     *
+     * @param key 计算键（须唯一确定结果）
+     * @param loader 计算函数，仅由 leader 在其线程内调用
+     * @return 计算结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = calls.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.incrementAndGet();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw e;
+            }
+        }
+        executions.incrementAndGet();
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, mine);
+        }
+    }
+
+    /**
+     * 实际执行次数
+     */
+    public long executions() {
+        return executions.get();
+    }
+
+    /**
+     * 加入进行中计算（未重复执行）的次数
+     */
+    public long shared() {
+        return shared.get();
+    }
+
+    /**
+     * 当前进行中的计算数
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+}
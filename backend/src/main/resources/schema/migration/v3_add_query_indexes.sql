@@ -0,0 +1,30 @@
+-- 版本迁移脚本：为高频查询路径补充二级索引
+-- 版本：v3
+-- 说明：对应各 Controller 中 LambdaQueryWrapper 的等值过滤/排序列；新建库的 DDL 已包含这些索引
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，索引已存在（Duplicate key name）时跳过该语句
+
+ALTER TABLE `task` ADD KEY `idx_task_group_create` (`task_group_id`, `create_time`);
+ALTER TABLE `task` ADD KEY `idx_team_id` (`team_id`);
+
+ALTER TABLE `task_user_relation` ADD KEY `idx_user_task` (`user_id`, `task_id`);
+ALTER TABLE `task_user_relation` ADD KEY `idx_task_id` (`task_id`);
+
+ALTER TABLE `child_task` ADD KEY `idx_task_index` (`task_id`, `child_task_index`);
+
+ALTER TABLE `task_audit` ADD KEY `idx_task_time` (`task_id`, `create_time`);
+ALTER TABLE `task_audit` ADD KEY `idx_operator_time` (`operator_id`, `create_time`);
+
+ALTER TABLE `task_node` ADD KEY `idx_team_id` (`team_id`);
+
+ALTER TABLE `task_edge` ADD KEY `idx_source_node` (`source_node_id`);
+ALTER TABLE `task_edge` ADD KEY `idx_target_node` (`target_node_id`);
+
+ALTER TABLE `team_user_relation` ADD KEY `idx_team_user_status` (`team_id`, `user_id`, `user_status`);
+ALTER TABLE `team_user_relation` ADD KEY `idx_user_status` (`user_id`, `user_status`);
+
+ALTER TABLE `task_group_user_relation` ADD KEY `idx_group_user_status` (`task_group_id`, `user_id`, `user_status`);
+ALTER TABLE `task_group_user_relation` ADD KEY `idx_user_status` (`user_id`, `user_status`);
+
+ALTER TABLE `task_group` ADD KEY `idx_team_id` (`team_id`);
+
+ALTER TABLE `task_file` ADD KEY `idx_task_id` (`task_id`);
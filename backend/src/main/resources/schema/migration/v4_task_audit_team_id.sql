@@ -0,0 +1,11 @@
+-- 版本迁移脚本：审计表冗余团队ID
+-- 版本：v4
+-- 说明：写入审计时从任务冗余 team_id，团队活跃度统计可直接按 (team_id, create_time) 范围扫描，无需连接 task 表
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，列/索引已存在时跳过该语句；回填语句可重复执行
+
+ALTER TABLE `task_audit` ADD COLUMN `team_id` varchar(128) DEFAULT NULL COMMENT '所属团队id（UUID，写入时冗余自任务）' AFTER `task_id`;
+ALTER TABLE `task_audit` ADD KEY `idx_team_time` (`team_id`, `create_time`);
+
+UPDATE `task_audit` a JOIN `task` t ON t.`task_id` = a.`task_id`
+SET a.`team_id` = t.`team_id`
+WHERE a.`team_id` IS NULL;
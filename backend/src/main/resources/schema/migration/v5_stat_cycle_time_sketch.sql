@@ -0,0 +1,8 @@
+-- 版本迁移脚本：日统计汇总表增加周期时间分位数草图
+-- 版本：v5
+-- 说明：日汇总任务将当日完成任务的 开始→完成 耗时写入可合并的分位数草图，长区间分位数由逐日草图合并得出
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，列已存在（Duplicate column name）时跳过该语句；
+--       迁移前已汇总的日期草图为空，查询时对这些日期回退为实时计算
+
+ALTER TABLE `stat_user_daily` ADD COLUMN `cycle_time_sketch` TEXT DEFAULT NULL COMMENT '当日完成的相关任务周期时间分位数草图（序列化文本）' AFTER `priority_p4_count`;
+ALTER TABLE `stat_team_daily` ADD COLUMN `cycle_time_sketch` TEXT DEFAULT NULL COMMENT '当日完成的团队任务周期时间分位数草图（序列化文本）' AFTER `priority_p4_count`;
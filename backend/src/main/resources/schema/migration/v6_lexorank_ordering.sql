@@ -0,0 +1,39 @@
+-- 版本迁移脚本：子任务、任务族、团队排序改为字符串排序键（LexoRank）
+-- 版本：v6
+-- 说明：移动一个元素只改写该元素的排序键；原整数索引列保留（记录创建/加入时的序号），不再参与排序
+--       存量数据按原排序（索引升序，其次创建/加入时间）回填等宽键，格式与 LexoRank.sequence(n) 一致：
+--       5 位 36 进制（18 * 36^4 + n）+ 'i'
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，列/索引已存在时跳过该语句；回填语句仅处理排序键为空的行，可重复执行
+
+ALTER TABLE `child_task` ADD COLUMN `child_task_rank` varchar(64) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '子任务排序键（LexoRank），按字节序升序排列' AFTER `child_task_index`;
+ALTER TABLE `child_task` ADD KEY `idx_task_rank` (`task_id`, `child_task_rank`);
+
+ALTER TABLE `task_group_user_relation` ADD COLUMN `group_rank` varchar(64) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '任务族排序键（LexoRank），按字节序升序排列' AFTER `group_index`;
+ALTER TABLE `task_group_user_relation` ADD KEY `idx_user_group_rank` (`user_id`, `group_rank`);
+
+ALTER TABLE `team_user_relation` ADD COLUMN `team_rank` varchar(64) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '团队排序键（LexoRank），按字节序升序排列' AFTER `team_index`;
+ALTER TABLE `team_user_relation` ADD KEY `idx_user_team_rank` (`user_id`, `team_rank`);
+
+UPDATE `child_task` c JOIN (
+    SELECT `child_task_id`,
+           ROW_NUMBER() OVER (PARTITION BY `task_id` ORDER BY `child_task_index`, `create_time` DESC, `child_task_id`) AS rn
+    FROM `child_task`
+) r ON r.`child_task_id` = c.`child_task_id`
+SET c.`child_task_rank` = CONCAT(LOWER(LPAD(CONV(30233088 + r.rn, 10, 36), 5, '0')), 'i')
+WHERE c.`child_task_rank` IS NULL;
+
+UPDATE `task_group_user_relation` g JOIN (
+    SELECT `task_group_user_relation_id`,
+           ROW_NUMBER() OVER (PARTITION BY `user_id` ORDER BY `group_index`, `join_time`, `task_group_user_relation_id`) AS rn
+    FROM `task_group_user_relation`
+) r ON r.`task_group_user_relation_id` = g.`task_group_user_relation_id`
+SET g.`group_rank` = CONCAT(LOWER(LPAD(CONV(30233088 + r.rn, 10, 36), 5, '0')), 'i')
+WHERE g.`group_rank` IS NULL;
+
+UPDATE `team_user_relation` t JOIN (
+    SELECT `team_user_relation_id`,
+           ROW_NUMBER() OVER (PARTITION BY `user_id` ORDER BY `team_index`, `join_time`, `team_user_relation_id`) AS rn
+    FROM `team_user_relation`
+) r ON r.`team_user_relation_id` = t.`team_user_relation_id`
+SET t.`team_rank` = CONCAT(LOWER(LPAD(CONV(30233088 + r.rn, 10, 36), 5, '0')), 'i')
+WHERE t.`team_rank` IS NULL;
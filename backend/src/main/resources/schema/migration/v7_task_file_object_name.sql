@@ -0,0 +1,12 @@
+-- 版本迁移脚本：附件表记录对象名
+-- 版本：v7
+-- 说明：对象回收与对账按对象名匹配附件，不再从直链 URL 反解（URL 中对象名未编码，且依赖 endpoint 配置）；
+--       存量附件的对象名均位于 `tasks/{taskId}/attachments/` 下，按该片段在 URL 中的位置回填
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，列已存在（Duplicate column name）时跳过该语句；
+--       无法定位该片段的记录保持为空，回收时回退为按 URL 解析，对账时跳过其所属任务
+
+ALTER TABLE `task_file` ADD COLUMN `task_file_object_name` varchar(512) DEFAULT NULL COMMENT '附件对象存储中的对象名（不含 bucket）' AFTER `task_file_path`;
+UPDATE `task_file`
+SET `task_file_object_name` = SUBSTRING(`task_file_path`, LOCATE(CONCAT('/tasks/', `task_id`, '/attachments/'), `task_file_path`) + 1)
+WHERE `task_file_object_name` IS NULL
+  AND LOCATE(CONCAT('/tasks/', `task_id`, '/attachments/'), `task_file_path`) > 0;
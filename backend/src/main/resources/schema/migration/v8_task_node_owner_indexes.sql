@@ -0,0 +1,8 @@
+-- 版本迁移脚本：任务节点按所属任务族/任务/子任务建立索引
+-- 版本：v8
+-- 说明：团队分批删除从任务族、任务、子任务沿索引连接到任务节点，只读取并锁定本批节点
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，索引已存在（Duplicate key name）时跳过该语句
+
+ALTER TABLE `task_node` ADD KEY `idx_task_group_id` (`task_group_id`);
+ALTER TABLE `task_node` ADD KEY `idx_task_id` (`task_id`);
+ALTER TABLE `task_node` ADD KEY `idx_child_task_id` (`child_task_id`);
@@ -0,0 +1,8 @@
+-- 版本迁移脚本：清空按旧口径汇总的周期时间分位数草图
+-- 版本：v9
+-- 说明：周期时间样本恢复为与原 MTTR 一致的口径（完成时间落在区间内即计入，不限当前状态），
+--       此前逐日草图只包含已完成状态的任务；清空后查询对这些日期回退为实时计算，之后的日汇总按新口径写入
+-- 注意：此脚本由 DatabaseInitializer 按版本自动执行，重复执行无副作用
+
+UPDATE `stat_user_daily` SET `cycle_time_sketch` = NULL WHERE `cycle_time_sketch` IS NOT NULL;
+UPDATE `stat_team_daily` SET `cycle_time_sketch` = NULL WHERE `cycle_time_sketch` IS NOT NULL;
@@ -0,0 +1,11 @@
+CREATE TABLE `schema_migration` (
+  `schema_migration_id` varchar(128) NOT NULL COMMENT '迁移记录id（UUID）',
+  `migration_version` varchar(64) NOT NULL COMMENT '迁移版本号，如 v3',
+  `migration_description` varchar(255) DEFAULT NULL COMMENT '迁移说明',
+  `migration_resource` varchar(255) NOT NULL COMMENT '迁移脚本资源路径',
+  `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
+  `create_time` datetime NOT NULL COMMENT '创建时间（即迁移执行时间）',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`schema_migration_id`),
+  UNIQUE KEY `uk_migration_version` (`migration_version`)
+)COMMENT='数据库版本迁移记录表';
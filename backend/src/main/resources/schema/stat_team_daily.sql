@@ -0,0 +1,22 @@
+CREATE TABLE `stat_team_daily` (
+  `stat_team_daily_id` varchar(128) NOT NULL COMMENT '团队日统计id（UUID）',
+  `team_id` varchar(128) NOT NULL COMMENT '团队id（UUID）',
+  `stat_date` date NOT NULL COMMENT '统计日期',
+  `created_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的团队任务数',
+  `completed_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日完成的团队任务数',
+  `overdue_count` int(11) NOT NULL DEFAULT 0 COMMENT '统计日结束时处于逾期的团队任务数',
+  `in_progress_count` int(11) NOT NULL DEFAULT 0 COMMENT '统计日结束时处于进行中的团队任务数',
+  `audit_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日团队任务的审计事件数',
+  `priority_p0_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的P0优先级团队任务数',
+  `priority_p1_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的P1优先级团队任务数',
+  `priority_p2_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的P2优先级团队任务数',
+  `priority_p3_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的P3优先级团队任务数',
+  `priority_p4_count` int(11) NOT NULL DEFAULT 0 COMMENT '当日创建的P4优先级团队任务数',
+  `cycle_time_sketch` TEXT DEFAULT NULL COMMENT '当日完成的团队任务周期时间分位数草图（序列化文本）',
+  `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`stat_team_daily_id`),
+  UNIQUE KEY `uk_team_date` (`team_id`, `stat_date`),
+  KEY `idx_stat_date` (`stat_date`)
+)COMMENT='团队日统计汇总表';
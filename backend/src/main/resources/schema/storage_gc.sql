@@ -0,0 +1,14 @@
+CREATE TABLE `storage_gc` (
+  `storage_gc_id` varchar(128) NOT NULL COMMENT '待回收对象id（UUID）',
+  `object_name` varchar(512) NOT NULL COMMENT '对象存储中的对象名（不含 bucket）',
+  `gc_status` tinyint(1) NOT NULL DEFAULT 0 COMMENT '回收状态，0-待回收，1-回收失败（超过最大重试次数）',
+  `attempt_count` int(11) NOT NULL DEFAULT 0 COMMENT '已尝试删除次数',
+  `next_attempt_time` datetime NOT NULL COMMENT '下次尝试删除的时间（失败后按指数退避推迟）',
+  `last_error` varchar(1024) DEFAULT NULL COMMENT '最近一次删除失败原因',
+  `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
+  `create_time` datetime NOT NULL COMMENT '创建时间（即入队时间）',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`storage_gc_id`),
+  UNIQUE KEY `uk_object_name` (`object_name`),
+  KEY `idx_status_next_attempt` (`gc_status`, `next_attempt_time`)
+)COMMENT='对象存储待回收表';
@@ -1,10 +1,14 @@
 CREATE TABLE `task_audit` (
   `audit_id` varchar(128) NOT NULL COMMENT '审计日志id（UUID）',
   `task_id` varchar(128) NOT NULL COMMENT '关联的主任务id（UUID）',
+  `team_id` varchar(128) DEFAULT NULL COMMENT '所属团队id（UUID，写入时冗余自任务）',
   `operator_id` varchar(128) NOT NULL COMMENT '操作人id（UUID）',
   `action_type` varchar(64) NOT NULL COMMENT '操作类型（CREATE, UPDATE, DELETE）',
   `action_description` TEXT NOT NULL COMMENT '操作详情，格式为：[时间]：用户名-进行的操作（如：将任务名称由“xxxxx”修改为“xxxxx”）',
   `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
   `create_time` datetime NOT NULL COMMENT '操作时间',
-  PRIMARY KEY (`audit_id`)
+  PRIMARY KEY (`audit_id`),
+  KEY `idx_task_time` (`task_id`, `create_time`),
+  KEY `idx_operator_time` (`operator_id`, `create_time`),
+  KEY `idx_team_time` (`team_id`, `create_time`)
 )COMMENT='任务审计表';
@@ -7,5 +7,7 @@ CREATE TABLE `task_edge` (
     `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
     `create_time` datetime NOT NULL COMMENT '创建时间',
     `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    PRIMARY KEY (`task_edge_id`)
+    PRIMARY KEY (`task_edge_id`),
+    KEY `idx_source_node` (`source_node_id`),
+    KEY `idx_target_node` (`target_node_id`)
 ) COMMENT='任务边表';
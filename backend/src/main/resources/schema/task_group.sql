@@ -7,5 +7,6 @@ CREATE TABLE `task_group` (
   `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
   `create_time` datetime NOT NULL COMMENT '创建时间',
   `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-  PRIMARY KEY (`task_group_id`)
+  PRIMARY KEY (`task_group_id`),
+  KEY `idx_team_id` (`team_id`)
 )COMMENT='任务族表';
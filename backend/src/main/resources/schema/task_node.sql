@@ -12,5 +12,9 @@ CREATE TABLE `task_node` (
     `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
     `create_time` datetime NOT NULL COMMENT '创建时间',
     `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    PRIMARY KEY (`task_node_id`)
+    PRIMARY KEY (`task_node_id`),
+    KEY `idx_team_id` (`team_id`),
+    KEY `idx_task_group_id` (`task_group_id`),
+    KEY `idx_task_id` (`task_id`),
+    KEY `idx_child_task_id` (`child_task_id`)
 ) COMMENT='任务节点表';
@@ -6,5 +6,7 @@ CREATE TABLE `task_user_relation` (
   `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
   `create_time` datetime NOT NULL COMMENT '创建时间',
   `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-  PRIMARY KEY (`task_user_relation_id`)
+  PRIMARY KEY (`task_user_relation_id`),
+  KEY `idx_user_task` (`user_id`, `task_id`),
+  KEY `idx_task_id` (`task_id`)
 )COMMENT='任务与用户关系表';
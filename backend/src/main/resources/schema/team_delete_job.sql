@@ -0,0 +1,18 @@
+CREATE TABLE `team_delete_job` (
+  `team_delete_job_id` varchar(128) NOT NULL COMMENT '团队删除任务id（UUID）',
+  `team_id` varchar(128) NOT NULL COMMENT '被删除的团队id（UUID）',
+  `operator_id` varchar(128) NOT NULL COMMENT '提交删除的用户id（UUID）',
+  `job_status` tinyint(1) NOT NULL COMMENT '任务状态，0-待执行，1-执行中，2-已完成，3-失败待重试',
+  `job_stage` varchar(64) NOT NULL COMMENT '当前级联阶段（按阶段顺序推进，重启后从该阶段继续）',
+  `deleted_rows` bigint(20) NOT NULL DEFAULT 0 COMMENT '已逻辑删除的行数',
+  `attempt_count` int(11) NOT NULL DEFAULT 0 COMMENT '执行（认领）次数',
+  `last_error` varchar(1024) DEFAULT NULL COMMENT '最近一次失败原因',
+  `heartbeat_time` datetime DEFAULT NULL COMMENT '最近一次进度写入时间，执行中且心跳过期视为中断，可被重新认领',
+  `finish_time` datetime DEFAULT NULL COMMENT '完成时间',
+  `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0-未删除 1-已删除',
+  `create_time` datetime NOT NULL COMMENT '创建时间（即提交删除时间）',
+  `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`team_delete_job_id`),
+  KEY `idx_team_id` (`team_id`),
+  KEY `idx_status_create` (`job_status`, `create_time`)
+)COMMENT='团队级联删除任务表';
@@ -0,0 +1,133 @@
+package top.smartduck.ducktodo.modelService.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import top.smartduck.ducktodo.model.entity.ChildTask;
+import top.smartduck.ducktodo.util.LexoRank;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChildTaskServiceImplTest {
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 不启动 Spring 容器，手动注册实体元数据供 LambdaQueryWrapper 解析列名
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), ChildTask.class);
+    }
+
+    @Test
+    void moveToFrontWritesOneRow() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(5, true));
+        List<ChildTask> out = service.reorder("t", List.of("c5", "c1", "c2", "c3", "c4"));
+
+        assertEquals(1, service.updates.size());
+        assertEquals("c5", service.updates.get(0).getChildTaskId());
+        assertOrder(out, "c5", "c1", "c2", "c3", "c4");
+    }
+
+    @Test
+    void moveWithinListWritesOneRow() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(5, true));
+        List<ChildTask> out = service.reorder("t", List.of("c1", "c3", "c4", "c2", "c5"));
+
+        assertEquals(1, service.updates.size());
+        assertEquals("c2", service.updates.get(0).getChildTaskId());
+        assertOrder(out, "c1", "c3", "c4", "c2", "c5");
+    }
+
+    @Test
+    void moveToEndWritesOneRow() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(5, true));
+        List<ChildTask> out = service.reorder("t", List.of("c2", "c3", "c4", "c5", "c1"));
+
+        assertEquals(1, service.updates.size());
+        assertEquals("c1", service.updates.get(0).getChildTaskId());
+        assertOrder(out, "c2", "c3", "c4", "c5", "c1");
+    }
+
+    @Test
+    void unchangedOrderWritesNothing() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(5, true));
+        service.reorder("t", List.of("c1", "c2", "c3", "c4", "c5"));
+
+        assertEquals(0, service.batches);
+    }
+
+    @Test
+    void missingRanksAreRegenerated() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(3, false));
+        List<ChildTask> out = service.reorder("t", List.of("c3", "c1", "c2"));
+
+        assertEquals(3, service.updates.size());
+        assertEquals(LexoRank.sequence(1), out.get(0).getChildTaskRank());
+        assertOrder(out, "c3", "c1", "c2");
+    }
+
+    @Test
+    void unknownChildIsRejected() {
+        InMemoryChildTaskService service = new InMemoryChildTaskService(children(3, true));
+        assertThrows(IllegalArgumentException.class, () -> service.reorder("t", List.of("c1", "x")));
+    }
+
+    /**
+     * 返回顺序与期望一致，且排序键严格递增（按排序键重新查询得到的顺序与请求一致）
+     */
+    private static void assertOrder(List<ChildTask> out, String... ids) {
+        assertEquals(ids.length, out.size());
+        String prev = null;
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], out.get(i).getChildTaskId());
+            String rank = out.get(i).getChildTaskRank();
+            assertTrue(LexoRank.isValid(rank), rank);
+            if (prev != null) assertTrue(prev.compareTo(rank) < 0, prev + " !< " + rank);
+            prev = rank;
+        }
+    }
+
+    private static List<ChildTask> children(int n, boolean ranked) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<ChildTask> list = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            list.add(ChildTask.builder()
+                    .childTaskId("c" + i)
+                    .taskId("t")
+                    .childTaskRank(ranked ? LexoRank.sequence(i) : null)
+                    // 无排序键时按创建时间降序展示，创建时间越晚越靠前
+                    .createTime(base.minusMinutes(i))
+                    .build());
+        }
+        return list;
+    }
+
+    /**
+     * 以内存列表代替数据库：list 返回当前子任务，updateBatchById 记录写入的行
+     */
+    private static final class InMemoryChildTaskService extends ChildTaskServiceImpl {
+        private final List<ChildTask> rows;
+        private final List<ChildTask> updates = new ArrayList<>();
+        private int batches;
+
+        InMemoryChildTaskService(List<ChildTask> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public List<ChildTask> list(Wrapper<ChildTask> queryWrapper) {
+            return new ArrayList<>(rows);
+        }
+
+        @Override
+        public boolean updateBatchById(Collection<ChildTask> entityList) {
+            batches++;
+            updates.addAll(entityList);
+            return true;
+        }
+    }
+}
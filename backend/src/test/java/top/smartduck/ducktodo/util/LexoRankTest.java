@@ -0,0 +1,133 @@
+package top.smartduck.ducktodo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LexoRankTest {
+
+    /** 序号上限：36^5 - 18·36^4 - 1，对应键 `zzzzzi` */
+    private static final int MAX_ORDINAL = 36 * 36 * 36 * 36 * 36 - 18 * 36 * 36 * 36 * 36 - 1;
+
+    @Test
+    void betweenIsStrictlyInside() {
+        String[][] pairs = {
+                {"i0000i", "i0001i"},   // 相邻序号
+                {"a", "b"},             // 相邻单字符
+                {"az", "b"},
+                {"a", "a1"},            // 前缀
+                {"a", "a01"},           // 前缀且后续为 0
+                {"i0000i", "i0000iz"},  // 前缀
+                {"1", "2"},
+                {"0001", "1"},
+                {null, "1"},
+                {null, "00001"},
+                {"zzzzzi", null},
+                {"z", null},
+        };
+        for (String[] p : pairs) {
+            String mid = LexoRank.between(p[0], p[1]);
+            assertInside(p[0], mid, p[1]);
+        }
+    }
+
+    @Test
+    void betweenKeepsInsideOnRepeatedInsertAtSamePosition() {
+        String lo = LexoRank.sequence(1);
+        String hi = LexoRank.sequence(2);
+        // 反复在上界之前插入
+        String h = hi;
+        for (int i = 0; i < 100; i++) {
+            String mid = LexoRank.between(lo, h);
+            assertInside(lo, mid, h);
+            h = mid;
+        }
+        // 反复在下界之后插入
+        String l = lo;
+        for (int i = 0; i < 100; i++) {
+            String mid = LexoRank.between(l, hi);
+            assertInside(l, mid, hi);
+            l = mid;
+        }
+    }
+
+    @Test
+    void betweenRejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a0", "b"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("", "b"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("A", "b"));
+    }
+
+    @Test
+    void sequenceIsFixedWidthAndIncreasing() {
+        assertEquals("i0001i", LexoRank.sequence(1));
+        assertEquals("zzzzzi", LexoRank.sequence(MAX_ORDINAL));
+        String prev = null;
+        for (int i = 1; i <= 2000; i++) {
+            String key = LexoRank.sequence(i);
+            assertEquals(6, key.length());
+            assertTrue(LexoRank.isValid(key));
+            if (prev != null) assertTrue(prev.compareTo(key) < 0);
+            prev = key;
+        }
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.sequence(0));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.sequence(MAX_ORDINAL + 1));
+    }
+
+    @Test
+    void afterAndBeforeOfNullReturnFirstKey() {
+        assertEquals(LexoRank.sequence(1), LexoRank.after(null));
+        assertEquals(LexoRank.sequence(1), LexoRank.before(null));
+    }
+
+    @Test
+    void afterKeepsWidthAwayFromUpperLimit() {
+        assertEquals(LexoRank.sequence(2), LexoRank.after(LexoRank.sequence(1)));
+        // 由 between 生成的较长键之后追加，仍回到等宽键
+        String longer = LexoRank.between(LexoRank.sequence(1), LexoRank.sequence(2));
+        String next = LexoRank.after(longer);
+        assertTrue(longer.compareTo(next) < 0);
+        assertEquals(6, next.length());
+    }
+
+    @Test
+    void afterAtUpperLimitStaysValidAndIncreasing() {
+        String key = LexoRank.sequence(MAX_ORDINAL);
+        for (int i = 0; i < 50; i++) {
+            String next = LexoRank.after(key);
+            assertTrue(LexoRank.isValid(next), next);
+            assertTrue(key.compareTo(next) < 0, key + " !< " + next);
+            key = next;
+        }
+    }
+
+    @Test
+    void beforeAtLowerLimitStaysValidAndDecreasing() {
+        String key = "00001i";
+        for (int i = 0; i < 50; i++) {
+            String prev = LexoRank.before(key);
+            assertTrue(LexoRank.isValid(prev), prev);
+            assertTrue(prev.compareTo(key) < 0, prev + " !< " + key);
+            key = prev;
+        }
+    }
+
+    @Test
+    void isValidRejectsMalformedKeys() {
+        assertFalse(LexoRank.isValid(null));
+        assertFalse(LexoRank.isValid(""));
+        assertFalse(LexoRank.isValid("a0"));
+        assertFalse(LexoRank.isValid("A"));
+        assertFalse(LexoRank.isValid("a-b"));
+        assertFalse(LexoRank.isValid("1".repeat(LexoRank.MAX_LENGTH + 1)));
+        assertTrue(LexoRank.isValid("1".repeat(LexoRank.MAX_LENGTH)));
+    }
+
+    private static void assertInside(String lo, String mid, String hi) {
+        assertTrue(LexoRank.isValid(mid), "invalid key " + mid);
+        if (lo != null) assertTrue(lo.compareTo(mid) < 0, lo + " !< " + mid);
+        if (hi != null) assertTrue(mid.compareTo(hi) < 0, mid + " !< " + hi);
+    }
+}
@@ -0,0 +1,118 @@
+package top.smartduck.ducktodo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1.0};
+
+    @Test
+    void mergeThenQueryEqualsQueryOverAllSamples() {
+        double[] samples = samples(new Random(42), 10_000);
+        QuantileSketch all = new QuantileSketch();
+        for (double v : samples) all.add(v);
+
+        // 按“日”切成若干片分别写入后合并，模拟逐日草图的区间合并
+        QuantileSketch merged = new QuantileSketch();
+        int days = 7;
+        for (int d = 0; d < days; d++) {
+            QuantileSketch day = new QuantileSketch();
+            for (int i = d; i < samples.length; i += days) day.add(samples[i]);
+            merged.merge(day);
+        }
+        merged.merge(null);
+        merged.merge(new QuantileSketch());
+
+        assertEquals(all.count(), merged.count());
+        assertEquals(all.mean(), merged.mean(), 1e-9 * Math.abs(all.mean()));
+        for (double q : QUANTILES) {
+            assertEquals(all.quantile(q), merged.quantile(q), 0.0, "q=" + q);
+        }
+    }
+
+    @Test
+    void serializeRoundTripIsLossless() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double v : samples(new Random(7), 5_000)) sketch.add(v);
+        sketch.add(0.0);
+        sketch.add(1e-4);
+
+        String text = sketch.serialize();
+        QuantileSketch restored = QuantileSketch.deserialize(text);
+
+        assertNotNull(restored);
+        assertEquals(text, restored.serialize());
+        assertEquals(sketch.count(), restored.count());
+        assertEquals(sketch.sum(), restored.sum(), 0.0);
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), restored.quantile(q), 0.0, "q=" + q);
+        }
+    }
+
+    @Test
+    void serializeRoundTripOfEmptySketch() {
+        QuantileSketch restored = QuantileSketch.deserialize(new QuantileSketch().serialize());
+
+        assertNotNull(restored);
+        assertEquals(0, restored.count());
+        assertEquals(0.0, restored.quantile(0.5), 0.0);
+        assertEquals(0.0, restored.mean(), 0.0);
+    }
+
+    @Test
+    void deserializeRejectsUnknownText() {
+        assertNull(QuantileSketch.deserialize(null));
+        assertNull(QuantileSketch.deserialize(""));
+        assertNull(QuantileSketch.deserialize("2|1|1.0|1.0|1.0|0|0:1"));
+        assertNull(QuantileSketch.deserialize("1|x|1.0|1.0|1.0|0|"));
+        assertNull(QuantileSketch.deserialize("1|1|1.0"));
+    }
+
+    @Test
+    void quantileRelativeErrorWithinOnePercent() {
+        Random random = new Random(20240101);
+        double[] samples = samples(random, 50_000);
+        QuantileSketch sketch = new QuantileSketch();
+        for (double v : samples) sketch.add(v);
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i <= 1000; i++) {
+            double q = i / 1000.0;
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= 0.01 * exact + 1e-12,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    @Test
+    void meanIsExactAndInvalidSamplesAreIgnored() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(1.0);
+        sketch.add(2.0);
+        sketch.add(6.0);
+        sketch.add(-1.0);
+        sketch.add(Double.NaN);
+        sketch.add(Double.POSITIVE_INFINITY);
+
+        assertEquals(3, sketch.count());
+        assertEquals(3.0, sketch.mean(), 0.0);
+        assertEquals(1.0, sketch.quantile(0.0), 0.0);
+        assertEquals(6.0, sketch.quantile(1.0), 0.0);
+    }
+
+    /**
+     * 对数正态分布的耗时样本（小时），跨越数个数量级
+     */
+    private static double[] samples(Random random, int n) {
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) out[i] = Math.exp(3 + 2 * random.nextGaussian());
+        return out;
+    }
+}